@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.benchmarks;
+
+/**
+ * URLs the benchmarks are run with, since the URL length determines the QR code version and
+ * hence the number of modules to encode and render.
+ */
+public enum SampleUrl {
+
+  SHORT("https://pdfobject.com/pdf/sample.pdf"),
+  LONG("https://pdfobject.com/pdf/sample.pdf?utm_source=newsletter&utm_medium=email"
+      + "&utm_campaign=spring-release&utm_content=footer-link&utm_term=qr-code-generator"
+      + "&session=8f14e45fceea167a5a36dedd4bea2543&ref=https%3A%2F%2Fexample.com%2Fblog%2F2025"
+      + "%2F04%2Fqr-codes-for-printed-documents&lang=en-US");
+
+  private final String url;
+
+  SampleUrl(String url) {
+
+    this.url = url;
+  }
+
+  /**
+   * @return The URL itself
+   */
+  public String getUrl() {
+
+    return url;
+  }
+}
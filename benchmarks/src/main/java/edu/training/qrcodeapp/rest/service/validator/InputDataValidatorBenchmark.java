@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.validator;
+
+import edu.training.qrcodeapp.benchmarks.SampleUrl;
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of {@link InputDataValidator}, for valid input as well as for the rejection of
+ * invalid input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InputDataValidatorBenchmark {
+
+  // number of items of the validated batch
+  private static final int BATCH_ITEMS = 100;
+
+  @Param({"100", "200", "300", "400", "500"})
+  private int size;
+
+  @Param
+  private SampleUrl url;
+
+  private List<InputData> batch;
+
+  @Setup
+  public void setUp() {
+
+    batch = new ArrayList<>(BATCH_ITEMS);
+
+    for (int i = 0; i < BATCH_ITEMS; i++) {
+
+      InputData item = new InputData();
+      item.setUrl(url.getUrl());
+      item.setSize(size);
+      batch.add(item);
+    }
+  }
+
+  @Benchmark
+  public void validateUrl() throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateUrl(url.getUrl());
+  }
+
+  @Benchmark
+  public void validateSize() throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateSize(size);
+  }
+
+  @Benchmark
+  public void validateBatch() throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateBatch(batch, BATCH_ITEMS);
+  }
+
+  @Benchmark
+  public ExceptionOnGeneration rejectInvalidSize() {
+
+    try {
+      InputDataValidator.INSTANCE.validateSize(-size);
+      return null;
+    }
+    catch (ExceptionOnGeneration e) {
+      return e;
+    }
+  }
+}
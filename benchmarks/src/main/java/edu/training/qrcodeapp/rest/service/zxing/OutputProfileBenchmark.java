@@ -0,0 +1,87 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import com.google.zxing.WriterException;
+import edu.training.qrcodeapp.benchmarks.SampleUrl;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the PNG serialization with each {@link OutputProfile}, straight out of the module
+ * grid, as images are served.
+ * <p>
+ * The size of the resulting image is printed once per trial, so that the latency of every profile
+ * can be read along with the size it achieves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OutputProfileBenchmark {
+
+  @Param({"100", "300", "500"})
+  private int size;
+
+  @Param
+  private SampleUrl url;
+
+  @Param
+  private OutputProfile profile;
+
+  private BitMatrixPngWriter pngWriter;
+
+  private ModuleGrid moduleGrid;
+
+  @Setup
+  public void setUp() throws WriterException, IOException {
+
+    pngWriter = new BitMatrixPngWriter();
+    moduleGrid = new ZXingBasedGeneratorServiceImpl().encodeModules(url.getUrl());
+
+    System.out.printf("%n%s PNG image of %s URL at %d pixels: %d bytes%n", profile, url, size,
+        pngWriter.toBytes(moduleGrid, size, profile).length);
+  }
+
+  @Benchmark
+  public byte[] createBytes() throws IOException {
+
+    return pngWriter.toBytes(moduleGrid, size, profile);
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import edu.training.qrcodeapp.benchmarks.SampleUrl;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the stages of {@link ZXingBasedGeneratorServiceImpl}: encoding of the input data
+ * into a {@link BitMatrix}, serialization of the matrix as PNG image and the two together.
+ * <p>
+ * Since module grids are cached per URL, encoding and generation are measured both with the grid
+ * already cached, i.e., only rendering at the requested size, and without it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZXingBasedGeneratorServiceBenchmark {
+
+  @Param({"100", "200", "300", "400", "500"})
+  private int size;
+
+  @Param
+  private SampleUrl url;
+
+  private ZXingBasedGeneratorServiceImpl generatorService;
+
+  private ModuleGrid moduleGrid;
+
+  @Setup
+  public void setUp() throws WriterException {
+
+    generatorService = new ZXingBasedGeneratorServiceImpl();
+    moduleGrid = generatorService.encodeModules(url.getUrl());
+  }
+
+  @Benchmark
+  public BitMatrix encodeInputData() throws WriterException {
+
+    return generatorService.encodeInputData(url.getUrl(), size);
+  }
+
+  @Benchmark
+  public BitMatrix encodeInputDataUncached(UncachedModuleGrid uncached) throws WriterException {
+
+    return generatorService.encodeInputData(url.getUrl(), size);
+  }
+
+  @Benchmark
+  public byte[] createBytes() throws IOException {
+
+    return generatorService.createBytes(moduleGrid, size, OutputProfile.BALANCED);
+  }
+
+  @Benchmark
+  public byte[] generateQRCodeBytes() throws ExceptionOnGeneration {
+
+    return generatorService.generateQRCodeBytes(url.getUrl(), size);
+  }
+
+  @Benchmark
+  public byte[] generateQRCodeBytesUncached(UncachedModuleGrid uncached)
+      throws ExceptionOnGeneration {
+
+    return generatorService.generateQRCodeBytes(url.getUrl(), size);
+  }
+
+  // SVG images do not depend on the size, which only makes for a baseline of the PNG ones here
+  @Benchmark
+  public byte[] generateQRCodeSvg() throws ExceptionOnGeneration {
+
+    return generatorService.generateQRCodeSvg(url.getUrl(), false);
+  }
+
+  /**
+   * Drops the cached module grid before every single invocation.
+   */
+  @State(Scope.Thread)
+  public static class UncachedModuleGrid {
+
+    @Setup(Level.Invocation)
+    public void invalidate(ZXingBasedGeneratorServiceBenchmark benchmark) {
+
+      benchmark.generatorService.getModuleGridCache().invalidateAll();
+    }
+  }
+}
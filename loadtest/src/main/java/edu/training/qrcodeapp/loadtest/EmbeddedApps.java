@@ -0,0 +1,143 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import edu.training.qrcodeapp.rest.QRCodeGeneratorRestApp;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import edu.training.qrcodeapp.web.QRCodeGeneratorWebApp;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * REST and Web Applications started in-process on random ports, the Web Application being a
+ * client of the REST Application as usual.
+ */
+public class EmbeddedApps implements AutoCloseable {
+
+  private final ConfigurableApplicationContext restApp;
+
+  private final ConfigurableApplicationContext webApp;
+
+  private EmbeddedApps(ConfigurableApplicationContext restApp,
+      ConfigurableApplicationContext webApp) {
+
+    this.restApp = restApp;
+    this.webApp = webApp;
+  }
+
+  /**
+   * Starts both applications.
+   *
+   * @param restArgs Properties of the REST Application, overriding the defaults
+   * @param webArgs  Properties of the Web Application, overriding the defaults
+   * @return Started applications
+   */
+  public static EmbeddedApps start(Map<String, String> restArgs, Map<String, String> webArgs) {
+
+    ConfigurableApplicationContext restApp = new SpringApplicationBuilder(
+        QRCodeGeneratorRestApp.class).run(toArgs(restArgs));
+
+    Map<String, String> webDefaults = new LinkedHashMap<>();
+    webDefaults.put("backend.address", getAddress(restApp).toString());
+
+    ConfigurableApplicationContext webApp;
+
+    try {
+      webApp = new SpringApplicationBuilder(QRCodeGeneratorWebApp.class)
+          .run(toArgs(webDefaults, webArgs));
+    }
+    catch (RuntimeException e) {
+      restApp.close();
+      throw e;
+    }
+
+    return new EmbeddedApps(restApp, webApp);
+  }
+
+  /**
+   * Waits for the JIT warm-up of the REST Application, so that it does not compete with the load.
+   *
+   * @param timeout Upper limit of time to wait
+   * @return Whether the warm-up is completed
+   * @throws InterruptedException in case the waiting thread is interrupted
+   */
+  public boolean awaitWarmUp(Duration timeout) throws InterruptedException {
+
+    return restApp.getBean(GeneratorWarmUp.class).awaitCompletion(timeout);
+  }
+
+  /**
+   * @return Base address of the REST Application
+   */
+  public URI getRestAddress() {
+
+    return getAddress(restApp);
+  }
+
+  /**
+   * @return Base address of the Web Application
+   */
+  public URI getWebAddress() {
+
+    return getAddress(webApp);
+  }
+
+  @Override
+  public void close() {
+
+    webApp.close();
+    restApp.close();
+  }
+
+  @SafeVarargs
+  private static String[] toArgs(Map<String, String>... properties) {
+
+    // defaults shared by both applications; the same property given twice on the command line
+    // would end up as a list, so later maps replace the values of earlier ones
+    Map<String, String> args = new LinkedHashMap<>();
+    args.put("server.port", "0");
+    args.put("spring.main.banner-mode", "off");
+    args.put("logging.level.root", "warn");
+    args.put("logging.level.edu.training", "warn");
+
+    for (Map<String, String> map : properties) {
+      args.putAll(map);
+    }
+
+    return args.entrySet().stream()
+        .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+        .toArray(String[]::new);
+  }
+
+  private static URI getAddress(ConfigurableApplicationContext context) {
+
+    return URI.create("http://localhost:"
+        + context.getEnvironment().getProperty("local.server.port"));
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and failures of the requests sent to one target.
+ * <p>
+ * Two histograms are kept. The corrected one measures from the intended send time, so requests
+ * delayed because the load generator or the connection pool fell behind are accounted for, i.e.,
+ * it is free of coordinated omission. The uncorrected one measures from the actual send time, as
+ * most load tools do; the gap between both shows how much latency a closed-model tool would hide.
+ */
+public class LatencyRecorder {
+
+  // highest trackable latency in microseconds, longer ones are recorded as this one
+  private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+  private static final int SIGNIFICANT_DIGITS = 3;
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+  private final Histogram corrected = new ConcurrentHistogram(MAX_LATENCY_MICROS,
+      SIGNIFICANT_DIGITS);
+
+  private final Histogram uncorrected = new ConcurrentHistogram(MAX_LATENCY_MICROS,
+      SIGNIFICANT_DIGITS);
+
+  private final LongAdder errors = new LongAdder();
+
+  private final LongAdder dropped = new LongAdder();
+
+  /**
+   * @param intendedNanos Intended send time, see {@link System#nanoTime()}
+   * @param sentNanos     Actual send time
+   * @param endNanos      Time the response or the failure arrived
+   * @param success       Whether the QR code was generated or not
+   */
+  public void record(long intendedNanos, long sentNanos, long endNanos, boolean success) {
+
+    corrected.recordValue(toMicros(endNanos - intendedNanos));
+    uncorrected.recordValue(toMicros(endNanos - sentNanos));
+
+    if (!success) {
+      errors.increment();
+    }
+  }
+
+  /**
+   * Counts a request which was not even sent, since too many requests were in flight.
+   */
+  public void recordDropped() {
+
+    dropped.increment();
+  }
+
+  /**
+   * @return Latencies from the intended send times, in microseconds
+   */
+  public Histogram getCorrected() {
+
+    return corrected;
+  }
+
+  /**
+   * @return Latencies from the actual send times, in microseconds
+   */
+  public Histogram getUncorrected() {
+
+    return uncorrected;
+  }
+
+  /**
+   * @return Number of failed requests
+   */
+  public long getErrors() {
+
+    return errors.sum();
+  }
+
+  /**
+   * @return Number of requests not sent
+   */
+  public long getDropped() {
+
+    return dropped.sum();
+  }
+
+  /**
+   * Prints a summary of the recorded requests.
+   *
+   * @param name    Name of the recorded target
+   * @param seconds Measured time
+   * @param out     Target of the summary
+   */
+  public void print(String name, double seconds, PrintStream out) {
+
+    out.printf("%s: %d requests, %d errors, %d dropped, %.1f req/s%n", name,
+        corrected.getTotalCount(), getErrors(), getDropped(), corrected.getTotalCount() / seconds);
+
+    out.printf("  %-12s", "latency (ms)");
+    for (double percentile : PERCENTILES) {
+      out.printf(" %9s", "p" + (percentile % 1 == 0 ? String.valueOf((int) percentile)
+          : String.valueOf(percentile)));
+    }
+    out.printf(" %9s%n", "max");
+
+    printPercentiles("corrected", corrected, out);
+    printPercentiles("uncorrected", uncorrected, out);
+  }
+
+  /**
+   * Writes both histograms as percentile distributions, e.g., for the HdrHistogram plotter.
+   *
+   * @param directory Target directory
+   * @param name      Name of the recorded target, prefix of the file names
+   * @throws IOException in case the files cannot be written
+   */
+  public void writeHistograms(Path directory, String name) throws IOException {
+
+    Files.createDirectories(directory);
+
+    try (PrintStream out = new PrintStream(
+        Files.newOutputStream(directory.resolve(name + "-corrected.hgrm")))) {
+      corrected.outputPercentileDistribution(out, 1000.0);
+    }
+
+    try (PrintStream out = new PrintStream(
+        Files.newOutputStream(directory.resolve(name + "-uncorrected.hgrm")))) {
+      uncorrected.outputPercentileDistribution(out, 1000.0);
+    }
+  }
+
+  private void printPercentiles(String name, Histogram histogram, PrintStream out) {
+
+    out.printf("  %-12s", name);
+    for (double percentile : PERCENTILES) {
+      out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+    }
+    out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+  }
+
+  private static long toMicros(long nanos) {
+
+    return Math.min(Math.max(nanos / 1000, 0), MAX_LATENCY_MICROS);
+  }
+}
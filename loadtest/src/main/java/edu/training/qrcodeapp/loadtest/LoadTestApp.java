@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Main entry point of the load tests: starts the REST and Web Applications in-process, drives
+ * open-model traffic at them and prints the latency percentiles per target.
+ * <p>
+ * Traffic is either generated, see {@link ZipfRequestGenerator}, or replayed from a request log,
+ * see {@link RequestLog}. Run it without arguments for the defaults, or with
+ * <code>--help</code> for the available options.
+ */
+public class LoadTestApp {
+
+  // upper limit of time waited for the JIT warm-up of the REST Application
+  private static final Duration WARM_UP_TIMEOUT = Duration.ofMinutes(2);
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+
+    if (Arrays.asList(args).contains("--help")) {
+      System.out.println(LoadTestOptions.USAGE);
+      return;
+    }
+
+    LoadTestOptions options;
+
+    try {
+      options = LoadTestOptions.parse(args);
+    }
+    catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(LoadTestOptions.USAGE);
+      System.exit(1);
+      return;
+    }
+
+    PrintStream out = System.out;
+
+    try (EmbeddedApps apps = EmbeddedApps.start(options.restArgs(), options.webArgs());
+        RequestLog.Reader replay = options.replay() == null
+            ? null : RequestLog.read(options.replay(), options.speed());
+        RequestLog.Writer record = options.record() == null
+            ? null : RequestLog.write(options.record())) {
+
+      Iterator<PlannedRequest> requests = replay == null
+          ? new ZipfRequestGenerator(options) : replay;
+      Consumer<PlannedRequest> listener = record == null ? request -> { } : record::append;
+
+      out.printf("REST Application on %s, Web Application on %s%n", apps.getRestAddress(),
+          apps.getWebAddress());
+
+      if (!apps.awaitWarmUp(WARM_UP_TIMEOUT)) {
+        out.println("JIT warm-up of the REST Application not completed, sending requests anyway");
+      }
+      out.printf("Sending requests, %s warm-up...%n", options.warmup());
+
+      OpenModelLoadGenerator generator = new OpenModelLoadGenerator(
+          Map.of(Target.REST, apps.getRestAddress(), Target.WEB, apps.getWebAddress()), options);
+
+      long start = System.nanoTime();
+      Map<Target, LatencyRecorder> recorders = generator.run(requests, listener);
+      double seconds = Math.max((System.nanoTime() - start) / 1e9
+          - options.warmup().toMillis() / 1000.0, 0.001);
+
+      out.println();
+
+      for (Map.Entry<Target, LatencyRecorder> entry : recorders.entrySet()) {
+
+        LatencyRecorder recorder = entry.getValue();
+
+        if (recorder.getCorrected().getTotalCount() + recorder.getDropped() == 0) {
+          continue;
+        }
+
+        String name = entry.getKey().name().toLowerCase(Locale.ROOT);
+        recorder.print(name, seconds, out);
+
+        if (options.histograms() != null) {
+          recorder.writeHistograms(options.histograms(), name);
+        }
+      }
+    }
+  }
+}
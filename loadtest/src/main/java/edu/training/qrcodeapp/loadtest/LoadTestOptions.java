@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Options of a load test, parsed from <code>--name=value</code> command line arguments.
+ *
+ * @param targets     Entry points the load is driven at, taking turns
+ * @param rate        Requests per second, over all targets
+ * @param warmup      Time during which requests are sent but not measured
+ * @param duration    Time during which requests are sent and measured, after the warm-up
+ * @param urls        Number of distinct URLs
+ * @param urlSkew     Zipf exponent of the URL popularity
+ * @param sizes       Requested sizes, from the most to the least popular one
+ * @param sizeSkew    Zipf exponent of the size popularity
+ * @param seed        Seed of the random URLs and sizes, so that runs are reproducible
+ * @param replay      Request log to be replayed instead of generating requests, if any
+ * @param speed       Factor applied to the replayed request rate
+ * @param record      Request log the sent requests are written to, if any
+ * @param histograms  Directory the latency histograms are written to, if any
+ * @param maxInFlight Upper limit of requests in flight, further ones are dropped
+ * @param timeout     Upper limit for a response to arrive
+ * @param restArgs    Extra command line arguments of the REST Application
+ * @param webArgs     Extra command line arguments of the Web Application
+ */
+public record LoadTestOptions(List<Target> targets, double rate, Duration warmup,
+                              Duration duration, int urls, double urlSkew, List<Integer> sizes,
+                              double sizeSkew, long seed, Path replay, double speed, Path record,
+                              Path histograms, int maxInFlight, Duration timeout,
+                              Map<String, String> restArgs, Map<String, String> webArgs) {
+
+  // prefix of arguments passed on to the REST Application, e.g., --rest.qrcode.cache.enabled=false
+  static final String REST_PREFIX = "rest.";
+  // prefix of arguments passed on to the Web Application
+  static final String WEB_PREFIX = "web.";
+
+  static final String USAGE = """
+      Usage: LoadTestApp [--name=value ...]
+        --targets=rest,web        entry points the load is driven at, taking turns
+        --rate=100                requests per second, over all targets
+        --warmup=10s              time during which requests are not measured
+        --duration=30s            time during which requests are measured
+        --urls=1000               number of distinct URLs
+        --url-skew=1.0            Zipf exponent of the URL popularity
+        --sizes=300,200,400,100,500  sizes, from the most to the least popular one
+        --size-skew=1.0           Zipf exponent of the size popularity
+        --seed=42                 seed of the random URLs and sizes
+        --replay=<file>           replays a request log instead of generating requests
+        --speed=1.0               factor applied to the replayed request rate
+        --record=<file>           writes the sent requests as request log
+        --histograms=<dir>        writes the latency histograms as .hgrm files
+        --max-in-flight=10000     requests in flight, further ones are dropped
+        --timeout=30s             upper limit for a response to arrive
+        --rest.<property>=<value> property of the REST Application
+        --web.<property>=<value>  property of the Web Application
+      """;
+
+  /**
+   * @param args Command line arguments
+   * @return Options, with defaults for arguments not given
+   * @throws IllegalArgumentException in case of an unknown or invalid argument
+   */
+  public static LoadTestOptions parse(String... args) {
+
+    Map<String, String> values = new LinkedHashMap<>();
+    Map<String, String> restArgs = new LinkedHashMap<>();
+    Map<String, String> webArgs = new LinkedHashMap<>();
+
+    for (String arg : args) {
+
+      int separator = arg.indexOf('=');
+
+      if (!arg.startsWith("--") || separator < 0) {
+        throw new IllegalArgumentException("Invalid argument: " + arg);
+      }
+
+      String name = arg.substring(2, separator);
+      String value = arg.substring(separator + 1);
+
+      if (name.startsWith(REST_PREFIX)) {
+        restArgs.put(name.substring(REST_PREFIX.length()), value);
+      }
+      else if (name.startsWith(WEB_PREFIX)) {
+        webArgs.put(name.substring(WEB_PREFIX.length()), value);
+      }
+      else {
+        values.put(name, value);
+      }
+    }
+
+    LoadTestOptions options = new LoadTestOptions(
+        Arrays.stream(values.getOrDefault("targets", "rest,web").split(","))
+            .map(target -> Target.valueOf(target.trim().toUpperCase(Locale.ROOT)))
+            .toList(),
+        Double.parseDouble(values.getOrDefault("rate", "100")),
+        DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+        DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+        Integer.parseInt(values.getOrDefault("urls", "1000")),
+        Double.parseDouble(values.getOrDefault("url-skew", "1.0")),
+        Arrays.stream(values.getOrDefault("sizes", "300,200,400,100,500").split(","))
+            .map(size -> Integer.valueOf(size.trim()))
+            .toList(),
+        Double.parseDouble(values.getOrDefault("size-skew", "1.0")),
+        Long.parseLong(values.getOrDefault("seed", "42")),
+        toPath(values.get("replay")),
+        Double.parseDouble(values.getOrDefault("speed", "1.0")),
+        toPath(values.get("record")),
+        toPath(values.get("histograms")),
+        Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+        DurationStyle.detectAndParse(values.getOrDefault("timeout", "30s")),
+        restArgs,
+        webArgs);
+
+    List<String> unknown = new ArrayList<>(values.keySet());
+    unknown.removeAll(List.of("targets", "rate", "warmup", "duration", "urls", "url-skew",
+        "sizes", "size-skew", "seed", "replay", "speed", "record", "histograms", "max-in-flight",
+        "timeout"));
+
+    if (!unknown.isEmpty()) {
+      throw new IllegalArgumentException("Unknown arguments: " + unknown);
+    }
+
+    if (options.rate() <= 0 || options.speed() <= 0 || options.maxInFlight() < 1) {
+      throw new IllegalArgumentException("Rate, speed and max-in-flight must be positive");
+    }
+
+    return options;
+  }
+
+  private static Path toPath(String value) {
+
+    return value == null ? null : Path.of(value);
+  }
+}
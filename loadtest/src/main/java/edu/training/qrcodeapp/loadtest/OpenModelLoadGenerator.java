@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Sends planned requests at their intended times, whether previous responses arrived or not,
+ * i.e., open-model traffic.
+ * <p>
+ * Requests are sent asynchronously, so a slow application never slows the sender down. Latencies
+ * are measured from the intended send times as well, see {@link LatencyRecorder}.
+ */
+public class OpenModelLoadGenerator {
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+
+  private final Map<Target, URI> addresses;
+
+  private final long warmupMicros;
+
+  private final int maxInFlight;
+
+  private final Duration timeout;
+
+  private final Map<Target, LatencyRecorder> recorders = new EnumMap<>(Target.class);
+
+  // requests of the warm-up are recorded here, and then discarded
+  private final LatencyRecorder warmupRecorder = new LatencyRecorder();
+
+  /**
+   * Constructor.
+   *
+   * @param addresses Base address of each target
+   * @param options   Warm-up, in-flight limit and timeout of the load test
+   */
+  public OpenModelLoadGenerator(Map<Target, URI> addresses, LoadTestOptions options) {
+
+    this.addresses = addresses;
+    this.warmupMicros = options.warmup().toNanos() / 1000;
+    this.maxInFlight = options.maxInFlight();
+    this.timeout = options.timeout();
+
+    for (Target target : Target.values()) {
+      recorders.put(target, new LatencyRecorder());
+    }
+  }
+
+  /**
+   * Sends the given requests, and waits for all of their responses.
+   *
+   * @param requests Requests in send order
+   * @param listener Gets every request right before it is sent
+   * @return Recorded latencies per target, warm-up excluded
+   * @throws InterruptedException in case the load test is interrupted
+   */
+  public Map<Target, LatencyRecorder> run(Iterator<PlannedRequest> requests,
+      Consumer<PlannedRequest> listener) throws InterruptedException {
+
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    long start = System.nanoTime();
+
+    while (requests.hasNext()) {
+
+      PlannedRequest request = requests.next();
+      long intendedNanos = start + request.offsetMicros() * 1000;
+      long delay;
+
+      while ((delay = intendedNanos - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(delay);
+      }
+
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+
+      LatencyRecorder recorder = request.offsetMicros() < warmupMicros
+          ? warmupRecorder
+          : recorders.get(request.target());
+
+      if (!inFlight.tryAcquire()) {
+        recorder.recordDropped();
+        continue;
+      }
+
+      listener.accept(request);
+      long sentNanos = System.nanoTime();
+
+      httpClient.sendAsync(request.target().createRequest(addresses.get(request.target()),
+              request, timeout), BodyHandlers.discarding())
+          .whenComplete((response, failure) -> {
+            inFlight.release();
+            recorder.record(intendedNanos, sentNanos, System.nanoTime(),
+                failure == null && request.target().isSuccess(response.statusCode()));
+          });
+    }
+
+    // every request either got its response or timed out by then
+    if (!inFlight.tryAcquire(maxInFlight, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+      throw new IllegalStateException("Requests still in flight after their timeout");
+    }
+
+    return recorders;
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Request log, i.e., newline-delimited JSON with one {@link PlannedRequest} per line, in send
+ * order. A recorded load test can be replayed from it, at the same or at a different speed.
+ * <p>
+ * Lines look like:
+ * <pre>
+ * {"offsetMicros":10000,"target":"REST","url":"https://pdfobject.com/pdf/sample-3","size":300}
+ * </pre>
+ * A production access log converted to this format can be replayed as well.
+ */
+public final class RequestLog {
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private RequestLog() {
+  }
+
+  /**
+   * @param path  Request log
+   * @param speed Factor applied to the request rate, e.g., 2 for twice as many requests per
+   *              second as recorded
+   * @return Requests of the log, read as they are requested
+   * @throws IOException in case the log cannot be opened
+   */
+  public static Reader read(Path path, double speed) throws IOException {
+
+    return new Reader(Files.newBufferedReader(path, StandardCharsets.UTF_8), speed);
+  }
+
+  /**
+   * @param path Request log, replaced in case it exists
+   * @return Writer of the log
+   * @throws IOException in case the log cannot be created
+   */
+  public static Writer write(Path path) throws IOException {
+
+    return new Writer(Files.newBufferedWriter(path, StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Reads a request log, skipping blank lines.
+   */
+  public static class Reader implements Iterator<PlannedRequest>, Closeable {
+
+    private final BufferedReader reader;
+
+    private final double speed;
+
+    private PlannedRequest nextRequest;
+
+    Reader(BufferedReader reader, double speed) {
+
+      this.reader = reader;
+      this.speed = speed;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      try {
+
+        while (nextRequest == null) {
+
+          String line = reader.readLine();
+
+          if (line == null) {
+            return false;
+          }
+
+          if (!line.isBlank()) {
+            PlannedRequest request = OBJECT_MAPPER.readValue(line, PlannedRequest.class);
+            nextRequest = new PlannedRequest((long) (request.offsetMicros() / speed),
+                request.target(), request.url(), request.size());
+          }
+        }
+
+        return true;
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public PlannedRequest next() {
+
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+
+      PlannedRequest request = nextRequest;
+      nextRequest = null;
+      return request;
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      reader.close();
+    }
+  }
+
+  /**
+   * Writes a request log.
+   */
+  public static class Writer implements Closeable {
+
+    private final BufferedWriter writer;
+
+    Writer(BufferedWriter writer) {
+
+      this.writer = writer;
+    }
+
+    /**
+     * @param request Request to be appended to the log
+     */
+    public void append(PlannedRequest request) {
+
+      try {
+        writer.write(OBJECT_MAPPER.writeValueAsString(request));
+        writer.newLine();
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+      writer.close();
+    }
+  }
+}
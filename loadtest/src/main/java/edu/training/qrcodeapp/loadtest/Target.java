@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Entry points the load is driven at.
+ */
+public enum Target {
+
+  /**
+   * REST Application's <code>/api/v1/qrcode/generate</code>, with JSON response.
+   */
+  REST {
+    @Override
+    HttpRequest createRequest(URI address, PlannedRequest request, Duration timeout) {
+
+      String body = String.format("{\"url\": \"%s\", \"size\": %d}",
+          request.url().replace("\\", "\\\\").replace("\"", "\\\""), request.size());
+
+      return HttpRequest.newBuilder(address.resolve("/api/v1/qrcode/generate"))
+          .timeout(timeout)
+          .header("Content-Type", "application/json")
+          .header("Accept", "application/json")
+          .POST(BodyPublishers.ofString(body))
+          .build();
+    }
+
+    @Override
+    boolean isSuccess(int statusCode) {
+
+      return statusCode == 201;
+    }
+  },
+
+  /**
+   * Web Application's <code>/generate</code> form action, with HTML response.
+   */
+  WEB {
+    @Override
+    HttpRequest createRequest(URI address, PlannedRequest request, Duration timeout) {
+
+      String body = "action=Send&size=" + request.size() + "&url="
+          + URLEncoder.encode(request.url(), StandardCharsets.UTF_8);
+
+      return HttpRequest.newBuilder(address.resolve("/generate"))
+          .timeout(timeout)
+          .header("Content-Type", "application/x-www-form-urlencoded")
+          .POST(BodyPublishers.ofString(body))
+          .build();
+    }
+
+    @Override
+    boolean isSuccess(int statusCode) {
+
+      return statusCode == 200;
+    }
+  };
+
+  /**
+   * @param address Base address of the application
+   * @param request Request to be sent
+   * @param timeout Upper limit for the response to arrive
+   * @return HTTP request of the given planned request
+   */
+  abstract HttpRequest createRequest(URI address, PlannedRequest request, Duration timeout);
+
+  /**
+   * @param statusCode HTTP status code of the response
+   * @return True, if the QR code was generated; false, otherwise.
+   */
+  abstract boolean isSuccess(int statusCode);
+}
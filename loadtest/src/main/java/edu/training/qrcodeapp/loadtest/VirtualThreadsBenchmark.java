@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.training.qrcodeapp.web.QRCodeGeneratorWebApp;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Compares throughput and latency of the Web Application with platform and with virtual threads,
+ * under a high number of concurrent clients.
+ * <p>
+ * The REST Application is replaced by a stub that answers after a fixed delay, so the Web
+ * Application's request threads mostly wait on the outbound client, as they do in production.
+ * Run it with, e.g.:
+ * <pre>
+ * java -cp loadtest/target/loadtest.jar edu.training.qrcodeapp.loadtest.VirtualThreadsBenchmark
+ *     --concurrency=1000 --requests=5 --backend-latency=50ms
+ * </pre>
+ */
+public class VirtualThreadsBenchmark {
+
+  static final String USAGE = """
+      Usage: VirtualThreadsBenchmark [--name=value ...]
+        --concurrency=1000        number of concurrent clients
+        --requests=5              requests sent by each client, one after the other
+        --backend-latency=50ms    delay of the stubbed REST Application
+      """;
+
+  // 1x1 PNG image, the content is irrelevant for the Web Application
+  private static final byte[] PNG = Base64.getDecoder().decode(
+      "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABAQAAAAA3bvkkAAAACklEQVR4nGNgAAAAAgABSK+kcQAAAABJ"
+          + "RU5ErkJggg==");
+
+  private final int concurrency;
+
+  private final int requestsPerClient;
+
+  private final Duration backendLatency;
+
+  private HttpServer backend;
+
+  private VirtualThreadsBenchmark(int concurrency, int requestsPerClient,
+      Duration backendLatency) {
+
+    this.concurrency = concurrency;
+    this.requestsPerClient = requestsPerClient;
+    this.backendLatency = backendLatency;
+  }
+
+  public static void main(String[] args) throws Exception {
+
+    int concurrency = 1000;
+    int requestsPerClient = 5;
+    Duration backendLatency = Duration.ofMillis(50);
+
+    try {
+      for (String arg : args) {
+
+        int separator = arg.indexOf('=');
+        String name = separator < 0 ? arg : arg.substring(0, separator);
+        String value = arg.substring(separator + 1);
+
+        switch (name) {
+          case "--concurrency" -> concurrency = Integer.parseInt(value);
+          case "--requests" -> requestsPerClient = Integer.parseInt(value);
+          case "--backend-latency" -> backendLatency = DurationStyle.detectAndParse(value);
+          case "--help" -> {
+            System.out.println(USAGE);
+            return;
+          }
+          default -> throw new IllegalArgumentException("Invalid argument: " + arg);
+        }
+      }
+    }
+    catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(1);
+      return;
+    }
+
+    VirtualThreadsBenchmark benchmark = new VirtualThreadsBenchmark(concurrency,
+        requestsPerClient, backendLatency);
+    PrintStream out = System.out;
+
+    benchmark.startBackend();
+
+    try {
+      Result platform = benchmark.run(false);
+      Result virtual = benchmark.run(true);
+
+      out.printf("%nConcurrency: %d clients x %d requests, backend latency: %d ms%n",
+          concurrency, requestsPerClient, backendLatency.toMillis());
+      out.printf("%-10s %12s %10s %10s %10s %8s%n", "threads", "req/s", "p50 ms", "p99 ms",
+          "max ms", "errors");
+      platform.print("platform", out);
+      virtual.print("virtual", out);
+    }
+    finally {
+      benchmark.backend.stop(0);
+    }
+  }
+
+  private void startBackend() throws IOException {
+
+    // by default, the JDK server keeps only a few idle connections alive
+    System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(concurrency * 2));
+
+    backend = HttpServer.create(new InetSocketAddress("localhost", 0), 4096);
+    // platform threads, so that the stub does not compete with the Web Application for carriers
+    backend.setExecutor(Executors.newCachedThreadPool());
+    backend.createContext("/api/v1/qrcode/health", exchange ->
+        respond(exchange, "application/json", "{\"status\":\"ready\"}".getBytes(
+            StandardCharsets.UTF_8)));
+    backend.createContext("/api/v1/qrcode/generate", exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      sleep(backendLatency);
+      respond(exchange, "image/png", PNG);
+    });
+    backend.start();
+  }
+
+  private Result run(boolean virtualThreads) throws InterruptedException, ExecutionException {
+
+    // command line arguments take precedence over application.properties
+    ConfigurableApplicationContext context = new SpringApplicationBuilder(
+        QRCodeGeneratorWebApp.class).run(
+        "--server.port=0",
+        "--spring.main.banner-mode=off",
+        "--logging.level.root=warn",
+        "--logging.level.edu.training=warn",
+        "--backend.address=http://localhost:" + backend.getAddress().getPort(),
+        "--spring.threads.virtual.enabled=" + virtualThreads,
+        "--spring.devtools.restart.enabled=false");
+
+    try (ExecutorService clients = Executors.newCachedThreadPool();
+        HttpClient httpClient = HttpClient.newBuilder().executor(clients).build()) {
+
+      URI uri = URI.create("http://localhost:"
+          + context.getEnvironment().getProperty("local.server.port") + "/generate");
+
+      // warm up, so that the comparison is not about JIT compilation
+      load(httpClient, clients, uri, Math.min(concurrency, 50), 20);
+
+      long start = System.nanoTime();
+      Result result = load(httpClient, clients, uri, concurrency, requestsPerClient);
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      return result.withThroughput(result.latencies().length / seconds);
+    }
+    finally {
+      context.close();
+    }
+  }
+
+  private static Result load(HttpClient httpClient, ExecutorService clients, URI uri,
+      int concurrency, int requestsPerClient) throws InterruptedException, ExecutionException {
+
+    HttpRequest request = HttpRequest.newBuilder(uri)
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString(
+            "action=Send&size=200&url=https%3A%2F%2Fpdfobject.com%2Fpdf%2Fsample.pdf"))
+        .build();
+
+    AtomicInteger errors = new AtomicInteger();
+    List<Future<long[]>> futures = new ArrayList<>();
+
+    for (int i = 0; i < concurrency; i++) {
+      futures.add(clients.submit(() -> {
+        long[] latencies = new long[requestsPerClient];
+        for (int r = 0; r < requestsPerClient; r++) {
+          long start = System.nanoTime();
+          HttpResponse<Void> response = httpClient.send(request,
+              HttpResponse.BodyHandlers.discarding());
+          latencies[r] = System.nanoTime() - start;
+          if (response.statusCode() != 200) {
+            errors.incrementAndGet();
+          }
+        }
+        return latencies;
+      }));
+    }
+
+    long[] latencies = new long[concurrency * requestsPerClient];
+    int offset = 0;
+
+    for (Future<long[]> future : futures) {
+      long[] clientLatencies = future.get();
+      System.arraycopy(clientLatencies, 0, latencies, offset, clientLatencies.length);
+      offset += clientLatencies.length;
+    }
+
+    Arrays.sort(latencies);
+    return new Result(latencies, errors.get(), 0);
+  }
+
+  private static void respond(HttpExchange exchange, String contentType, byte[] body)
+      throws IOException {
+
+    exchange.getResponseHeaders().add("Content-Type", contentType);
+    exchange.sendResponseHeaders(200, body.length);
+
+    try (OutputStream output = exchange.getResponseBody()) {
+      output.write(body);
+    }
+  }
+
+  private static void sleep(Duration duration) {
+
+    try {
+      Thread.sleep(duration);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Outcome of a load run.
+   *
+   * @param latencies  Sorted latencies of all requests, in nanoseconds
+   * @param errors     Number of failed requests
+   * @param throughput Requests per second
+   */
+  private record Result(long[] latencies, int errors, double throughput) {
+
+    Result withThroughput(double throughput) {
+
+      return new Result(latencies, errors, throughput);
+    }
+
+    void print(String mode, PrintStream out) {
+
+      out.printf("%-10s %12.1f %10.1f %10.1f %10.1f %8d%n", mode, throughput,
+          percentile(0.50), percentile(0.99), latencies[latencies.length - 1] / 1e6, errors);
+    }
+
+    double percentile(double percentile) {
+
+      int index = (int) Math.ceil(percentile * latencies.length) - 1;
+      return latencies[Math.max(index, 0)] / 1e6;
+    }
+  }
+}
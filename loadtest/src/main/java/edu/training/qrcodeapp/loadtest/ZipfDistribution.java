@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks <code>0..n-1</code>: rank <code>k</code> is drawn with a
+ * probability proportional to <code>1 / (k + 1)^exponent</code>.
+ * <p>
+ * This is how popularity usually looks like in production, a few hot items and a long tail. An
+ * exponent of 0 gives the uniform distribution.
+ */
+public class ZipfDistribution {
+
+  private final double[] cumulativeProbabilities;
+
+  /**
+   * Constructor.
+   *
+   * @param n        Number of ranks
+   * @param exponent Skew of the distribution, not negative
+   */
+  public ZipfDistribution(int n, double exponent) {
+
+    if (n < 1 || exponent < 0) {
+      throw new IllegalArgumentException("Invalid Zipf distribution: n=" + n + ", exponent="
+          + exponent);
+    }
+
+    cumulativeProbabilities = new double[n];
+    double sum = 0;
+
+    for (int k = 0; k < n; k++) {
+      sum += 1 / Math.pow(k + 1, exponent);
+      cumulativeProbabilities[k] = sum;
+    }
+
+    for (int k = 0; k < n; k++) {
+      cumulativeProbabilities[k] /= sum;
+    }
+  }
+
+  /**
+   * @param random Source of randomness
+   * @return Rank drawn from the distribution
+   */
+  public int sample(Random random) {
+
+    int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+    int rank = index >= 0 ? index : -index - 1;
+
+    // guards against rounding errors of the last cumulative probability
+    return Math.min(rank, cumulativeProbabilities.length - 1);
+  }
+}
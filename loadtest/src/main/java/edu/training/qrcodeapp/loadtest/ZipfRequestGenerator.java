@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Plans requests at a constant arrival rate, i.e., open-model traffic whose send times do not
+ * depend on how fast the applications respond.
+ * <p>
+ * URLs and sizes are drawn from Zipf distributions, the targets take turns.
+ */
+public class ZipfRequestGenerator implements Iterator<PlannedRequest> {
+
+  // distinct URLs only differ in their last path segment, i.e., their rank
+  static final String URL_PREFIX = "https://pdfobject.com/pdf/sample-";
+
+  private final List<Target> targets;
+
+  private final List<Integer> sizes;
+
+  private final ZipfDistribution urlDistribution;
+
+  private final ZipfDistribution sizeDistribution;
+
+  private final Random random;
+
+  private final double intervalMicros;
+
+  private final long count;
+
+  private long index;
+
+  /**
+   * Constructor.
+   *
+   * @param options Rate, duration and distributions of the load test
+   */
+  public ZipfRequestGenerator(LoadTestOptions options) {
+
+    this.targets = options.targets();
+    this.sizes = options.sizes();
+    this.urlDistribution = new ZipfDistribution(options.urls(), options.urlSkew());
+    this.sizeDistribution = new ZipfDistribution(options.sizes().size(), options.sizeSkew());
+    this.random = new Random(options.seed());
+    this.intervalMicros = 1_000_000 / options.rate();
+    this.count = (long) (options.rate()
+        * options.warmup().plus(options.duration()).toMillis() / 1000);
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    return index < count;
+  }
+
+  @Override
+  public PlannedRequest next() {
+
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    long offsetMicros = (long) (index * intervalMicros);
+    Target target = targets.get((int) (index % targets.size()));
+    index++;
+
+    return new PlannedRequest(offsetMicros, target,
+        URL_PREFIX + urlDistribution.sample(random),
+        sizes.get(sizeDistribution.sample(random)));
+  }
+}
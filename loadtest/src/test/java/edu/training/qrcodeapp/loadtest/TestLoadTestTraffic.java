@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for the traffic of the load tests, i.e., {@link ZipfDistribution},
+ * {@link ZipfRequestGenerator} and {@link RequestLog}.
+ */
+public class TestLoadTestTraffic {
+
+  @TempDir
+  Path directory;
+
+  /**
+   * GIVEN Zipf distribution with exponent 1
+   * WHEN drawing many ranks
+   * THEN the first rank is drawn about twice as often as the second one
+   * AND all ranks are in range
+   */
+  @Test
+  public void testZipfDistributionIsSkewed() {
+
+    ZipfDistribution distribution = new ZipfDistribution(100, 1.0);
+    Random random = new Random(42);
+    int[] counts = new int[100];
+
+    for (int i = 0; i < 100_000; i++) {
+      counts[distribution.sample(random)]++;
+    }
+
+    double ratio = (double) counts[0] / counts[1];
+    assertTrue(ratio > 1.8 && ratio < 2.2, "Unexpected ratio: " + ratio);
+    assertTrue(counts[99] > 0);
+  }
+
+  /**
+   * GIVEN generator of 10 requests per second during 1 second, with 1 second of warm-up
+   * WHEN planning the requests
+   * THEN 20 requests are planned every 100 milliseconds
+   * AND the targets take turns
+   */
+  @Test
+  public void testConstantArrivalRate() {
+
+    LoadTestOptions options = LoadTestOptions.parse("--rate=10", "--warmup=1s",
+        "--duration=1s", "--targets=rest,web");
+
+    List<PlannedRequest> requests = new ArrayList<>();
+    new ZipfRequestGenerator(options).forEachRemaining(requests::add);
+
+    assertEquals(20, requests.size());
+    assertEquals(1_900_000, requests.get(19).offsetMicros());
+    assertEquals(Target.REST, requests.get(0).target());
+    assertEquals(Target.WEB, requests.get(1).target());
+    assertTrue(options.sizes().contains(requests.get(0).size()));
+  }
+
+  /**
+   * GIVEN recorded request log
+   * WHEN replaying it at twice the speed
+   * THEN the same requests are read
+   * AND their send times are halved
+   */
+  @Test
+  public void testRequestLogReplay() throws IOException {
+
+    Path log = directory.resolve("requests.ndjson");
+
+    try (RequestLog.Writer writer = RequestLog.write(log)) {
+      writer.append(new PlannedRequest(0, Target.REST, "https://pdfobject.com/pdf/a", 300));
+      writer.append(new PlannedRequest(2000, Target.WEB, "https://pdfobject.com/pdf/b", 200));
+    }
+
+    Files.writeString(log, "\n", StandardOpenOption.APPEND);
+
+    try (RequestLog.Reader reader = RequestLog.read(log, 2.0)) {
+
+      assertEquals(new PlannedRequest(0, Target.REST, "https://pdfobject.com/pdf/a", 300),
+          reader.next());
+      assertEquals(new PlannedRequest(1000, Target.WEB, "https://pdfobject.com/pdf/b", 200),
+          reader.next());
+      assertFalse(reader.hasNext());
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.config;
+
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.admission.AdaptiveConcurrencyLimit;
+import edu.training.qrcodeapp.rest.service.admission.LoadSheddingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.admission.RenderQueueAdmission;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.cache.CoalescingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.cache.DiskCachingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.cache.DiskRenderStore;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.zxing.ZXingBasedGeneratorServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Assembles the {@link QRCodeGeneratorService} used by the controllers, i.e., the ZXing based
+ * implementation and the decorators around it, based on properties defined in
+ * <code>application.properties</code> file.
+ * <p>
+ * From the outside in, the decorators are the render cache, the coalescing of concurrent
+ * identical requests, the disk cache and the load shedding, so that only actual generations are
+ * subject to admission control.
+ */
+@Configuration
+public class GeneratorServiceConfig {
+
+  // name of the render cache in the exposed metrics
+  static final String RENDER_CACHE_NAME = "qrcode.render";
+  // name of the module grid cache in the exposed metrics
+  static final String MODULE_GRID_CACHE_NAME = "qrcode.module-grid";
+  // names of the disk cache gauges in the exposed metrics
+  static final String DISK_CACHE_ENTRIES = "qrcode.disk-cache.entries";
+  static final String DISK_CACHE_BYTES = "qrcode.disk-cache.bytes";
+  // names of the meters of coalesced requests in the exposed metrics
+  static final String COALESCED_REQUESTS = "qrcode.coalesced.requests";
+  static final String IN_FLIGHT_GENERATIONS = "qrcode.in-flight.generations";
+  // names of the admission control gauges in the exposed metrics
+  static final String ADMISSION_LIMIT = "qrcode.admission.limit";
+  static final String ADMISSION_IN_FLIGHT = "qrcode.admission.in-flight";
+  static final String ADMISSION_PIXELS = "qrcode.admission.pixels";
+  static final String RENDER_QUEUE_LIMIT = "qrcode.admission.render-queue.limit";
+  static final String RENDER_QUEUE_IN_FLIGHT = "qrcode.admission.render-queue.in-flight";
+
+  @Value("${qrcode.cache.enabled:true}")
+  private boolean cacheEnabled;
+
+  @Value("${qrcode.cache.max-bytes:33554432}")
+  private long cacheMaxBytes;
+
+  @Value("${qrcode.admission.enabled:true}")
+  private boolean admissionEnabled;
+
+  @Value("${qrcode.admission.initial-limit:0}")
+  private int admissionInitialLimit;
+
+  @Value("${qrcode.admission.min-limit:0}")
+  private int admissionMinLimit;
+
+  @Value("${qrcode.admission.max-limit:256}")
+  private int admissionMaxLimit;
+
+  @Value("${qrcode.admission.max-pixels:16000000}")
+  private long admissionMaxPixels;
+
+  @Value("${qrcode.coalescing.enabled:true}")
+  private boolean coalescingEnabled;
+
+  @Value("${qrcode.cache.disk.directory:${java.io.tmpdir}/qrcode-cache}")
+  private Path diskCacheDirectory;
+
+  @Value("${qrcode.cache.disk.max-bytes:268435456}")
+  private long diskCacheMaxBytes;
+
+  @Value("${qrcode.cache.disk.segment-bytes:16777216}")
+  private int diskCacheSegmentBytes;
+
+  @Value("${qrcode.engine.version:}")
+  private String engineVersion;
+
+  @Value("${qrcode.render.threads:0}")
+  private int renderThreads;
+
+  @Value("${qrcode.jobs.workers:2}")
+  private int jobWorkers;
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreadsEnabled;
+
+  /**
+   * @param generatorService ZXing based implementation
+   * @param diskRenderStore  Store of the disk cache, if enabled
+   * @param metrics          Metrics the rejected generations are recorded in
+   * @param meterRegistry    Registry the cache counters are bound to
+   * @return Service to be injected wherever QR codes are generated
+   */
+  @Bean
+  @Primary
+  public QRCodeGeneratorService generatorService(ZXingBasedGeneratorServiceImpl generatorService,
+      ObjectProvider<DiskRenderStore> diskRenderStore, GenerationMetrics metrics,
+      MeterRegistry meterRegistry) {
+
+    CaffeineCacheMetrics.monitor(meterRegistry, generatorService.getModuleGridCache(),
+        MODULE_GRID_CACHE_NAME);
+
+    QRCodeGeneratorService service = generatorService;
+
+    if (admissionEnabled) {
+      LoadSheddingGeneratorServiceImpl loadSheddingService = new LoadSheddingGeneratorServiceImpl(
+          service, createAdmissionLimit(Runtime.getRuntime().availableProcessors()),
+          admissionMaxPixels, metrics);
+
+      meterRegistry.gauge(ADMISSION_LIMIT, loadSheddingService,
+          LoadSheddingGeneratorServiceImpl::getLimit);
+      meterRegistry.gauge(ADMISSION_IN_FLIGHT, loadSheddingService,
+          LoadSheddingGeneratorServiceImpl::getInFlight);
+      meterRegistry.gauge(ADMISSION_PIXELS, loadSheddingService,
+          LoadSheddingGeneratorServiceImpl::getPixelsInFlight);
+      service = loadSheddingService;
+    }
+
+    DiskRenderStore store = diskRenderStore.getIfAvailable();
+
+    if (store != null) {
+      meterRegistry.gauge(DISK_CACHE_ENTRIES, store, DiskRenderStore::size);
+      meterRegistry.gauge(DISK_CACHE_BYTES, store, DiskRenderStore::getUsedBytes);
+      service = new DiskCachingGeneratorServiceImpl(service, store);
+    }
+
+    if (coalescingEnabled) {
+      CoalescingGeneratorServiceImpl coalescingService =
+          new CoalescingGeneratorServiceImpl(service);
+      FunctionCounter.builder(COALESCED_REQUESTS, coalescingService,
+              CoalescingGeneratorServiceImpl::getCoalescedCount)
+          .description("Requests served by the generation of an identical concurrent one")
+          .register(meterRegistry);
+      meterRegistry.gauge(IN_FLIGHT_GENERATIONS, coalescingService,
+          CoalescingGeneratorServiceImpl::getInFlightCount);
+      service = coalescingService;
+    }
+
+    if (!cacheEnabled) {
+      return service;
+    }
+
+    CachingGeneratorServiceImpl cachingService =
+        new CachingGeneratorServiceImpl(service, cacheMaxBytes);
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cachingService.getCache(), RENDER_CACHE_NAME);
+
+    return cachingService;
+  }
+
+  /**
+   * Admission control of the reactive variant of the REST layer, where requests wait for a render
+   * thread in the queue of the render scheduler rather than on threads of their own.
+   * <p>
+   * Its limit is never lowered below the number of render threads, so that all of them are kept
+   * busy.
+   *
+   * @param metrics       Metrics the rejected renders are recorded in
+   * @param meterRegistry Registry the admission gauges are bound to
+   * @return Admission of the renders handed to the render scheduler
+   */
+  @Bean
+  @ConditionalOnWebApplication(type = Type.REACTIVE)
+  @ConditionalOnProperty(name = "qrcode.admission.enabled", havingValue = "true",
+      matchIfMissing = true)
+  public RenderQueueAdmission renderQueueAdmission(GenerationMetrics metrics,
+      MeterRegistry meterRegistry) {
+
+    RenderQueueAdmission admission = new RenderQueueAdmission(
+        createAdmissionLimit(getRenderThreads()), metrics);
+
+    meterRegistry.gauge(RENDER_QUEUE_LIMIT, admission, RenderQueueAdmission::getLimit);
+    meterRegistry.gauge(RENDER_QUEUE_IN_FLIGHT, admission, RenderQueueAdmission::getInFlight);
+
+    return admission;
+  }
+
+  /**
+   * Store of the disk cache, below the in-memory one, so that generated QR codes survive restarts.
+   * <p>
+   * It is disabled by default, as it only pays off when its directory is on a persistent volume.
+   *
+   * @return Store opened on the configured directory
+   * @throws IOException in case the directory is in use by another instance or cannot be read
+   */
+  @Bean(destroyMethod = "close")
+  @ConditionalOnProperty(name = "qrcode.cache.disk.enabled", havingValue = "true")
+  public DiskRenderStore diskRenderStore() throws IOException {
+
+    return new DiskRenderStore(diskCacheDirectory, engineVersion, diskCacheMaxBytes,
+        diskCacheSegmentBytes);
+  }
+
+  /**
+   * @param meterRegistry Registry the generation meters are bound to
+   * @return Metrics of the QR code generation stages, outputs and failures
+   */
+  @Bean
+  public GenerationMetrics generationMetrics(MeterRegistry meterRegistry) {
+
+    return new GenerationMetrics(meterRegistry);
+  }
+
+  /**
+   * Executor for CPU bound rendering done in the background, e.g., batch items.
+   * <p>
+   * Its threads are platform threads even when virtual threads are enabled: rendering never
+   * blocks, so virtual threads would only add scheduling overhead on top of the same cores.
+   *
+   * @return Fixed pool with one thread per processor, unless configured otherwise
+   */
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService renderExecutor() {
+
+    return Executors.newFixedThreadPool(getRenderThreads(),
+        Thread.ofPlatform().name("qrcode-render-", 0).daemon(true).factory());
+  }
+
+  /**
+   * Executor of asynchronous generation jobs, each job is run by a single worker at a time.
+   * <p>
+   * Workers mostly wait for rendering and disk I/O, so they are virtual threads when these are
+   * enabled. The pool size still bounds how many jobs run at the same time.
+   *
+   * @return Fixed pool with the configured number of workers
+   */
+  @Bean(destroyMethod = "shutdownNow")
+  public ExecutorService jobExecutor() {
+
+    Thread.Builder threadBuilder = virtualThreadsEnabled
+        ? Thread.ofVirtual().name("qrcode-job-", 0)
+        : Thread.ofPlatform().name("qrcode-job-", 0).daemon(true);
+
+    return Executors.newFixedThreadPool(jobWorkers, threadBuilder.factory());
+  }
+
+  private int getRenderThreads() {
+
+    return renderThreads > 0 ? renderThreads : Runtime.getRuntime().availableProcessors();
+  }
+
+  // limits not configured are derived from the given number of threads doing the work
+  private AdaptiveConcurrencyLimit createAdmissionLimit(int threads) {
+
+    int minLimit = admissionMinLimit > 0 ? admissionMinLimit : threads;
+    int initialLimit = admissionInitialLimit > 0 ? admissionInitialLimit : 4 * threads;
+
+    return new AdaptiveConcurrencyLimit(initialLimit, minLimit, admissionMaxLimit);
+  }
+}
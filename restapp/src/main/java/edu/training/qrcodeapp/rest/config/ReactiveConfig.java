@@ -0,0 +1,73 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.config;
+
+import java.util.concurrent.ExecutorService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Infrastructure of the reactive variant of the REST layer, only active when the application is
+ * started as reactive web application.
+ * <p>
+ * Event-loop threads must never block, so QR codes are rendered on {@link #renderScheduler}
+ * while blocking file and stream I/O goes to Reactor's bounded elastic scheduler.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveConfig {
+
+  /**
+   * Reactor Netty serves the requests, even though Tomcat is on the classpath as well.
+   *
+   * @return Factory of the embedded web server
+   */
+  @Bean
+  public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+
+    return new NettyReactiveWebServerFactory();
+  }
+
+  /**
+   * Scheduler for CPU bound rendering, isolated from the event loop.
+   * <p>
+   * It is backed by the same bounded pool as batch rendering, so all rendering together never
+   * takes more threads than configured with <code>qrcode.render.threads</code>.
+   *
+   * @param renderExecutor Executor for CPU bound rendering
+   * @return Scheduler running on the given executor
+   */
+  @Bean
+  public Scheduler renderScheduler(@Qualifier("renderExecutor") ExecutorService renderExecutor) {
+
+    return Schedulers.fromExecutorService(renderExecutor, "qrcode-render");
+  }
+}
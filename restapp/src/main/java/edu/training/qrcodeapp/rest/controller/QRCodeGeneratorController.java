@@ -24,40 +24,117 @@
 
 package edu.training.qrcodeapp.rest.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.training.qrcodeapp.model.BytesArray;
 import edu.training.qrcodeapp.model.Error;
 import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.ModuleMatrix;
 import edu.training.qrcodeapp.model.Status;
 import edu.training.qrcodeapp.model.Status.StatusEnum;
+import edu.training.qrcodeapp.model.TemplatedBatch;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
 import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import edu.training.qrcodeapp.rest.service.batch.BatchGenerator;
+import edu.training.qrcodeapp.rest.service.batch.NdjsonBatchReader;
+import edu.training.qrcodeapp.rest.service.batch.NdjsonBatchWriter;
+import edu.training.qrcodeapp.rest.service.batch.TemplatedBatchReader;
+import edu.training.qrcodeapp.rest.service.batch.ZipBatchWriter;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics.Format;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics.Stage;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller of the REST layer.
  */
 @RestController()
+@ConditionalOnWebApplication(type = Type.SERVLET)
 @RequestMapping("/api/v1/qrcode")
 public class QRCodeGeneratorController {
 
+  static final String APPLICATION_ZIP_VALUE = "application/zip";
+  static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  static final String IMAGE_SVG_VALUE = "image/svg+xml";
+  static final String APPLICATION_MODULES_VALUE = "application/vnd.qrcode.modules";
+  static final String APPLICATION_MODULES_JSON_VALUE = "application/vnd.qrcode.modules+json";
+
+  // value of the gzip content coding in the Accept-Encoding and Content-Encoding headers
+  static final String GZIP = "gzip";
+
+  // QR codes never change for the same input and engine version, see createETag
+  static final CacheControl IMMUTABLE =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
   private final Logger logger = LoggerFactory.getLogger(QRCodeGeneratorController.class);
 
   @Autowired
   private QRCodeGeneratorService generatorService;
 
+  @Autowired
+  private BatchGenerator batchGenerator;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private GenerationMetrics metrics;
+
+  @Autowired
+  private GeneratorWarmUp warmUp;
+
+  @Value("${qrcode.batch.max-items:10000}")
+  private int batchMaxItems;
+
+  @Value("${qrcode.batch.range.max-items:1000000}")
+  private int rangeMaxItems;
+
+  @Value("${qrcode.engine.version:}")
+  private String engineVersion;
+
   /**
    * Checks whether the application is alive and ready to use or not.
+   * <p>
+   * The application is not ready until the generation is warmed up, see {@link GeneratorWarmUp}.
    *
    * @return Health status encapsulated as {@link ResponseEntity}
    */
@@ -67,7 +144,7 @@ public class QRCodeGeneratorController {
 
     Status status = new Status();
 
-    if (generatorService == null) {
+    if (generatorService == null || !warmUp.isCompleted()) {
 
       logger.error("Application is not ready.");
 
@@ -83,12 +160,15 @@ public class QRCodeGeneratorController {
 
   /**
    * Generates the QR code for the given input data.
+   * <p>
+   * The JSON body is serialized here rather than by the message converters, so that the time it
+   * takes is recorded as a stage of the generation.
    *
    * @param inputData Input data sent in the body of the request
    * @return {@link ResponseEntity} containing either the correct data or error information
    */
   @CrossOrigin(origins = "*")
-  @PostMapping("/generate")
+  @PostMapping(value = "/generate", produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<?> generateQRCode(@RequestBody InputData inputData) {
 
     byte[] output;
@@ -98,18 +178,365 @@ public class QRCodeGeneratorController {
     }
     catch (ExceptionOnGeneration e) {
       logger.error("QR Code generation failed");
-      return new ResponseEntity<>(createError(e.getMessage()), HttpStatus.BAD_REQUEST);
+      return createFailure(e);
     }
 
-    BytesArray result = new BytesArray();
-    result.setOutput(output);
+    byte[] result = serialize(objectMapper, metrics, output, getSize(inputData));
 
     logger.debug("QR Code generated");
-    return new ResponseEntity<>(result, HttpStatus.CREATED);
+    return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+        .body(result);
+  }
+
+  /**
+   * Generates the QR code for the given input data, when the client accepts the PNG image as is.
+   * <p>
+   * The image bytes are written as the response body, so there is no base64 encoding
+   * on either side. Errors are still returned as JSON.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the PNG image or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = MediaType.IMAGE_PNG_VALUE)
+  public ResponseEntity<?> generateQRCodeImage(@RequestBody InputData inputData) {
+
+    byte[] output;
+
+    try {
+      output = generateOutput(inputData);
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      return createFailure(e);
+    }
+
+    logger.debug("QR Code generated as image");
+    return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.IMAGE_PNG)
+        .contentLength(output.length).body(output);
+  }
+
+  /**
+   * Generates the QR code as PNG image for the given query parameters, so that browsers, proxies
+   * and CDNs can cache it.
+   * <p>
+   * The image is a pure function of URL, size and engine version, from which its ETag is computed.
+   * A request whose If-None-Match header holds that ETag is answered with HTTP 304 before anything
+   * is generated. Otherwise, the image is sent to be cached as immutable. Errors are still
+   * returned as JSON.
+   *
+   * @param url         URL to be used as the input for the QR code generation
+   * @param size        Height and width values in pixels, the default size if not provided
+   * @param profile     Output profile of the image, see {@link OutputProfile}
+   * @param ifNoneMatch ETags of the image already cached by the client, if any
+   * @return {@link ResponseEntity} containing either the PNG image, no content if not modified, or
+   * error information
+   * @throws ExceptionOnGeneration in case the profile is unknown, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/generate", produces = MediaType.IMAGE_PNG_VALUE)
+  public ResponseEntity<?> getQRCodeImage(@RequestParam String url,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String profile,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+      throws ExceptionOnGeneration {
+
+    int normalizedSize = Objects.requireNonNullElse(size, QRCodeGeneratorService.DEFAULT_SIZE);
+    OutputProfile outputProfile = OutputProfile.fromValue(profile);
+    String eTag = createETag(engineVersion, url, normalizedSize, outputProfile);
+
+    if (matchesETag(ifNoneMatch, eTag)) {
+      logger.debug("QR Code not modified");
+      return createNotModified(eTag);
+    }
+
+    byte[] output;
+
+    try {
+      output = generatorService.generateQRCodeBytes(url, normalizedSize, outputProfile);
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      return createFailure(e);
+    }
+
+    logger.debug("QR Code generated as cacheable image");
+    return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).eTag(eTag).cacheControl(IMMUTABLE)
+        .contentLength(output.length).body(output);
+  }
+
+  /**
+   * Generates a large QR code as PNG image for the given query parameters, e.g., for print,
+   * streamed to the client as it is generated.
+   * <p>
+   * Sizes go up to {@link InputDataValidator#MAX_POSTER_SIZE} pixels, as only a few scanlines are
+   * held in memory at any time. The URL is validated and encoded before anything is streamed, so
+   * errors are still returned as JSON. The image is cacheable as in
+   * {@link #getQRCodeImage(String, Integer, String, String)}.
+   *
+   * @param url         URL to be used as the input for the QR code generation
+   * @param size        Height and width values in pixels
+   * @param profile     Output profile of the image, see {@link OutputProfile}
+   * @param ifNoneMatch ETags of the image already cached by the client, if any
+   * @return {@link ResponseEntity} containing either the streamed PNG image, no content if not
+   * modified, or error information
+   * @throws ExceptionOnGeneration in case the input is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/poster", produces = MediaType.IMAGE_PNG_VALUE)
+  public ResponseEntity<StreamingResponseBody> getQRCodePoster(@RequestParam String url,
+      @RequestParam int size,
+      @RequestParam(required = false) String profile,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+      throws ExceptionOnGeneration {
+
+    OutputProfile outputProfile = OutputProfile.fromValue(profile);
+    InputDataValidator.INSTANCE.validateUrl(url);
+    InputDataValidator.INSTANCE.validatePosterSize(size);
+
+    String eTag = createETag(engineVersion, url, size, outputProfile);
+
+    if (matchesETag(ifNoneMatch, eTag)) {
+      logger.debug("QR Code poster not modified");
+      return createNotModified(eTag);
+    }
+
+    QRCodePoster poster;
+
+    try {
+      poster = generatorService.createQRCodePoster(url, size, outputProfile);
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      Error error = createError(e.getMessage());
+      return createFailureStatus(e).contentType(MediaType.APPLICATION_JSON)
+          .body(output -> output.write(objectMapper.writeValueAsBytes(error)));
+    }
+
+    StreamingResponseBody body = output -> {
+      try {
+        poster.writeTo(output);
+      }
+      catch (IOException e) {
+        // the response is committed already, it can only be aborted rather than completed
+        logger.warn("QR Code poster aborted: {}", e.getMessage());
+        throw e;
+      }
+    };
+
+    return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).eTag(eTag).cacheControl(IMMUTABLE)
+        .body(body);
+  }
+
+  /**
+   * Generates the QR code for the given input data, when the client accepts an SVG image.
+   * <p>
+   * The image scales to any display size, so the size in the input data, if any, is not taken
+   * into account. It is sent gzip-compressed to clients accepting that encoding. Errors are still
+   * returned as JSON.
+   *
+   * @param inputData      Input data sent in the body of the request
+   * @param acceptEncoding Content codings accepted by the client, if any
+   * @return {@link ResponseEntity} containing either the SVG image or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = IMAGE_SVG_VALUE)
+  public ResponseEntity<?> generateQRCodeSvg(@RequestBody InputData inputData,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding) {
+
+    boolean gzipped = acceptsGzip(acceptEncoding);
+    byte[] output;
+
+    try {
+      output = generatorService.generateQRCodeSvg(inputData.getUrl(), gzipped);
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      return createFailure(e);
+    }
+
+    logger.debug("QR Code generated as SVG");
+    return createSvgResponse(output, gzipped);
+  }
+
+  /**
+   * Generates the module grid of the QR code for the given input data, when the client draws the
+   * QR code itself and accepts the grid packed as is.
+   * <p>
+   * The body holds the version byte, the dimension byte and then the modules, one bit each. The
+   * size in the input data, if any, is not taken into account. Errors are still returned as JSON.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the packed grid or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = APPLICATION_MODULES_VALUE)
+  public ResponseEntity<?> generateQRCodeModules(@RequestBody InputData inputData) {
+
+    byte[] output;
+
+    try {
+      output = generatorService.generateQRCodeModules(inputData.getUrl());
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      return createFailure(e);
+    }
+
+    logger.debug("QR Code generated as packed modules");
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .contentType(MediaType.parseMediaType(APPLICATION_MODULES_VALUE))
+        .contentLength(output.length).body(output);
+  }
+
+  /**
+   * Generates the module grid of the QR code for the given input data, when the client draws the
+   * QR code itself and accepts the grid as JSON, see {@link ModuleMatrix}.
+   * <p>
+   * The size in the input data, if any, is not taken into account.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the module grid or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = APPLICATION_MODULES_JSON_VALUE)
+  public ResponseEntity<?> generateQRCodeModuleMatrix(@RequestBody InputData inputData) {
+
+    byte[] output;
+
+    try {
+      output = generatorService.generateQRCodeModules(inputData.getUrl());
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed");
+      return createFailure(e);
+    }
+
+    logger.debug("QR Code generated as module matrix");
+    return ResponseEntity.status(HttpStatus.CREATED)
+        .contentType(MediaType.parseMediaType(APPLICATION_MODULES_JSON_VALUE))
+        .body(createModuleMatrix(output));
+  }
+
+  /**
+   * Generates the QR codes for the given batch of input data, streamed as a ZIP archive.
+   * <p>
+   * The whole batch is validated before anything is generated. Items are then generated in
+   * parallel and written to the archive in input order as soon as they are ready.
+   *
+   * @param items Input data items sent in the body of the request
+   * @return {@link ResponseEntity} containing the streamed archive
+   * @throws ExceptionOnGeneration in case the batch is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = APPLICATION_ZIP_VALUE)
+  public ResponseEntity<StreamingResponseBody> generateQRCodeBatch(
+      @RequestBody List<InputData> items) throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateBatch(items, batchMaxItems);
+
+    logger.debug("Generating batch of {} QR Codes", items.size());
+
+    StreamingResponseBody body = output -> {
+      try (ZipBatchWriter writer = new ZipBatchWriter(output)) {
+        batchGenerator.generate(items.iterator(), writer);
+      }
+    };
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_ZIP_VALUE))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("qrcodes.zip").build().toString())
+        .body(body);
+  }
+
+  /**
+   * Generates the QR codes for the given newline-delimited stream of input data, streaming back
+   * one result line per item.
+   * <p>
+   * The request body is read incrementally while results are written in completion order, as soon
+   * as each item is ready. Since no more items than the configured window are in flight, a slow
+   * client throttles the generation. Failures, including invalid input, are reported per item.
+   *
+   * @param items Newline-delimited JSON input data items, sent in the body of the request
+   * @return {@link ResponseEntity} containing the streamed results
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE,
+      produces = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> generateQRCodeStream(InputStream items) {
+
+    logger.debug("Generating stream of QR Codes");
+
+    StreamingResponseBody body = output -> batchGenerator.generateUnordered(
+        new NdjsonBatchReader(items, objectMapper), new NdjsonBatchWriter(output, objectMapper));
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(body);
+  }
+
+  /**
+   * Generates the QR codes for the given URL template, one per ID of the given range or list,
+   * streaming back one result line per ID.
+   * <p>
+   * The batch is validated as a whole before anything is generated. Items are then expanded
+   * lazily, generated in parallel and written in the order of the IDs as soon as they are ready,
+   * so memory stays flat regardless of the number of IDs.
+   *
+   * @param batch URL template and IDs sent in the body of the request
+   * @return {@link ResponseEntity} containing the streamed results
+   * @throws ExceptionOnGeneration in case the batch is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch/range", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> generateQRCodeRange(
+      @RequestBody TemplatedBatch batch) throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateTemplatedBatch(batch, rangeMaxItems);
+
+    logger.debug("Generating QR Codes out of template {}", batch.getUrlTemplate());
+
+    StreamingResponseBody body = output -> batchGenerator.generate(
+        new TemplatedBatchReader(batch), new NdjsonBatchWriter(output, objectMapper));
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+        .body(body);
+  }
+
+  /**
+   * Handles invalid input of the operations that do not return errors themselves, such as the
+   * streamed ones.
+   *
+   * @param e Validation failure
+   * @return {@link ResponseEntity} containing the error information as JSON
+   */
+  @ExceptionHandler(ExceptionOnGeneration.class)
+  public ResponseEntity<Error> handleInvalidInput(ExceptionOnGeneration e) {
+
+    logger.error("QR Code generation failed on invalid input");
+    metrics.recordError(e);
+
+    return createFailure(e);
   }
 
   private byte[] generateOutput(InputData inputData) throws ExceptionOnGeneration {
 
+    if (Objects.nonNull(inputData.getProfile())) {
+      logger.debug("Generating QR Code with profile provided in the input: {}",
+          inputData.getProfile());
+      return generatorService.generateQRCodeBytes(inputData.getUrl(), getSize(inputData),
+          OutputProfile.fromValue(inputData.getProfile()));
+    }
+
     if (Objects.isNull(inputData.getSize())) {
       logger.debug("Generating QR Code with default size: {}", QRCodeGeneratorService.DEFAULT_SIZE);
       return generatorService.generateQRCodeBytes(inputData.getUrl());
@@ -119,10 +546,189 @@ public class QRCodeGeneratorController {
     return generatorService.generateQRCodeBytes(inputData.getUrl(), inputData.getSize());
   }
 
-  private Error createError(String message) {
+  /**
+   * Serializes the generated QR code as JSON, recording the time it takes and the size of the
+   * result.
+   *
+   * @param objectMapper Mapper of the JSON body
+   * @param metrics      Metrics of the QR code generation
+   * @param output       Generated QR code
+   * @param size         Requested size, i.e., height and width values in pixels
+   * @return JSON body containing the QR code
+   */
+  static byte[] serialize(ObjectMapper objectMapper, GenerationMetrics metrics, byte[] output,
+      int size) {
+
+    BytesArray result = new BytesArray();
+    result.setOutput(output);
+
+    long start = System.nanoTime();
+    byte[] json;
+
+    try {
+      json = objectMapper.writeValueAsBytes(result);
+    }
+    catch (JsonProcessingException e) {
+      metrics.recordStage(Stage.SERIALIZATION, size, false, start);
+      throw new UncheckedIOException(e);
+    }
+
+    metrics.recordStage(Stage.SERIALIZATION, size, true, start);
+    metrics.recordOutput(Format.JSON, size, json.length);
+
+    return json;
+  }
+
+  static ResponseEntity<byte[]> createSvgResponse(byte[] output, boolean gzipped) {
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED)
+        .contentType(MediaType.parseMediaType(IMAGE_SVG_VALUE))
+        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+    if (gzipped) {
+      response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+
+    return response.contentLength(output.length).body(output);
+  }
+
+  /**
+   * @param packed Packed module grid, see {@link QRCodeGeneratorService#generateQRCodeModules}
+   * @return Module grid with version and dimension taken out of the leading bytes
+   */
+  static ModuleMatrix createModuleMatrix(byte[] packed) {
+
+    ModuleMatrix moduleMatrix = new ModuleMatrix();
+    moduleMatrix.setVersion(Byte.toUnsignedInt(packed[0]));
+    moduleMatrix.setDimension(Byte.toUnsignedInt(packed[1]));
+    moduleMatrix.setModules(Arrays.copyOfRange(packed, 2, packed.length));
+    return moduleMatrix;
+  }
+
+  /**
+   * @param acceptEncoding Value of the Accept-Encoding header, if any
+   * @return Whether the gzip content coding is accepted, i.e., listed without a zero quality
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+
+      String[] parameters = coding.split(";");
+
+      if (parameters[0].trim().equalsIgnoreCase(GZIP)) {
+        // "gzip;q=0" explicitly refuses the coding
+        return parameters.length < 2 || !parameters[1].trim().matches("q=0(\\.0*)?");
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * Computes the ETag of a QR code image, which is strong since the image is generated
+   * byte-for-byte the same for the same input and engine version.
+   *
+   * @param engineVersion Version of the generation engine, changing whenever its output changes
+   * @param url           URL used as the input for the QR code generation
+   * @param size          Height and width values in pixels
+   * @param profile       Output profile of the image
+   * @return Quoted ETag
+   */
+  static String createETag(String engineVersion, String url, int size, OutputProfile profile) {
+
+    MessageDigest digest;
+
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      // every Java platform implements SHA-256
+      throw new IllegalStateException(e);
+    }
+
+    String input = engineVersion + '\n' + size + '\n' + profile.getValue() + '\n' + url;
+    byte[] hash = digest.digest(input.getBytes(StandardCharsets.UTF_8));
+
+    return '"' + HexFormat.of().formatHex(hash, 0, 16) + '"';
+  }
+
+  /**
+   * @param ifNoneMatch Value of the If-None-Match header, if any
+   * @param eTag        Quoted ETag of the requested QR code
+   * @return Whether the client already holds the QR code, following the weak comparison required
+   * for If-None-Match
+   */
+  static boolean matchesETag(String ifNoneMatch, String eTag) {
+
+    if (ifNoneMatch == null) {
+      return false;
+    }
+
+    ETag current = ETag.create(eTag);
+
+    return ETag.parse(ifNoneMatch).stream()
+        .anyMatch(cached -> cached.isWildcard() || cached.compare(current, false));
+  }
+
+  static <T> ResponseEntity<T> createNotModified(String eTag) {
+
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(IMMUTABLE)
+        .build();
+  }
+
+  static int getSize(InputData inputData) {
+
+    return Objects.requireNonNullElse(inputData.getSize(), QRCodeGeneratorService.DEFAULT_SIZE);
+  }
+
+  static Error createError(String message) {
 
     Error error = new Error();
     error.setMessage(message);
     return error;
   }
+
+  /**
+   * Creates the response of a failed generation, with the error information as JSON.
+   *
+   * @param e Failure
+   * @return {@link ResponseEntity} with the status of the failure, see
+   * {@link #createFailureStatus(ExceptionOnGeneration)}
+   */
+  static ResponseEntity<Error> createFailure(ExceptionOnGeneration e) {
+
+    return createFailureStatus(e).contentType(MediaType.APPLICATION_JSON)
+        .body(createError(e.getMessage()));
+  }
+
+  /**
+   * Maps a failed generation to its HTTP status.
+   * <p>
+   * Rejections of admission control are no fault of the client: they are answered with HTTP 503,
+   * or 429 when too many large QR codes are being generated, along with a Retry-After header. Any
+   * other failure is answered with HTTP 400.
+   *
+   * @param e Failure
+   * @return Builder of the response, with its status and headers set
+   */
+  static ResponseEntity.BodyBuilder createFailureStatus(ExceptionOnGeneration e) {
+
+    if (!(e instanceof ExceptionOnOverload overload)) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST);
+    }
+
+    HttpStatus status = overload.getErrorCode() == ErrorCode.PIXEL_BUDGET_EXHAUSTED
+        ? HttpStatus.TOO_MANY_REQUESTS
+        : HttpStatus.SERVICE_UNAVAILABLE;
+
+    // in whole seconds, rounded up
+    long retryAfter = Math.max(1, (overload.getRetryAfter().toMillis() + 999) / 1000);
+
+    return ResponseEntity.status(status)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+  }
 }
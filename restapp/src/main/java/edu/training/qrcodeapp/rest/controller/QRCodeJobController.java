@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import edu.training.qrcodeapp.model.Error;
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.Job;
+import edu.training.qrcodeapp.model.Job.StateEnum;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob.State;
+import edu.training.qrcodeapp.rest.service.job.JobManager;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import java.io.IOException;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Controller of the asynchronous generation jobs of the REST layer.
+ */
+@RestController()
+@ConditionalOnWebApplication(type = Type.SERVLET)
+@RequestMapping("/api/v1/qrcode/jobs")
+public class QRCodeJobController {
+
+  private final Logger logger = LoggerFactory.getLogger(QRCodeJobController.class);
+
+  @Autowired
+  private JobManager jobManager;
+
+  @Autowired
+  private GenerationMetrics metrics;
+
+  @Value("${qrcode.jobs.max-items:200000}")
+  private int jobMaxItems;
+
+  /**
+   * Submits a job generating the QR codes for the given batch of input data.
+   *
+   * @param items Input data items sent in the body of the request
+   * @return {@link ResponseEntity} containing the status of the accepted job
+   * @throws ExceptionOnGeneration in case the batch is invalid
+   * @throws IOException           in case the job cannot be persisted
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping
+  public ResponseEntity<Job> submitJob(@RequestBody List<InputData> items)
+      throws ExceptionOnGeneration, IOException {
+
+    InputDataValidator.INSTANCE.validateBatch(items, jobMaxItems);
+
+    GenerationJob job = jobManager.submit(items);
+
+    return new ResponseEntity<>(toJob(job), HttpStatus.ACCEPTED);
+  }
+
+  /**
+   * Gets the status of the given job.
+   *
+   * @param jobId Job identifier
+   * @return {@link ResponseEntity} containing the status of the job
+   * @throws ExceptionOnGeneration in case the job does not exist
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping("/{jobId}")
+  public ResponseEntity<Job> getJob(@PathVariable String jobId) throws ExceptionOnGeneration {
+
+    return new ResponseEntity<>(toJob(findJob(jobId)), HttpStatus.OK);
+  }
+
+  /**
+   * Streams the results of the given job as a ZIP archive.
+   *
+   * @param jobId Job identifier
+   * @return {@link ResponseEntity} containing the streamed archive
+   * @throws ExceptionOnGeneration in case the job does not exist or is not completed
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/{jobId}/result", produces = QRCodeGeneratorController.APPLICATION_ZIP_VALUE)
+  public ResponseEntity<StreamingResponseBody> getJobResult(@PathVariable String jobId)
+      throws ExceptionOnGeneration {
+
+    GenerationJob job = findJob(jobId);
+
+    if (job.getState() != State.COMPLETED) {
+      throw new ExceptionOnGeneration(ErrorCode.JOB_NOT_COMPLETED);
+    }
+
+    StreamingResponseBody body = output -> jobManager.writeResults(job, output);
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(jobId + ".zip").build().toString())
+        .body(body);
+  }
+
+  /**
+   * Maps failures to their HTTP status, with the error information as JSON.
+   *
+   * @param e Failure
+   * @return {@link ResponseEntity} containing the error information
+   */
+  @ExceptionHandler(ExceptionOnGeneration.class)
+  public ResponseEntity<Error> handleFailure(ExceptionOnGeneration e) {
+
+    logger.error("QR Code job operation failed: {}", e.getMessage());
+    metrics.recordError(e);
+
+    return ResponseEntity.status(toHttpStatus(e.getErrorCode()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(QRCodeGeneratorController.createError(e.getMessage()));
+  }
+
+  /**
+   * @param errorCode Cause of a job operation failure, null if unknown
+   * @return HTTP status reported for the given cause
+   */
+  static HttpStatus toHttpStatus(ErrorCode errorCode) {
+
+    return switch (errorCode) {
+      case UNKNOWN_JOB -> HttpStatus.NOT_FOUND;
+      case JOB_NOT_COMPLETED -> HttpStatus.CONFLICT;
+      case null, default -> HttpStatus.BAD_REQUEST;
+    };
+  }
+
+  private GenerationJob findJob(String jobId) throws ExceptionOnGeneration {
+
+    return jobManager.getJob(jobId)
+        .orElseThrow(() -> new ExceptionOnGeneration(ErrorCode.UNKNOWN_JOB));
+  }
+
+  static Job toJob(GenerationJob generationJob) {
+
+    Job job = new Job();
+    job.setId(generationJob.getId());
+    job.setState(StateEnum.valueOf(generationJob.getState().name()));
+    job.setTotal(generationJob.getTotal());
+    job.setCompleted(generationJob.getCompleted());
+    job.setFailed(generationJob.getFailed());
+    return job;
+  }
+}
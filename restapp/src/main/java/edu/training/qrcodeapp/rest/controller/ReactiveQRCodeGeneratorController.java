@@ -0,0 +1,561 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.model.BatchItemResult;
+import edu.training.qrcodeapp.model.Error;
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.Status;
+import edu.training.qrcodeapp.model.Status.StatusEnum;
+import edu.training.qrcodeapp.model.TemplatedBatch;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.admission.LoadSheddingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.admission.RenderQueueAdmission;
+import edu.training.qrcodeapp.rest.service.batch.BatchGenerator;
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import edu.training.qrcodeapp.rest.service.batch.NdjsonBatchWriter;
+import edu.training.qrcodeapp.rest.service.batch.TemplatedBatchReader;
+import edu.training.qrcodeapp.rest.service.batch.ZipBatchWriter;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Controller of the reactive variant of the REST layer, see {@link QRCodeGeneratorController} for
+ * the servlet based one.
+ * <p>
+ * Rendering is offloaded to the render scheduler and blocking stream I/O to Reactor's bounded
+ * elastic scheduler, so the event loop threads only ever parse and write the messages.
+ * <p>
+ * Renders are admitted by {@link RenderQueueAdmission} before being handed to the render
+ * scheduler, as requests wait in its queue rather than on threads of their own. Posters are not,
+ * as in {@link LoadSheddingGeneratorServiceImpl}.
+ */
+@RestController()
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/api/v1/qrcode")
+public class ReactiveQRCodeGeneratorController {
+
+  // splits the newline-delimited JSON input into lines, whatever the chunks it comes in
+  private static final StringDecoder LINE_DECODER = StringDecoder.allMimeTypes();
+
+  private final Logger logger = LoggerFactory.getLogger(ReactiveQRCodeGeneratorController.class);
+
+  private final Executor blockingExecutor = Schedulers.boundedElastic()::schedule;
+
+  @Autowired
+  private QRCodeGeneratorService generatorService;
+
+  @Autowired
+  private BatchGenerator batchGenerator;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private GenerationMetrics metrics;
+
+  @Autowired
+  private GeneratorWarmUp warmUp;
+
+  @Autowired
+  private Scheduler renderScheduler;
+
+  // absent when admission control is disabled
+  @Autowired(required = false)
+  private RenderQueueAdmission renderQueueAdmission;
+
+  @Value("${qrcode.batch.max-items:10000}")
+  private int batchMaxItems;
+
+  @Value("${qrcode.batch.range.max-items:1000000}")
+  private int rangeMaxItems;
+
+  @Value("${qrcode.engine.version:}")
+  private String engineVersion;
+
+  /**
+   * Checks whether the application is alive and ready to use or not.
+   * <p>
+   * The application is not ready until the generation is warmed up, see {@link GeneratorWarmUp}.
+   *
+   * @return Health status encapsulated as {@link ResponseEntity}
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping("/health")
+  public ResponseEntity<Status> getHealthStatus() {
+
+    Status status = new Status();
+
+    if (generatorService == null || !warmUp.isCompleted()) {
+
+      logger.error("Application is not ready.");
+
+      status.status(StatusEnum.UNAVAILABLE);
+      return new ResponseEntity<>(status, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    logger.info("Application is ready.");
+
+    status.setStatus(StatusEnum.READY);
+    return new ResponseEntity<>(status, HttpStatus.OK);
+  }
+
+  /**
+   * Generates the QR code for the given input data.
+   * <p>
+   * The JSON body is serialized here rather than by the encoders, so that the time it takes is
+   * recorded as a stage of the generation.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the generated data or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = MediaType.APPLICATION_JSON_VALUE)
+  public Mono<ResponseEntity<?>> generateQRCode(@RequestBody InputData inputData) {
+
+    return generateOutput(inputData).<ResponseEntity<?>>map(output -> {
+
+      byte[] result = QRCodeGeneratorController.serialize(objectMapper, metrics, output,
+          QRCodeGeneratorController.getSize(inputData));
+
+      logger.debug("QR Code generated");
+      return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.APPLICATION_JSON)
+          .body(result);
+    }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates the QR code for the given input data, when the client accepts the PNG image as is.
+   * <p>
+   * Errors are still returned as JSON.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the PNG image or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = MediaType.IMAGE_PNG_VALUE)
+  public Mono<ResponseEntity<?>> generateQRCodeImage(@RequestBody InputData inputData) {
+
+    return generateOutput(inputData).<ResponseEntity<?>>map(output -> {
+
+      logger.debug("QR Code generated as image");
+      return ResponseEntity.status(HttpStatus.CREATED).contentType(MediaType.IMAGE_PNG)
+          .contentLength(output.length).body(output);
+    }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates the QR code as PNG image for the given query parameters, so that browsers, proxies
+   * and CDNs can cache it, as in
+   * {@link QRCodeGeneratorController#getQRCodeImage(String, Integer, String, String)}.
+   *
+   * @param url         URL to be used as the input for the QR code generation
+   * @param size        Height and width values in pixels, the default size if not provided
+   * @param profile     Output profile of the image, see {@link OutputProfile}
+   * @param ifNoneMatch ETags of the image already cached by the client, if any
+   * @return {@link ResponseEntity} containing either the PNG image, no content if not modified, or
+   * error information
+   * @throws ExceptionOnGeneration in case the profile is unknown, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/generate", produces = MediaType.IMAGE_PNG_VALUE)
+  public Mono<ResponseEntity<?>> getQRCodeImage(@RequestParam String url,
+      @RequestParam(required = false) Integer size,
+      @RequestParam(required = false) String profile,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch)
+      throws ExceptionOnGeneration {
+
+    int normalizedSize = Objects.requireNonNullElse(size, QRCodeGeneratorService.DEFAULT_SIZE);
+    OutputProfile outputProfile = OutputProfile.fromValue(profile);
+    String eTag = QRCodeGeneratorController.createETag(engineVersion, url, normalizedSize,
+        outputProfile);
+
+    if (QRCodeGeneratorController.matchesETag(ifNoneMatch, eTag)) {
+      logger.debug("QR Code not modified");
+      return Mono.just(QRCodeGeneratorController.createNotModified(eTag));
+    }
+
+    return render(() -> generatorService.generateQRCodeBytes(url, normalizedSize, outputProfile))
+        .<ResponseEntity<?>>map(output -> {
+
+          logger.debug("QR Code generated as cacheable image");
+          return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).eTag(eTag)
+              .cacheControl(QRCodeGeneratorController.IMMUTABLE)
+              .contentLength(output.length).body(output);
+        }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates a large QR code as PNG image for the given query parameters, e.g., for print,
+   * streamed to the client as it is generated, as in
+   * {@link QRCodeGeneratorController#getQRCodePoster(String, int, String, String)}.
+   * <p>
+   * The URL is encoded on the render scheduler before anything is streamed. The image is then
+   * written on a thread that may block, as chunks are consumed by the client.
+   *
+   * @param url         URL to be used as the input for the QR code generation
+   * @param size        Height and width values in pixels
+   * @param profile     Output profile of the image, see {@link OutputProfile}
+   * @param ifNoneMatch ETags of the image already cached by the client, if any
+   * @param response    Response the image chunks are allocated for
+   * @return {@link ResponseEntity} containing either the streamed PNG image, no content if not
+   * modified, or error information
+   * @throws ExceptionOnGeneration in case the input is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/poster", produces = MediaType.IMAGE_PNG_VALUE)
+  public Mono<ResponseEntity<Flux<DataBuffer>>> getQRCodePoster(@RequestParam String url,
+      @RequestParam int size,
+      @RequestParam(required = false) String profile,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      ServerHttpResponse response) throws ExceptionOnGeneration {
+
+    OutputProfile outputProfile = OutputProfile.fromValue(profile);
+    InputDataValidator.INSTANCE.validateUrl(url);
+    InputDataValidator.INSTANCE.validatePosterSize(size);
+
+    String eTag = QRCodeGeneratorController.createETag(engineVersion, url, size, outputProfile);
+
+    if (QRCodeGeneratorController.matchesETag(ifNoneMatch, eTag)) {
+      logger.debug("QR Code poster not modified");
+      return Mono.just(QRCodeGeneratorController.createNotModified(eTag));
+    }
+
+    return Mono.fromCallable(() -> generatorService.createQRCodePoster(url, size, outputProfile))
+        .subscribeOn(renderScheduler)
+        .map(poster -> {
+
+          Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(output -> {
+            try {
+              poster.writeTo(output);
+            }
+            catch (IOException e) {
+              // the response is committed already, it can only be aborted rather than completed
+              logger.warn("QR Code poster aborted: {}", e.getMessage());
+              throw new UncheckedIOException(e);
+            }
+          }, response.bufferFactory(), blockingExecutor));
+
+          return ResponseEntity.ok().contentType(MediaType.IMAGE_PNG).eTag(eTag)
+              .cacheControl(QRCodeGeneratorController.IMMUTABLE).body(body);
+        }).onErrorResume(ExceptionOnGeneration.class, e -> Mono.fromCallable(() -> {
+
+          logger.error("QR Code generation failed");
+          DataBuffer error = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(
+              QRCodeGeneratorController.createError(e.getMessage())));
+          return QRCodeGeneratorController.createFailureStatus(e)
+              .contentType(MediaType.APPLICATION_JSON).body(Flux.just(error));
+        }));
+  }
+
+  /**
+   * Generates the QR code for the given input data, when the client accepts an SVG image.
+   * <p>
+   * The size in the input data, if any, is not taken into account, and the image is sent
+   * gzip-compressed to clients accepting that encoding, see
+   * {@link QRCodeGeneratorController#generateQRCodeSvg(InputData, String)}.
+   *
+   * @param inputData      Input data sent in the body of the request
+   * @param acceptEncoding Content codings accepted by the client, if any
+   * @return {@link ResponseEntity} containing either the SVG image or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate", produces = QRCodeGeneratorController.IMAGE_SVG_VALUE)
+  public Mono<ResponseEntity<?>> generateQRCodeSvg(@RequestBody InputData inputData,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+      String acceptEncoding) {
+
+    boolean gzipped = QRCodeGeneratorController.acceptsGzip(acceptEncoding);
+
+    return render(() -> generatorService.generateQRCodeSvg(inputData.getUrl(), gzipped))
+        .<ResponseEntity<?>>map(output -> {
+
+          logger.debug("QR Code generated as SVG");
+          return QRCodeGeneratorController.createSvgResponse(output, gzipped);
+        }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates the module grid of the QR code for the given input data, when the client draws the
+   * QR code itself and accepts the grid packed as is, as in
+   * {@link QRCodeGeneratorController#generateQRCodeModules(InputData)}.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the packed grid or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate",
+      produces = QRCodeGeneratorController.APPLICATION_MODULES_VALUE)
+  public Mono<ResponseEntity<?>> generateQRCodeModules(@RequestBody InputData inputData) {
+
+    return render(() -> generatorService.generateQRCodeModules(inputData.getUrl()))
+        .<ResponseEntity<?>>map(output -> {
+
+          logger.debug("QR Code generated as packed modules");
+          return ResponseEntity.status(HttpStatus.CREATED)
+              .contentType(MediaType.parseMediaType(
+                  QRCodeGeneratorController.APPLICATION_MODULES_VALUE))
+              .contentLength(output.length).body(output);
+        }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates the module grid of the QR code for the given input data, when the client draws the
+   * QR code itself and accepts the grid as JSON, as in
+   * {@link QRCodeGeneratorController#generateQRCodeModuleMatrix(InputData)}.
+   *
+   * @param inputData Input data sent in the body of the request
+   * @return {@link ResponseEntity} containing either the module grid or error information
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/generate",
+      produces = QRCodeGeneratorController.APPLICATION_MODULES_JSON_VALUE)
+  public Mono<ResponseEntity<?>> generateQRCodeModuleMatrix(@RequestBody InputData inputData) {
+
+    return render(() -> generatorService.generateQRCodeModules(inputData.getUrl()))
+        .<ResponseEntity<?>>map(output -> {
+
+          logger.debug("QR Code generated as module matrix");
+          return ResponseEntity.status(HttpStatus.CREATED)
+              .contentType(MediaType.parseMediaType(
+                  QRCodeGeneratorController.APPLICATION_MODULES_JSON_VALUE))
+              .body(QRCodeGeneratorController.createModuleMatrix(output));
+        }).onErrorResume(ExceptionOnGeneration.class, this::createFailure);
+  }
+
+  /**
+   * Generates the QR codes for the given batch of input data, streamed as a ZIP archive.
+   * <p>
+   * The whole batch is validated before anything is generated. The archive is then written by
+   * {@link BatchGenerator} on a thread that may block, as chunks are consumed by the client.
+   *
+   * @param items    Input data items sent in the body of the request
+   * @param response Response the archive chunks are allocated for
+   * @return {@link ResponseEntity} containing the streamed archive
+   * @throws ExceptionOnGeneration in case the batch is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = QRCodeGeneratorController.APPLICATION_ZIP_VALUE)
+  public ResponseEntity<Flux<DataBuffer>> generateQRCodeBatch(@RequestBody List<InputData> items,
+      ServerHttpResponse response) throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateBatch(items, batchMaxItems);
+
+    logger.debug("Generating batch of {} QR Codes", items.size());
+
+    Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(output -> {
+      try (ZipBatchWriter writer = new ZipBatchWriter(output)) {
+        batchGenerator.generate(items.iterator(), writer);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, response.bufferFactory(), blockingExecutor));
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("qrcodes.zip").build().toString())
+        .body(body);
+  }
+
+  /**
+   * Generates the QR codes for the given newline-delimited stream of input data, streaming back
+   * one result line per item.
+   * <p>
+   * Results are emitted in completion order, with no more items than the batch window in flight
+   * on the render scheduler. Demand of the client propagates up to the request body, so a slow
+   * client throttles the generation. Failures, including invalid input, are reported per item.
+   *
+   * @param items Newline-delimited JSON input data items, sent in the body of the request
+   * @return Stream of the results
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch", consumes = QRCodeGeneratorController.APPLICATION_NDJSON_VALUE,
+      produces = QRCodeGeneratorController.APPLICATION_NDJSON_VALUE)
+  public Flux<BatchItemResult> generateQRCodeStream(@RequestBody Flux<DataBuffer> items) {
+
+    logger.debug("Generating stream of QR Codes");
+
+    return LINE_DECODER.decode(items, ResolvableType.forClass(String.class), null, null)
+        .filter(line -> !line.isBlank())
+        .index()
+        .flatMap(line -> generateItem(line.getT1().intValue(), readItem(line.getT2()), 1),
+            batchGenerator.getWindow())
+        .map(NdjsonBatchWriter::toBatchItemResult);
+  }
+
+  /**
+   * Generates the QR codes for the given URL template, one per ID of the given range or list,
+   * streaming back one result line per ID.
+   * <p>
+   * The batch is validated as a whole before anything is generated. Items are then expanded
+   * lazily and emitted in the order of the IDs, with no more items than the batch window in
+   * flight on the render scheduler, so a slow client throttles the generation.
+   *
+   * @param batch URL template and IDs sent in the body of the request
+   * @return Stream of the results
+   * @throws ExceptionOnGeneration in case the batch is invalid, see
+   *                               {@link #handleInvalidInput(ExceptionOnGeneration)}
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping(value = "/batch/range", consumes = MediaType.APPLICATION_JSON_VALUE,
+      produces = QRCodeGeneratorController.APPLICATION_NDJSON_VALUE)
+  public Flux<BatchItemResult> generateQRCodeRange(@RequestBody TemplatedBatch batch)
+      throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateTemplatedBatch(batch, rangeMaxItems);
+
+    logger.debug("Generating QR Codes out of template {}", batch.getUrlTemplate());
+
+    return Flux.fromIterable(() -> new TemplatedBatchReader(batch))
+        .index()
+        .flatMapSequential(item -> generateItem(item.getT1().intValue(), item.getT2(), 1),
+            batchGenerator.getWindow())
+        .map(NdjsonBatchWriter::toBatchItemResult);
+  }
+
+  /**
+   * Handles invalid input of the operations that do not return errors themselves, such as the
+   * streamed ones.
+   *
+   * @param e Validation failure
+   * @return {@link ResponseEntity} containing the error information as JSON
+   */
+  @ExceptionHandler(ExceptionOnGeneration.class)
+  public ResponseEntity<Error> handleInvalidInput(ExceptionOnGeneration e) {
+
+    logger.error("QR Code generation failed on invalid input");
+    metrics.recordError(e);
+
+    return QRCodeGeneratorController.createFailure(e);
+  }
+
+  // failures of the generation itself are already recorded by the generator service
+  private Mono<ResponseEntity<?>> createFailure(ExceptionOnGeneration e) {
+
+    logger.error("QR Code generation failed");
+
+    return Mono.just(QRCodeGeneratorController.createFailure(e));
+  }
+
+  private Mono<byte[]> generateOutput(InputData inputData) {
+
+    return render(() -> {
+
+      if (Objects.nonNull(inputData.getProfile())) {
+        return generatorService.generateQRCodeBytes(inputData.getUrl(),
+            QRCodeGeneratorController.getSize(inputData),
+            OutputProfile.fromValue(inputData.getProfile()));
+      }
+
+      if (Objects.isNull(inputData.getSize())) {
+        return generatorService.generateQRCodeBytes(inputData.getUrl());
+      }
+
+      return generatorService.generateQRCodeBytes(inputData.getUrl(), inputData.getSize());
+    });
+  }
+
+  // admitted before being handed to the render scheduler, requests wait in its queue
+  private <T> Mono<T> render(Callable<T> generation) {
+
+    if (renderQueueAdmission == null) {
+      return Mono.fromCallable(generation).subscribeOn(renderScheduler);
+    }
+
+    return Mono.fromCallable(renderQueueAdmission::admit)
+        .flatMap(permit -> Mono.fromCallable(generation)
+            .subscribeOn(renderScheduler)
+            .doFinally(signal -> permit.release(signal == SignalType.ON_COMPLETE)));
+  }
+
+  private Mono<BatchResult> generateItem(int index, InputData item, int attempt) {
+
+    // items rejected by admission control are delayed on a timer, not on a render thread
+    return render(() -> batchGenerator.generate(index, item))
+        .onErrorResume(ExceptionOnOverload.class, e ->
+            attempt < BatchGenerator.MAX_ATTEMPTS_ON_OVERLOAD
+                ? Mono.delay(e.getRetryAfter()).then(generateItem(index, item, attempt + 1))
+                : Mono.just(batchGenerator.reject(index, item, e)));
+  }
+
+  private InputData readItem(String line) {
+
+    try {
+      return objectMapper.readValue(line, InputData.class);
+    }
+    catch (JsonProcessingException e) {
+      logger.error("Malformed batch item: {}", e.getOriginalMessage());
+      return null;
+    }
+  }
+}
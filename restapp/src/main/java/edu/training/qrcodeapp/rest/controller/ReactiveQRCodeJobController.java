@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import edu.training.qrcodeapp.model.Error;
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.Job;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob.State;
+import edu.training.qrcodeapp.rest.service.job.JobManager;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.Executor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Controller of the asynchronous generation jobs of the reactive variant of the REST layer, see
+ * {@link QRCodeJobController} for the servlet based one.
+ * <p>
+ * Jobs are persisted and their results read on Reactor's bounded elastic scheduler, since both
+ * are blocking file I/O.
+ */
+@RestController()
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+@RequestMapping("/api/v1/qrcode/jobs")
+public class ReactiveQRCodeJobController {
+
+  private final Logger logger = LoggerFactory.getLogger(ReactiveQRCodeJobController.class);
+
+  private final Executor blockingExecutor = Schedulers.boundedElastic()::schedule;
+
+  @Autowired
+  private JobManager jobManager;
+
+  @Autowired
+  private GenerationMetrics metrics;
+
+  @Value("${qrcode.jobs.max-items:200000}")
+  private int jobMaxItems;
+
+  /**
+   * Submits a job generating the QR codes for the given batch of input data.
+   *
+   * @param items Input data items sent in the body of the request
+   * @return {@link ResponseEntity} containing the status of the accepted job
+   * @throws ExceptionOnGeneration in case the batch is invalid
+   */
+  @CrossOrigin(origins = "*")
+  @PostMapping
+  public Mono<ResponseEntity<Job>> submitJob(@RequestBody List<InputData> items)
+      throws ExceptionOnGeneration {
+
+    InputDataValidator.INSTANCE.validateBatch(items, jobMaxItems);
+
+    return Mono.fromCallable(() -> jobManager.submit(items))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(job -> new ResponseEntity<>(QRCodeJobController.toJob(job), HttpStatus.ACCEPTED));
+  }
+
+  /**
+   * Gets the status of the given job.
+   *
+   * @param jobId Job identifier
+   * @return {@link ResponseEntity} containing the status of the job
+   * @throws ExceptionOnGeneration in case the job does not exist
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping("/{jobId}")
+  public ResponseEntity<Job> getJob(@PathVariable String jobId) throws ExceptionOnGeneration {
+
+    return new ResponseEntity<>(QRCodeJobController.toJob(findJob(jobId)), HttpStatus.OK);
+  }
+
+  /**
+   * Streams the results of the given job as a ZIP archive.
+   *
+   * @param jobId    Job identifier
+   * @param response Response the archive chunks are allocated for
+   * @return {@link ResponseEntity} containing the streamed archive
+   * @throws ExceptionOnGeneration in case the job does not exist or is not completed
+   */
+  @CrossOrigin(origins = "*")
+  @GetMapping(value = "/{jobId}/result", produces = QRCodeGeneratorController.APPLICATION_ZIP_VALUE)
+  public ResponseEntity<Flux<DataBuffer>> getJobResult(@PathVariable String jobId,
+      ServerHttpResponse response) throws ExceptionOnGeneration {
+
+    GenerationJob job = findJob(jobId);
+
+    if (job.getState() != State.COMPLETED) {
+      throw new ExceptionOnGeneration(ErrorCode.JOB_NOT_COMPLETED);
+    }
+
+    Flux<DataBuffer> body = Flux.from(DataBufferUtils.outputStreamPublisher(output -> {
+      try {
+        jobManager.writeResults(job, output);
+      }
+      catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }, response.bufferFactory(), blockingExecutor));
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename(jobId + ".zip").build().toString())
+        .body(body);
+  }
+
+  /**
+   * Maps failures to their HTTP status, with the error information as JSON.
+   *
+   * @param e Failure
+   * @return {@link ResponseEntity} containing the error information
+   */
+  @ExceptionHandler(ExceptionOnGeneration.class)
+  public ResponseEntity<Error> handleFailure(ExceptionOnGeneration e) {
+
+    logger.error("QR Code job operation failed: {}", e.getMessage());
+    metrics.recordError(e);
+
+    return ResponseEntity.status(QRCodeJobController.toHttpStatus(e.getErrorCode()))
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(QRCodeGeneratorController.createError(e.getMessage()));
+  }
+
+  private GenerationJob findJob(String jobId) throws ExceptionOnGeneration {
+
+    return jobManager.getJob(jobId)
+        .orElseThrow(() -> new ExceptionOnGeneration(ErrorCode.UNKNOWN_JOB));
+  }
+}
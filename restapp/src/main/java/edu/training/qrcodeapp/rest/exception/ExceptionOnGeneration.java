@@ -32,6 +32,8 @@ public class ExceptionOnGeneration extends Exception {
 
   private final String message;
 
+  private final ErrorCode errorCode;
+
   /**
    * Constructor.
    *
@@ -41,6 +43,7 @@ public class ExceptionOnGeneration extends Exception {
 
     super(cause);
     this.message = cause.getMessage();
+    this.errorCode = null;
   }
 
   /**
@@ -51,6 +54,19 @@ public class ExceptionOnGeneration extends Exception {
   public ExceptionOnGeneration(ErrorCode errorCode) {
 
     this.message = errorCode.getErrorDescription();
+    this.errorCode = errorCode;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param errorCode {@link ErrorCode} whose description is a format string
+   * @param arguments Arguments referenced by the format specifiers in the description
+   */
+  public ExceptionOnGeneration(ErrorCode errorCode, Object... arguments) {
+
+    this.message = String.format(errorCode.getErrorDescription(), arguments);
+    this.errorCode = errorCode;
   }
 
   /**
@@ -61,6 +77,7 @@ public class ExceptionOnGeneration extends Exception {
   public ExceptionOnGeneration(String error) {
 
     this.message = error;
+    this.errorCode = null;
   }
 
   @Override
@@ -69,6 +86,14 @@ public class ExceptionOnGeneration extends Exception {
     return message;
   }
 
+  /**
+   * @return {@link ErrorCode} of the failure, if created out of one; null, otherwise.
+   */
+  public ErrorCode getErrorCode() {
+
+    return errorCode;
+  }
+
   /**
    * Defines the valid error codes in case of failure of QR code generation.
    */
@@ -76,7 +101,18 @@ public class ExceptionOnGeneration extends Exception {
 
     NULL_INPUT("Input URL is null"),
     EMPTY_INPUT("Input URL is empty"),
-    INVALID_SIZE("Size must be between %d and %d");
+    INVALID_SIZE("Size must be between %d and %d"),
+    INVALID_PROFILE("Profile must be one of: %s"),
+    EMPTY_BATCH("Batch has no items"),
+    BATCH_TOO_LARGE("Batch must not have more than %d items"),
+    INVALID_BATCH_ITEM("Batch item %d is invalid: %s"),
+    MALFORMED_BATCH_ITEM("Batch item is malformed"),
+    INVALID_URL_TEMPLATE("URL template must contain the %s placeholder"),
+    INVALID_ID_RANGE("IDs must be given either as a range from first to last ID or as a list"),
+    UNKNOWN_JOB("Job does not exist"),
+    JOB_NOT_COMPLETED("Job is not completed yet"),
+    OVERLOADED("Too many QR codes are being generated, retry later"),
+    PIXEL_BUDGET_EXHAUSTED("Too many large QR codes are being generated, retry later");
 
     private final String errorDescription;
 
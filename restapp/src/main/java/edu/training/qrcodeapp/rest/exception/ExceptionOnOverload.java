@@ -0,0 +1,58 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a QR code generation is rejected rather than queued, as too many of them,
+ * or too large ones, are in progress already.
+ * <p>
+ * Nothing is wrong with the input, the very same generation succeeds once retried later.
+ */
+public class ExceptionOnOverload extends ExceptionOnGeneration {
+
+  private final Duration retryAfter;
+
+  /**
+   * Constructor.
+   *
+   * @param errorCode  {@link ErrorCode} of the limit that was reached
+   * @param retryAfter Estimated time until the generation may be retried
+   */
+  public ExceptionOnOverload(ErrorCode errorCode, Duration retryAfter) {
+
+    super(errorCode);
+    this.retryAfter = retryAfter;
+  }
+
+  /**
+   * @return Estimated time until the generation may be retried
+   */
+  public Duration getRetryAfter() {
+
+    return retryAfter;
+  }
+}
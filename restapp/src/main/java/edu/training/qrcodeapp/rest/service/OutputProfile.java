@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+
+/**
+ * Named trade-offs between CPU time and size of the generated PNG images.
+ * <p>
+ * Images are always 1-bit grayscale, the smallest bit depth there is, and scanlines are never
+ * filtered: every row of modules repeats the same scanline, which deflate already matches at one
+ * scanline distance, while the Up filter was measured to make images larger. So profiles only
+ * differ in how scanlines are deflated. Their latency and size are measured by the
+ * {@code OutputProfileBenchmark}.
+ * <p>
+ * There is no profile beyond the default compression level: neither the best compression level
+ * nor the filtered strategy was measured to make images meaningfully smaller, only slower.
+ */
+public enum OutputProfile {
+
+  // lowest latency, e.g., for interactive pages
+  FAST(Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY),
+  // default trade-off, smallest images
+  BALANCED(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+
+  private final int compressionLevel;
+
+  private final int compressionStrategy;
+
+  /**
+   * Constructor.
+   *
+   * @param compressionLevel    Deflate compression level, see {@link Deflater#setLevel(int)}
+   * @param compressionStrategy Deflate strategy, see {@link Deflater#setStrategy(int)}
+   */
+  OutputProfile(int compressionLevel, int compressionStrategy) {
+
+    this.compressionLevel = compressionLevel;
+    this.compressionStrategy = compressionStrategy;
+  }
+
+  /**
+   * @param value Name of the profile, case-insensitive
+   * @return Profile of the given name, {@link #BALANCED} if no name is given
+   * @throws ExceptionOnGeneration in case there is no profile of the given name
+   */
+  public static OutputProfile fromValue(String value) throws ExceptionOnGeneration {
+
+    if (value == null) {
+      return BALANCED;
+    }
+
+    for (OutputProfile profile : values()) {
+      if (profile.name().equalsIgnoreCase(value)) {
+        return profile;
+      }
+    }
+
+    throw new ExceptionOnGeneration(ErrorCode.INVALID_PROFILE, Arrays.stream(values())
+        .map(OutputProfile::getValue).collect(Collectors.joining(", ")));
+  }
+
+  /**
+   * @return Name of the profile as given in requests
+   */
+  public String getValue() {
+
+    return name().toLowerCase(Locale.ROOT);
+  }
+
+  public int getCompressionLevel() {
+
+    return compressionLevel;
+  }
+
+  public int getCompressionStrategy() {
+
+    return compressionStrategy;
+  }
+}
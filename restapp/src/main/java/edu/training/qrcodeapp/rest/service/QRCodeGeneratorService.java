@@ -52,7 +52,11 @@ public interface QRCodeGeneratorService {
   }
 
   /**
-   * Generates a QR code for the given input URL and size, i.e., height and width values in pixels.
+   * Generates a QR code for the given input URL and size, i.e., height and width values in pixels,
+   * with the {@link OutputProfile#BALANCED} profile.
+   * <p>
+   * This is a default implementation that will simply make use of other
+   * specific implementations.
    *
    * @param url  URL to be used as the input for the QR code generation
    * @param size both height and width values in pixels
@@ -60,5 +64,67 @@ public interface QRCodeGeneratorService {
    * @throws ExceptionOnGeneration in case of any failure during generation, this exception
    *                               encapsulates the original error
    */
-  byte[] generateQRCodeBytes(String url, int size) throws ExceptionOnGeneration;
+  default byte[] generateQRCodeBytes(String url, int size) throws ExceptionOnGeneration {
+
+    return generateQRCodeBytes(url, size, OutputProfile.BALANCED);
+  }
+
+  /**
+   * Generates a QR code for the given input URL and size, i.e., height and width values in pixels.
+   *
+   * @param url     URL to be used as the input for the QR code generation
+   * @param size    both height and width values in pixels
+   * @param profile trade-off between generation time and size of the image
+   * @return QR code as array of bytes
+   * @throws ExceptionOnGeneration in case of any failure during generation, this exception
+   *                               encapsulates the original error
+   */
+  byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration;
+
+  /**
+   * Generates a QR code for the given input URL as SVG image.
+   * <p>
+   * The image is drawn in modules rather than pixels, so the same document fits any display size.
+   *
+   * @param url     URL to be used as the input for the QR code generation
+   * @param gzipped whether the image is gzip-compressed, e.g., for clients accepting that encoding
+   * @return SVG image as array of bytes, UTF-8 encoded
+   * @throws ExceptionOnGeneration in case of any failure during generation, this exception
+   *                               encapsulates the original error
+   */
+  byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration;
+
+  /**
+   * Generates the module grid of a QR code for the given input URL, for clients that draw it
+   * themselves.
+   * <p>
+   * The first byte is the QR code version and the second one the number of modules per side.
+   * Modules follow row by row, one bit each, most significant bit first, set for dark modules.
+   *
+   * @param url URL to be used as the input for the QR code generation
+   * @return Packed module grid as array of bytes
+   * @throws ExceptionOnGeneration in case of any failure during generation, this exception
+   *                               encapsulates the original error
+   */
+  byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration;
+
+  /**
+   * Prepares a large QR code for the given input URL and size, e.g., for print, to be written as
+   * PNG image into a stream.
+   * <p>
+   * Sizes go far beyond the ones of {@link #generateQRCodeBytes(String, int, OutputProfile)}, as no
+   * more than a few scanlines of the image are held in memory at any time. The input is validated
+   * and encoded right away, so that failures are reported before anything is written, while the
+   * image is only rendered by {@link QRCodePoster#writeTo}. It is not cached.
+   *
+   * @param url     URL to be used as the input for the QR code generation
+   * @param size    both height and width values in pixels
+   * @param profile trade-off between generation time and size of the image
+   * @return Poster ready to be written
+   * @throws ExceptionOnGeneration in case of any failure during validation or encoding, this
+   *                               exception encapsulates the original error
+   */
+  QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration;
 }
@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Large QR code, e.g., for print, whose input is validated and encoded already, but which is only
+ * rendered when written, see
+ * {@link QRCodeGeneratorService#createQRCodePoster(String, int, OutputProfile)}.
+ */
+@FunctionalInterface
+public interface QRCodePoster {
+
+  /**
+   * Writes the PNG image into the given stream as it is generated.
+   * <p>
+   * No more than a few scanlines of the image are held in memory at any time, whatever its size.
+   *
+   * @param output Target stream, which is not closed
+   * @return Number of bytes written
+   * @throws IOException in case the image cannot be written into the stream
+   */
+  long writeTo(OutputStream output) throws IOException;
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+/**
+ * Concurrency limit adapted to the observed latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ * <p>
+ * Two moving averages of the latency are kept: a short one, of the last few samples, and a long
+ * one, of the last hundreds. When the short one rises above the long one, beyond some tolerance,
+ * requests are queueing up for the CPU and the limit is lowered in proportion. Otherwise, it grows
+ * by the square root of itself, probing for more capacity. The limit only changes while it is
+ * actually used, at least half of it, as latencies say nothing about the capacity otherwise.
+ *
+ * @see <a href="https://github.com/Netflix/concurrency-limits">concurrency-limits</a>
+ */
+public class AdaptiveConcurrencyLimit {
+
+  // short average over about 10 samples, long one over about 500
+  private static final double SHORT_SMOOTHING = 2.0 / 11;
+  private static final double LONG_SMOOTHING = 2.0 / 501;
+  // short latency tolerated above the long one before the limit is lowered
+  private static final double TOLERANCE = 1.5;
+  // share of a new estimate blended into the limit
+  private static final double LIMIT_SMOOTHING = 0.2;
+
+  private final int minLimit;
+
+  private final int maxLimit;
+
+  private double limit;
+
+  private double shortLatency;
+
+  private double longLatency;
+
+  /**
+   * Constructor.
+   *
+   * @param initialLimit Limit until latencies are observed
+   * @param minLimit     Lower bound of the limit
+   * @param maxLimit     Upper bound of the limit
+   */
+  public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+  }
+
+  /**
+   * Adapts the limit to the latency of a completed request.
+   *
+   * @param latency  Latency of the request, in nanoseconds, possibly normalized by its cost
+   * @param inFlight Number of requests in flight when it was completed, itself included
+   */
+  public synchronized void onSample(double latency, int inFlight) {
+
+    if (longLatency == 0) {
+      shortLatency = latency;
+      longLatency = latency;
+    }
+    else {
+      shortLatency += (latency - shortLatency) * SHORT_SMOOTHING;
+      longLatency += (latency - longLatency) * LONG_SMOOTHING;
+    }
+
+    // latencies back to normal after an overload, the long average catches up faster
+    if (longLatency > 2 * shortLatency) {
+      longLatency *= 0.95;
+    }
+
+    if (inFlight < limit / 2) {
+      return;
+    }
+
+    double gradient = Math.clamp(TOLERANCE * longLatency / shortLatency, 0.5, 1.0);
+    double estimate = limit * gradient + Math.sqrt(limit);
+
+    limit = Math.clamp(limit * (1 - LIMIT_SMOOTHING) + estimate * LIMIT_SMOOTHING, minLimit,
+        maxLimit);
+  }
+
+  /**
+   * @return Current limit of requests in flight
+   */
+  public synchronized int getLimit() {
+
+    return (int) limit;
+  }
+
+  /**
+   * @return Long moving average of the latency, in nanoseconds, 0 until a sample is observed
+   */
+  public synchronized double getLatency() {
+
+    return longLatency;
+  }
+}
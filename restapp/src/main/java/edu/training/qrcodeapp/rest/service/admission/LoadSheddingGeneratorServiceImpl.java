@@ -0,0 +1,212 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator of {@link QRCodeGeneratorService} that admits generations within limits and rejects
+ * the other ones right away, rather than queueing them until latencies explode.
+ * <p>
+ * Two limits apply: the number of generations in flight, adapted to their latency by
+ * {@link AdaptiveConcurrencyLimit}, and the number of pixels being rendered, as the time and
+ * memory a PNG image takes grow with its area. A generation larger than the pixel budget on its
+ * own is still admitted when nothing else is in flight. Rejections are {@link ExceptionOnOverload}
+ * with an estimate of when to retry, and are recorded in {@link GenerationMetrics}.
+ * <p>
+ * It sits right above the actual generation, so QR codes found in a cache, or being generated for
+ * a concurrent request already, are never rejected. Posters are not admission controlled: they
+ * only hold a few scanlines whatever their size, and are rendered once their response is
+ * committed, long after they are created.
+ */
+public class LoadSheddingGeneratorServiceImpl implements QRCodeGeneratorService {
+
+  // area of the default size, latencies are normalized to it for the limit to compare them
+  private static final long REFERENCE_PIXELS =
+      (long) QRCodeGeneratorService.DEFAULT_SIZE * QRCodeGeneratorService.DEFAULT_SIZE;
+
+  private static final Duration MIN_RETRY_AFTER = Duration.ofMillis(1);
+
+  private final Logger logger = LoggerFactory.getLogger(LoadSheddingGeneratorServiceImpl.class);
+
+  private final QRCodeGeneratorService delegate;
+
+  private final AdaptiveConcurrencyLimit limit;
+
+  private final long maxPixels;
+
+  private final GenerationMetrics metrics;
+
+  private int inFlight;
+
+  private long pixelsInFlight;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate  Service that actually generates the QR codes
+   * @param limit     Adaptive limit of generations in flight
+   * @param maxPixels Upper limit of pixels being rendered at the same time
+   * @param metrics   Metrics the rejections are recorded in
+   */
+  public LoadSheddingGeneratorServiceImpl(QRCodeGeneratorService delegate,
+      AdaptiveConcurrencyLimit limit, long maxPixels, GenerationMetrics metrics) {
+
+    this.delegate = delegate;
+    this.limit = limit;
+    this.maxPixels = maxPixels;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    // invalid sizes are weighed as the largest valid one, the delegate rejects them anyway
+    long side = Math.clamp(size, 0, InputDataValidator.MAX_SIZE);
+
+    return generateAdmitted(side * side, () -> delegate.generateQRCodeBytes(url, size, profile));
+  }
+
+  @Override
+  public byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration {
+
+    return generateAdmitted(0, () -> delegate.generateQRCodeSvg(url, gzipped));
+  }
+
+  @Override
+  public byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration {
+
+    return generateAdmitted(0, () -> delegate.generateQRCodeModules(url));
+  }
+
+  @Override
+  public QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return delegate.createQRCodePoster(url, size, profile);
+  }
+
+  /**
+   * @return Current limit of generations in flight
+   */
+  public int getLimit() {
+
+    return limit.getLimit();
+  }
+
+  /**
+   * @return Number of generations in flight
+   */
+  public synchronized int getInFlight() {
+
+    return inFlight;
+  }
+
+  /**
+   * @return Number of pixels being rendered
+   */
+  public synchronized long getPixelsInFlight() {
+
+    return pixelsInFlight;
+  }
+
+  private byte[] generateAdmitted(long pixels, Generation generation)
+      throws ExceptionOnGeneration {
+
+    int admitted = admit(pixels);
+    long start = System.nanoTime();
+    boolean success = false;
+
+    try {
+      byte[] result = generation.generate();
+      success = true;
+      return result;
+    }
+    finally {
+      release(pixels);
+
+      // failures, mostly invalid input, say nothing about the capacity
+      if (success) {
+        double units = Math.max(1.0, (double) pixels / REFERENCE_PIXELS);
+        limit.onSample((System.nanoTime() - start) / units, admitted);
+      }
+    }
+  }
+
+  // number of generations in flight once admitted, this one included
+  private synchronized int admit(long pixels) throws ExceptionOnOverload {
+
+    ErrorCode rejection = null;
+
+    if (inFlight >= limit.getLimit()) {
+      rejection = ErrorCode.OVERLOADED;
+    }
+    else if (inFlight > 0 && pixelsInFlight + pixels > maxPixels) {
+      rejection = ErrorCode.PIXEL_BUDGET_EXHAUSTED;
+    }
+
+    if (rejection != null) {
+      logger.debug("QR Code generation rejected, {} in flight", inFlight);
+
+      ExceptionOnOverload failure = new ExceptionOnOverload(rejection, getRetryAfter());
+      metrics.recordError(failure);
+      throw failure;
+    }
+
+    pixelsInFlight += pixels;
+    return ++inFlight;
+  }
+
+  private synchronized void release(long pixels) {
+
+    pixelsInFlight -= pixels;
+    inFlight--;
+  }
+
+  // about when a generation in flight completes, i.e., when there is room again
+  private Duration getRetryAfter() {
+
+    Duration latency = Duration.ofNanos((long) limit.getLatency());
+
+    return latency.compareTo(MIN_RETRY_AFTER) > 0 ? latency : MIN_RETRY_AFTER;
+  }
+
+  @FunctionalInterface
+  private interface Generation {
+
+    byte[] generate() throws ExceptionOnGeneration;
+  }
+}
@@ -0,0 +1,149 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Admission control of the renders handed to a scheduler with a bounded number of threads, as in
+ * the reactive variant of the REST layer.
+ * <p>
+ * Requests served by an event loop do not hold a thread of their own: they wait in the queue of
+ * the render scheduler, so no more generations than render threads are ever in flight in
+ * {@link LoadSheddingGeneratorServiceImpl}, and its limit is never reached. Renders are therefore
+ * admitted before being handed to the scheduler, against an {@link AdaptiveConcurrencyLimit} fed
+ * with latencies that include the wait for a render thread.
+ * <p>
+ * Everything waits in the same queue, so renders served from a cache are admission controlled as
+ * well. Rejections are {@link ExceptionOnOverload} with an estimate of when to retry, and are
+ * recorded in {@link GenerationMetrics}.
+ */
+public class RenderQueueAdmission {
+
+  private static final Duration MIN_RETRY_AFTER = Duration.ofMillis(1);
+
+  private final Logger logger = LoggerFactory.getLogger(RenderQueueAdmission.class);
+
+  private final AdaptiveConcurrencyLimit limit;
+
+  private final GenerationMetrics metrics;
+
+  private int inFlight;
+
+  /**
+   * Constructor.
+   *
+   * @param limit   Adaptive limit of renders queued or in progress
+   * @param metrics Metrics the rejections are recorded in
+   */
+  public RenderQueueAdmission(AdaptiveConcurrencyLimit limit, GenerationMetrics metrics) {
+
+    this.limit = limit;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Admits a render about to be handed to the scheduler.
+   *
+   * @return Permit to be released once the render is over
+   * @throws ExceptionOnOverload in case the limit of renders queued or in progress is reached
+   */
+  public synchronized Permit admit() throws ExceptionOnOverload {
+
+    if (inFlight >= limit.getLimit()) {
+      logger.debug("QR Code render rejected, {} queued or in progress", inFlight);
+
+      ExceptionOnOverload failure = new ExceptionOnOverload(ErrorCode.OVERLOADED,
+          getRetryAfter());
+      metrics.recordError(failure);
+      throw failure;
+    }
+
+    return new Permit(++inFlight, System.nanoTime());
+  }
+
+  /**
+   * @return Current limit of renders queued or in progress
+   */
+  public int getLimit() {
+
+    return limit.getLimit();
+  }
+
+  /**
+   * @return Number of renders queued or in progress
+   */
+  public synchronized int getInFlight() {
+
+    return inFlight;
+  }
+
+  private synchronized void release() {
+
+    inFlight--;
+  }
+
+  // about when a render admitted now would complete, i.e., when there is room again
+  private Duration getRetryAfter() {
+
+    Duration latency = Duration.ofNanos((long) limit.getLatency());
+
+    return latency.compareTo(MIN_RETRY_AFTER) > 0 ? latency : MIN_RETRY_AFTER;
+  }
+
+  /**
+   * Admission of a single render, to be released exactly once.
+   */
+  public final class Permit {
+
+    private final int admitted;
+
+    private final long start;
+
+    private Permit(int admitted, long start) {
+
+      this.admitted = admitted;
+      this.start = start;
+    }
+
+    /**
+     * @param completed Whether the render completed, failures and cancellations say nothing about
+     *                  the capacity
+     */
+    public void release(boolean completed) {
+
+      RenderQueueAdmission.this.release();
+
+      if (completed) {
+        limit.onSample(System.nanoTime() - start, admitted);
+      }
+    }
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates QR codes for many input items in parallel, delivering the results either in input
+ * order or in completion order.
+ * <p>
+ * At most a fixed window of items is in flight at any time: the next item is only submitted once
+ * a result was handed over. Memory then stays flat regardless of the batch size, and a slow
+ * consumer throttles the generation instead of letting results pile up.
+ * <p>
+ * Items rejected by admission control are submitted again after the delay it suggests, a few
+ * times, before being reported as failed. The delay is waited for by the thread delivering the
+ * results, never by a render thread.
+ */
+@Component
+public class BatchGenerator {
+
+  private final Logger logger = LoggerFactory.getLogger(BatchGenerator.class);
+
+  /**
+   * Attempts of an item rejected by admission control before it is reported as failed.
+   */
+  public static final int MAX_ATTEMPTS_ON_OVERLOAD = 5;
+
+  @Autowired
+  private QRCodeGeneratorService generatorService;
+
+  @Autowired
+  private GenerationMetrics metrics;
+
+  @Autowired
+  @Qualifier("renderExecutor")
+  private ExecutorService renderExecutor;
+
+  @Value("${qrcode.batch.window:0}")
+  private int window;
+
+  /**
+   * Generates the QR codes of the given items, delivering the results in input order.
+   *
+   * @param items    Input items, consumed lazily
+   * @param consumer Receives one result per item, in input order
+   * @throws IOException in case the consumer fails, remaining items are then cancelled
+   */
+  public void generate(Iterator<InputData> items, BatchResultConsumer consumer)
+      throws IOException {
+
+    Function<Callable<BatchResult>, Future<BatchResult>> submitter = renderExecutor::submit;
+    Deque<Attempt> inFlight = new ArrayDeque<>();
+    int maxInFlight = getWindow();
+    int index = 0;
+
+    try {
+
+      while (items.hasNext()) {
+
+        if (inFlight.size() == maxInFlight) {
+          consumer.accept(awaitFirst(inFlight, submitter));
+        }
+
+        inFlight.add(submit(index++, items.next(), 1, submitter));
+      }
+
+      while (!inFlight.isEmpty()) {
+        consumer.accept(awaitFirst(inFlight, submitter));
+      }
+    }
+    finally {
+      // only non-empty in case of failure, e.g., client went away
+      inFlight.forEach(attempt -> attempt.future().cancel(true));
+    }
+
+    logger.debug("Batch of {} items generated", index);
+  }
+
+  /**
+   * Generates the QR codes of the given items, delivering each result as soon as it is ready.
+   *
+   * @param items    Input items, consumed lazily; null items stand for malformed input
+   * @param consumer Receives one result per item, in completion order
+   * @throws IOException in case the consumer fails, remaining items are then cancelled
+   */
+  public void generateUnordered(Iterator<InputData> items, BatchResultConsumer consumer)
+      throws IOException {
+
+    CompletionService<BatchResult> completionService =
+        new ExecutorCompletionService<>(renderExecutor);
+    Function<Callable<BatchResult>, Future<BatchResult>> submitter = completionService::submit;
+    Map<Future<BatchResult>, Attempt> inFlight = new HashMap<>();
+    int maxInFlight = getWindow();
+    int index = 0;
+
+    try {
+
+      while (items.hasNext()) {
+
+        if (inFlight.size() == maxInFlight) {
+          consumer.accept(awaitNext(completionService, inFlight, submitter));
+        }
+
+        Attempt attempt = submit(index++, items.next(), 1, submitter);
+        inFlight.put(attempt.future(), attempt);
+      }
+
+      while (!inFlight.isEmpty()) {
+        consumer.accept(awaitNext(completionService, inFlight, submitter));
+      }
+    }
+    finally {
+      inFlight.keySet().forEach(future -> future.cancel(true));
+    }
+
+    logger.debug("Batch of {} items generated", index);
+  }
+
+  /**
+   * Generates the QR code of a single item, capturing any failure in the result but a rejection
+   * by admission control, so that the caller may retry the item later.
+   *
+   * @param index Position of the item in the batch
+   * @param item  Input item, null in case it is malformed
+   * @return Result of the item
+   * @throws ExceptionOnOverload in case the generation is rejected by admission control, see
+   *                             {@link #reject(int, InputData, ExceptionOnOverload)}
+   */
+  public BatchResult generate(int index, InputData item) throws ExceptionOnOverload {
+
+    if (item == null) {
+      metrics.recordError(ErrorCode.MALFORMED_BATCH_ITEM);
+      return new BatchResult(index, null, 0, null, ErrorCode.MALFORMED_BATCH_ITEM
+          .getErrorDescription());
+    }
+
+    String url = item.getUrl();
+    int size = Objects.requireNonNullElse(item.getSize(), QRCodeGeneratorService.DEFAULT_SIZE);
+
+    try {
+      byte[] output = Objects.isNull(item.getProfile())
+          ? generatorService.generateQRCodeBytes(url, size)
+          : generatorService.generateQRCodeBytes(url, size,
+              OutputProfile.fromValue(item.getProfile()));
+
+      return new BatchResult(index, url, size, output, null);
+    }
+    catch (ExceptionOnOverload e) {
+      throw e;
+    }
+    catch (ExceptionOnGeneration e) {
+      logger.error("QR Code generation failed for batch item {}", index);
+      return new BatchResult(index, url, size, null, e.getMessage());
+    }
+  }
+
+  /**
+   * Reports a single item as failed, once it was rejected by admission control on every attempt.
+   *
+   * @param index Position of the item in the batch
+   * @param item  Input item
+   * @param e     Last rejection of the item
+   * @return Result of the item
+   */
+  public BatchResult reject(int index, InputData item, ExceptionOnOverload e) {
+
+    logger.error("QR Code generation rejected for batch item {}", index);
+    return new BatchResult(index, item.getUrl(),
+        Objects.requireNonNullElse(item.getSize(), QRCodeGeneratorService.DEFAULT_SIZE), null,
+        e.getMessage());
+  }
+
+  /**
+   * @return Maximum number of items in flight, twice the number of processors by default
+   */
+  public int getWindow() {
+
+    return window > 0 ? window : Runtime.getRuntime().availableProcessors() * 2;
+  }
+
+  private Attempt submit(int index, InputData item, int number,
+      Function<Callable<BatchResult>, Future<BatchResult>> submitter) {
+
+    return new Attempt(index, item, number, submitter.apply(() -> generate(index, item)));
+  }
+
+  private BatchResult awaitFirst(Deque<Attempt> inFlight,
+      Function<Callable<BatchResult>, Future<BatchResult>> submitter) throws IOException {
+
+    Attempt attempt = inFlight.poll();
+
+    while (true) {
+      try {
+        return await(attempt.future());
+      }
+      catch (ExceptionOnOverload e) {
+        if (attempt.number() >= MAX_ATTEMPTS_ON_OVERLOAD) {
+          return reject(attempt.index(), attempt.item(), e);
+        }
+
+        backOff(e.getRetryAfter());
+        attempt = submit(attempt.index(), attempt.item(), attempt.number() + 1, submitter);
+      }
+    }
+  }
+
+  private BatchResult awaitNext(CompletionService<BatchResult> completionService,
+      Map<Future<BatchResult>, Attempt> inFlight,
+      Function<Callable<BatchResult>, Future<BatchResult>> submitter) throws IOException {
+
+    while (true) {
+
+      Attempt attempt;
+
+      try {
+        attempt = inFlight.remove(completionService.take());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Batch generation interrupted");
+      }
+
+      try {
+        return await(attempt.future());
+      }
+      catch (ExceptionOnOverload e) {
+        if (attempt.number() >= MAX_ATTEMPTS_ON_OVERLOAD) {
+          return reject(attempt.index(), attempt.item(), e);
+        }
+
+        // results completed meanwhile wait in the completion service
+        backOff(e.getRetryAfter());
+        Attempt retry = submit(attempt.index(), attempt.item(), attempt.number() + 1, submitter);
+        inFlight.put(retry.future(), retry);
+      }
+    }
+  }
+
+  private static BatchResult await(Future<BatchResult> future)
+      throws IOException, ExceptionOnOverload {
+
+    try {
+      return future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Batch generation interrupted");
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof ExceptionOnOverload overload) {
+        throw overload;
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  // waited for by the thread delivering the results, render threads are free meanwhile
+  private static void backOff(Duration retryAfter) throws InterruptedIOException {
+
+    try {
+      Thread.sleep(retryAfter);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Batch generation interrupted");
+    }
+  }
+
+  /**
+   * Item in flight, along with the number of its current attempt.
+   */
+  private record Attempt(int index, InputData item, int number, Future<BatchResult> future) {
+
+  }
+
+  /**
+   * Receives the results of a batch generation.
+   */
+  @FunctionalInterface
+  public interface BatchResultConsumer {
+
+    /**
+     * @param result Result of one item
+     * @throws IOException in case the result cannot be handled, e.g., written to the client
+     */
+    void accept(BatchResult result) throws IOException;
+  }
+}
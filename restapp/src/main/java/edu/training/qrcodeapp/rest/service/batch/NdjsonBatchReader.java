@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.model.InputData;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads batch items from newline-delimited JSON, one {@link InputData} per line, as they are
+ * requested, so the input is never fully held in memory.
+ * <p>
+ * Blank lines are skipped. A line that cannot be parsed is returned as null item, which
+ * {@link BatchGenerator} reports as a malformed item.
+ */
+public class NdjsonBatchReader implements Iterator<InputData> {
+
+  private final Logger logger = LoggerFactory.getLogger(NdjsonBatchReader.class);
+
+  private final BufferedReader reader;
+
+  private final ObjectMapper objectMapper;
+
+  private String nextLine;
+
+  /**
+   * Constructor.
+   *
+   * @param input        Newline-delimited JSON input
+   * @param objectMapper Parser of every single line
+   */
+  public NdjsonBatchReader(InputStream input, ObjectMapper objectMapper) {
+
+    this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    try {
+
+      while (nextLine == null) {
+
+        String line = reader.readLine();
+
+        if (line == null) {
+          return false;
+        }
+
+        if (!line.isBlank()) {
+          nextLine = line;
+        }
+      }
+
+      return true;
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public InputData next() {
+
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    String line = nextLine;
+    nextLine = null;
+
+    try {
+      return objectMapper.readValue(line, InputData.class);
+    }
+    catch (JsonProcessingException e) {
+      logger.error("Malformed batch item: {}", e.getOriginalMessage());
+      return null;
+    }
+  }
+}
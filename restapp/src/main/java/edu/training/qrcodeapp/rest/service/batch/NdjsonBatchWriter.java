@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.model.BatchItemResult;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes batch results as newline-delimited JSON, one {@link BatchItemResult} per line.
+ * <p>
+ * The stream is flushed after every line, so clients get each result as soon as it is ready.
+ */
+public class NdjsonBatchWriter implements BatchGenerator.BatchResultConsumer {
+
+  private final OutputStream output;
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Constructor.
+   *
+   * @param output       Target stream, which is not closed
+   * @param objectMapper Serializer of every single line
+   */
+  public NdjsonBatchWriter(OutputStream output, ObjectMapper objectMapper) {
+
+    this.output = output;
+    this.objectMapper = objectMapper;
+  }
+
+  @Override
+  public void accept(BatchResult result) throws IOException {
+
+    output.write(objectMapper.writeValueAsBytes(toBatchItemResult(result)));
+    output.write('\n');
+    output.flush();
+  }
+
+  /**
+   * @param result Result of one item
+   * @return The given result as defined in the OpenAPI specification
+   */
+  public static BatchItemResult toBatchItemResult(BatchResult result) {
+
+    BatchItemResult line = new BatchItemResult();
+    line.setIndex(result.index());
+    line.setUrl(result.url());
+    line.setSize(result.size());
+    line.setOutput(result.output());
+    line.setError(result.error());
+    return line;
+  }
+}
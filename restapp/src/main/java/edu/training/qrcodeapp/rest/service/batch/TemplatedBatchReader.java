@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.TemplatedBatch;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Expands a batch of QR codes sharing a URL template into one {@link InputData} per ID, as they
+ * are requested, so a range of IDs of any length is never held in memory.
+ * <p>
+ * The batch is expected to be validated already, see
+ * {@link InputDataValidator#validateTemplatedBatch}.
+ */
+public class TemplatedBatchReader implements Iterator<InputData> {
+
+  private final TemplatedBatch batch;
+
+  private final Iterator<Long> ids;
+
+  private long nextId;
+
+  private long remainingIds;
+
+  /**
+   * Constructor.
+   *
+   * @param batch Validated templated batch
+   */
+  public TemplatedBatchReader(TemplatedBatch batch) {
+
+    this.batch = batch;
+    this.ids = batch.getFirstId() == null ? batch.getIds().iterator() : null;
+
+    if (ids == null) {
+      // counted down rather than compared to the last ID, which may be the largest long
+      this.nextId = batch.getFirstId();
+      this.remainingIds = batch.getLastId() - batch.getFirstId() + 1;
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    return ids != null ? ids.hasNext() : remainingIds > 0;
+  }
+
+  @Override
+  public InputData next() {
+
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+
+    long id;
+
+    if (ids != null) {
+      id = ids.next();
+    }
+    else {
+      id = nextId++;
+      remainingIds--;
+    }
+
+    InputData item = new InputData();
+    item.setUrl(batch.getUrlTemplate()
+        .replace(InputDataValidator.ID_PLACEHOLDER, Long.toString(id)));
+    item.setSize(batch.getSize());
+    item.setProfile(batch.getProfile());
+    return item;
+  }
+}
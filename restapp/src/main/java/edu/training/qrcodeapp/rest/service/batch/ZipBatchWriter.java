@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes batch results as entries of a ZIP archive.
+ * <p>
+ * PNG images are already deflated, so entries are STORED: compressing them again would cost CPU
+ * for no size gain. Each successful item becomes <code>qrcode-NNNNN.png</code> and each failed one
+ * <code>qrcode-NNNNN.error.txt</code> with the error message, where NNNNN is the item's position
+ * in the batch, starting at 1.
+ */
+public class ZipBatchWriter implements BatchGenerator.BatchResultConsumer, AutoCloseable {
+
+  private final ZipOutputStream zip;
+
+  /**
+   * Constructor.
+   *
+   * @param output Target stream, closed together with this writer
+   */
+  public ZipBatchWriter(OutputStream output) {
+
+    this.zip = new ZipOutputStream(output);
+    this.zip.setMethod(ZipOutputStream.STORED);
+  }
+
+  @Override
+  public void accept(BatchResult result) throws IOException {
+
+    String name = String.format("qrcode-%05d", result.index() + 1);
+
+    if (result.isSuccess()) {
+      writeEntry(name + ".png", result.output());
+      return;
+    }
+
+    writeEntry(name + ".error.txt", result.error().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    zip.close();
+  }
+
+  private void writeEntry(String name, byte[] content) throws IOException {
+
+    // STORED entries must declare size and checksum upfront
+    CRC32 crc = new CRC32();
+    crc.update(content);
+
+    ZipEntry entry = new ZipEntry(name);
+    entry.setSize(content.length);
+    entry.setCompressedSize(content.length);
+    entry.setCrc(crc.getValue());
+
+    zip.putNextEntry(entry);
+    zip.write(content);
+    zip.closeEntry();
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Caching decorator of {@link QRCodeGeneratorService}.
+ * <p>
+ * Generated QR codes are kept in memory per URL, size and variant, where SVG images and module
+ * grids are cached once whatever the size, as they scale to any of them. The cache is bounded by
+ * the total amount of bytes it holds and evicts entries with the frequency-aware W-TinyLFU policy
+ * of Caffeine, so a few very popular codes are not pushed out by a burst of one-off requests.
+ * Failed generations are never cached.
+ *
+ * @see <a href="https://github.com/ben-manes/caffeine/wiki/Efficiency">Caffeine efficiency</a>
+ */
+public class CachingGeneratorServiceImpl implements QRCodeGeneratorService {
+
+  // rough per entry overhead of the key, the map node and the array header, in bytes
+  static final int ENTRY_OVERHEAD = 96;
+
+  private final Logger logger = LoggerFactory.getLogger(CachingGeneratorServiceImpl.class);
+
+  private final QRCodeGeneratorService delegate;
+
+  private final Cache<RenderKey, byte[]> cache;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate Service that actually generates the QR codes
+   * @param maxBytes Upper limit of bytes held by the cache
+   */
+  public CachingGeneratorServiceImpl(QRCodeGeneratorService delegate, long maxBytes) {
+
+    this.delegate = delegate;
+    this.cache = Caffeine.newBuilder()
+        .maximumWeight(maxBytes)
+        .weigher((RenderKey key, byte[] value) -> weigh(key, value))
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, size, Variant.of(profile)),
+        () -> delegate.generateQRCodeBytes(url, size, profile));
+  }
+
+  @Override
+  public byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, 0, gzipped ? Variant.SVG_GZIP : Variant.SVG),
+        () -> delegate.generateQRCodeSvg(url, gzipped));
+  }
+
+  @Override
+  public byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, 0, Variant.MODULES),
+        () -> delegate.generateQRCodeModules(url));
+  }
+
+  // posters are streamed as they are generated, they never go through the cache
+  @Override
+  public QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return delegate.createQRCodePoster(url, size, profile);
+  }
+
+  /**
+   * @return Underlying cache, e.g., for binding it to metrics
+   */
+  public Cache<RenderKey, byte[]> getCache() {
+
+    return cache;
+  }
+
+  /**
+   * Lists the keys most likely to be requested again, as estimated by the frequency sketch of the
+   * eviction policy, e.g., for persisting the working set across restarts.
+   *
+   * @param limit Upper limit of keys
+   * @return Keys of the cached QR codes, hottest first
+   */
+  public List<RenderKey> getHottestKeys(int limit) {
+
+    return cache.policy().eviction()
+        .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+        .orElse(List.of());
+  }
+
+  /**
+   * @return Snapshot of the hit, miss and eviction counters
+   */
+  public CacheStats getStats() {
+
+    return cache.stats();
+  }
+
+  private byte[] getOrGenerate(RenderKey key, Generation generation)
+      throws ExceptionOnGeneration {
+
+    byte[] result = cache.getIfPresent(key);
+
+    if (result != null) {
+      logger.debug("QR Code found in cache");
+      return result;
+    }
+
+    // invalid input is rejected by the delegate, as such it never reaches the cache
+    result = generation.generate();
+    cache.put(key, result);
+
+    return result;
+  }
+
+  static int weigh(RenderKey key, byte[] value) {
+
+    return ENTRY_OVERHEAD + 2 * key.url().length() + value.length;
+  }
+
+  /**
+   * Cache key of a generated QR code.
+   *
+   * @param url     URL used as the input for the QR code generation
+   * @param size    both height and width values in pixels, 0 for scalable variants
+   * @param variant format and encoding of the generated image
+   */
+  public record RenderKey(String url, int size, Variant variant) {
+
+  }
+
+  /**
+   * Variants of generated images.
+   */
+  public enum Variant {
+
+    // PNG, one per output profile
+    PNG_FAST,
+    PNG,
+    SVG,
+    // SVG, gzip-compressed
+    SVG_GZIP,
+    // packed module grid
+    MODULES;
+
+    /**
+     * @param profile Output profile of a PNG image
+     * @return Variant of PNG images of the given profile
+     */
+    public static Variant of(OutputProfile profile) {
+
+      return switch (profile) {
+        case FAST -> PNG_FAST;
+        case BALANCED -> PNG;
+      };
+    }
+  }
+
+  @FunctionalInterface
+  interface Generation {
+
+    byte[] generate() throws ExceptionOnGeneration;
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Generation;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Variant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator of {@link QRCodeGeneratorService} that coalesces concurrent requests for the same QR
+ * code, so that it is generated only once while all of them wait for it, e.g., when a campaign
+ * goes live and hundreds of clients ask for the same URL at once.
+ * <p>
+ * The first request of a key generates it on its own thread, the following ones wait for its
+ * outcome, whether a QR code or a failure. Nothing is kept once the generation is over: it sits
+ * below the render cache, which keeps the QR code for the next requests, while failures are tried
+ * again. A waiting request that gets interrupted, e.g., cancelled, stops waiting, while the
+ * generation goes on for the others.
+ *
+ * @see <a href="https://pkg.go.dev/golang.org/x/sync/singleflight">singleflight</a>
+ */
+public class CoalescingGeneratorServiceImpl implements QRCodeGeneratorService {
+
+  private final Logger logger = LoggerFactory.getLogger(CoalescingGeneratorServiceImpl.class);
+
+  private final QRCodeGeneratorService delegate;
+
+  private final Map<RenderKey, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Constructor.
+   *
+   * @param delegate Service that actually generates the QR codes
+   */
+  public CoalescingGeneratorServiceImpl(QRCodeGeneratorService delegate) {
+
+    this.delegate = delegate;
+  }
+
+  @Override
+  public byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return generateOnce(new RenderKey(url, size, Variant.of(profile)),
+        () -> delegate.generateQRCodeBytes(url, size, profile));
+  }
+
+  @Override
+  public byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration {
+
+    return generateOnce(new RenderKey(url, 0, gzipped ? Variant.SVG_GZIP : Variant.SVG),
+        () -> delegate.generateQRCodeSvg(url, gzipped));
+  }
+
+  @Override
+  public byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration {
+
+    return generateOnce(new RenderKey(url, 0, Variant.MODULES),
+        () -> delegate.generateQRCodeModules(url));
+  }
+
+  // posters are rendered into each request's own stream, there is nothing to share
+  @Override
+  public QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return delegate.createQRCodePoster(url, size, profile);
+  }
+
+  /**
+   * @return Number of requests served by the generation of another one, since startup
+   */
+  public long getCoalescedCount() {
+
+    return coalesced.sum();
+  }
+
+  /**
+   * @return Number of QR codes being generated right now
+   */
+  public int getInFlightCount() {
+
+    return inFlight.size();
+  }
+
+  private byte[] generateOnce(RenderKey key, Generation generation)
+      throws ExceptionOnGeneration {
+
+    CompletableFuture<byte[]> flight = new CompletableFuture<>();
+    CompletableFuture<byte[]> leader = inFlight.putIfAbsent(key, flight);
+
+    if (leader != null) {
+      coalesced.increment();
+      logger.debug("QR Code already being generated, waiting for it");
+      return await(leader);
+    }
+
+    try {
+      byte[] result = generation.generate();
+      flight.complete(result);
+      return result;
+    }
+    catch (Throwable e) {
+      flight.completeExceptionally(e);
+      throw e;
+    }
+    finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private static byte[] await(CompletableFuture<byte[]> leader) throws ExceptionOnGeneration {
+
+    try {
+      return leader.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExceptionOnGeneration("Interrupted while waiting for the QR Code");
+    }
+    catch (ExecutionException e) {
+      // the very failure of the generation, already recorded in the metrics by the delegate
+      switch (e.getCause()) {
+        case ExceptionOnGeneration failure -> throw failure;
+        case RuntimeException failure -> throw failure;
+        case Error failure -> throw failure;
+        default -> throw new ExceptionOnGeneration(e.getCause());
+      }
+    }
+  }
+}
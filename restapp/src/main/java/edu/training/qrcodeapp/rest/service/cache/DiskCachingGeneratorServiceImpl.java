@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Generation;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Variant;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decorator of {@link QRCodeGeneratorService} that keeps generated QR codes in a
+ * {@link DiskRenderStore}, so that they survive restarts.
+ * <p>
+ * It sits between the in-memory cache of {@link CachingGeneratorServiceImpl} and the actual
+ * generation: QR codes evicted from memory, or not yet in memory after a restart, are read back
+ * from the store instead of being generated again. Keys are the same as the ones of the in-memory
+ * cache. Failing to write into the store never fails a generation.
+ */
+public class DiskCachingGeneratorServiceImpl implements QRCodeGeneratorService {
+
+  private final Logger logger = LoggerFactory.getLogger(DiskCachingGeneratorServiceImpl.class);
+
+  private final QRCodeGeneratorService delegate;
+
+  private final DiskRenderStore store;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate Service that actually generates the QR codes
+   * @param store    Store the generated QR codes are kept in
+   */
+  public DiskCachingGeneratorServiceImpl(QRCodeGeneratorService delegate, DiskRenderStore store) {
+
+    this.delegate = delegate;
+    this.store = store;
+  }
+
+  @Override
+  public byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, size, Variant.of(profile)),
+        () -> delegate.generateQRCodeBytes(url, size, profile));
+  }
+
+  @Override
+  public byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, 0, gzipped ? Variant.SVG_GZIP : Variant.SVG),
+        () -> delegate.generateQRCodeSvg(url, gzipped));
+  }
+
+  @Override
+  public byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration {
+
+    return getOrGenerate(new RenderKey(url, 0, Variant.MODULES),
+        () -> delegate.generateQRCodeModules(url));
+  }
+
+  // posters are streamed as they are generated, they never go through the store
+  @Override
+  public QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    return delegate.createQRCodePoster(url, size, profile);
+  }
+
+  private byte[] getOrGenerate(RenderKey key, Generation generation)
+      throws ExceptionOnGeneration {
+
+    ByteBuffer stored = store.get(key);
+
+    if (stored != null) {
+      logger.debug("QR Code found in disk cache");
+
+      // the one copy of a hit: callers get arrays, kept on the heap by the render cache above
+      byte[] result = new byte[stored.remaining()];
+      stored.get(result);
+      return result;
+    }
+
+    byte[] result = generation.generate();
+
+    try {
+      store.put(key, result);
+    }
+    catch (IOException e) {
+      logger.warn("QR Code not written into disk cache: {}", e.getMessage());
+    }
+
+    return result;
+  }
+}
@@ -0,0 +1,542 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Variant;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent store of generated QR codes, made of append-only segment files read through memory
+ * mappings.
+ * <p>
+ * Every segment starts with the engine version it was written by, followed by records holding the
+ * URL, size and variant of a QR code, its bytes and a CRC32 of all of it. The index of the records
+ * is kept in memory: on opening, segments are scanned in order, the ones of another engine version
+ * are deleted, and a torn record at the end of the last one, e.g., left by a crash in the middle
+ * of a write, is overwritten by the next appends.
+ * <p>
+ * Once the store grows beyond its capacity, the oldest segment is compacted in the background: its
+ * entries read since they were written are copied forward into the newest segment, the other ones
+ * are dropped, and the segment is deleted. Hot entries thus survive both compactions and restarts.
+ * Full segments are flushed to disk in the background as well, so appends, which hold the lock of
+ * the store, never wait for a whole segment to be written or compacted.
+ * <p>
+ * QR codes are read as read-only views of the mappings, with no copy on the heap.
+ * <p>
+ * Only one store at a time may use a directory, which is locked while the store is open.
+ */
+public class DiskRenderStore implements AutoCloseable {
+
+  static final String SEGMENT_PREFIX = "segment-";
+  static final String SEGMENT_SUFFIX = ".seg";
+  static final String LOCK_FILE = "store.lock";
+
+  // "QRC" and the revision of the record layout
+  private static final int SEGMENT_MAGIC = 0x51524301;
+  // CRC, payload length, URL length, size and variant
+  private static final int RECORD_HEADER_SIZE = 4 * Integer.BYTES + 1;
+  // time given to a compaction in progress to complete on closing
+  private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+  private final Logger logger = LoggerFactory.getLogger(DiskRenderStore.class);
+
+  private final Map<RenderKey, Entry> index = new ConcurrentHashMap<>();
+
+  // oldest first, the last one is the one appended to
+  private final Deque<Segment> segments = new ArrayDeque<>();
+
+  // flushes full segments and compacts the oldest ones, in submission order
+  private final ExecutorService compactor = Executors.newSingleThreadExecutor(
+      Thread.ofPlatform().name("qrcode-disk-cache").daemon(true).factory());
+
+  // compactions run one at a time, without holding the lock of the store
+  private final Object compactionLock = new Object();
+
+  private final Path directory;
+
+  private final byte[] segmentHeader;
+
+  private final int segmentBytes;
+
+  private final int maxSegments;
+
+  private final FileChannel lockChannel;
+
+  private int nextSegmentId = 1;
+
+  /**
+   * Opens the store, creating its directory if needed, and loads the index of its segments.
+   *
+   * @param directory     Directory of the segment files
+   * @param engineVersion Version of the generation engine, entries of other versions are dropped
+   * @param maxBytes      Upper limit of bytes held on disk, beyond which segments are compacted
+   * @param segmentBytes  Size of each segment file
+   * @throws IOException in case the directory is in use or cannot be read
+   */
+  public DiskRenderStore(Path directory, String engineVersion, long maxBytes, int segmentBytes)
+      throws IOException {
+
+    this.directory = Files.createDirectories(directory);
+    this.segmentBytes = segmentBytes;
+    this.maxSegments = (int) Math.max(2, maxBytes / segmentBytes);
+
+    byte[] version = engineVersion.getBytes(StandardCharsets.UTF_8);
+    this.segmentHeader = new byte[2 * Integer.BYTES + version.length];
+    ByteBuffer.wrap(segmentHeader).putInt(SEGMENT_MAGIC).putInt(version.length)
+        .put(version);
+
+    this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+        StandardOpenOption.WRITE);
+
+    try {
+      if (lockChannel.tryLock() == null) {
+        throw new IOException("Disk cache " + directory + " is in use by another process");
+      }
+    }
+    catch (IOException | OverlappingFileLockException e) {
+      lockChannel.close();
+      throw e instanceof IOException ioException ? ioException
+          : new IOException("Disk cache " + directory + " is already open", e);
+    }
+
+    try {
+      load();
+    }
+    catch (IOException e) {
+      close();
+      throw e;
+    }
+
+    if (segments.size() > maxSegments) {
+      compactor.execute(this::compactQuietly);
+    }
+
+    logger.info("Disk cache {} opened with {} entries in {} segments", directory, index.size(),
+        segments.size());
+  }
+
+  /**
+   * Reads a QR code out of the store, marking it as hot.
+   *
+   * @param key URL, size and variant of the QR code
+   * @return Read-only view of the QR code in the mapping of its segment, <code>null</code> if not
+   * stored
+   */
+  public ByteBuffer get(RenderKey key) {
+
+    Entry entry = index.get(key);
+
+    if (entry == null) {
+      return null;
+    }
+
+    entry.referenced = true;
+
+    // the mapping is shared by all threads and never repositioned, so views are taken absolutely
+    return entry.segment.buffer.slice(entry.payloadOffset, entry.payloadLength)
+        .asReadOnlyBuffer();
+  }
+
+  /**
+   * Appends a QR code to the store, triggering a background compaction when a new segment has to
+   * be started and the store is full.
+   *
+   * @param key    URL, size and variant of the QR code
+   * @param output QR code as array of bytes
+   * @throws IOException in case a new segment cannot be created
+   */
+  public synchronized void put(RenderKey key, byte[] output) throws IOException {
+
+    if (append(key, ByteBuffer.wrap(output), false) && segments.size() > maxSegments) {
+      compactor.execute(this::compactQuietly);
+    }
+  }
+
+  /**
+   * @return Number of QR codes in the store
+   */
+  public int size() {
+
+    return index.size();
+  }
+
+  /**
+   * @return Bytes written to the segment files, including the records not yet compacted away
+   */
+  public synchronized long getUsedBytes() {
+
+    return segments.stream().mapToLong(segment -> segment.writePosition).sum();
+  }
+
+  /**
+   * Compacts the oldest segments until the store is back within its capacity.
+   * <p>
+   * The oldest segment is no longer appended to, so it is scanned without the lock of the store,
+   * which is only held to copy a hot entry forward, one at a time.
+   *
+   * @throws IOException in case entries cannot be copied forward
+   */
+  void compact() throws IOException {
+
+    synchronized (compactionLock) {
+
+      for (Segment oldest; (oldest = removeOldest()) != null; ) {
+
+        int kept = 0;
+        int dropped = 0;
+
+        for (int offset = segmentHeader.length; offset < oldest.writePosition; ) {
+
+          Record record = readRecord(oldest, offset);
+          Entry entry = index.get(record.key());
+
+          // records overwritten since, e.g., by an earlier copy, are dropped with the segment
+          if (entry != null && entry.segment == oldest && entry.offset == offset) {
+            if (entry.referenced && copyForward(record.key(), entry)) {
+              kept++;
+            }
+            else if (index.remove(record.key(), entry)) {
+              dropped++;
+            }
+          }
+
+          offset += record.length();
+        }
+
+        // views of its entries read meanwhile remain valid until they are garbage collected
+        oldest.channel.close();
+        Files.deleteIfExists(oldest.file);
+
+        logger.info("Disk cache segment {} compacted, {} entries kept and {} dropped", oldest.file,
+            kept, dropped);
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+
+    // queued flushes are redundant with the ones below, a compaction in progress is completed
+    compactor.shutdownNow();
+
+    try {
+      if (!compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        logger.warn("Disk cache {} closed while still compacting", directory);
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    synchronized (this) {
+
+      for (Segment segment : segments) {
+        segment.buffer.force();
+        segment.channel.close();
+      }
+
+      segments.clear();
+      index.clear();
+      lockChannel.close();
+    }
+  }
+
+  // null once the store is within its capacity
+  private synchronized Segment removeOldest() {
+
+    return segments.size() > maxSegments ? segments.removeFirst() : null;
+  }
+
+  // false if the entry was overwritten meanwhile, e.g., by a put of the same key
+  private synchronized boolean copyForward(RenderKey key, Entry entry) throws IOException {
+
+    if (index.get(key) != entry) {
+      return false;
+    }
+
+    append(key, entry.segment.buffer.slice(entry.payloadOffset, entry.payloadLength), false);
+    return true;
+  }
+
+  private void compactQuietly() {
+
+    try {
+      compact();
+    }
+    catch (IOException e) {
+      logger.error("Disk cache compaction failed: {}", e.getMessage());
+    }
+  }
+
+  private void load() throws IOException {
+
+    List<Path> files;
+
+    try (Stream<Path> stream = Files.list(directory)) {
+      files = stream.filter(file -> segmentId(file) > 0)
+          .sorted((a, b) -> Integer.compare(segmentId(a), segmentId(b)))
+          .toList();
+    }
+
+    for (Path file : files) {
+
+      nextSegmentId = segmentId(file) + 1;
+      Segment segment = openSegment(file, false);
+
+      if (segment == null) {
+        logger.info("Deleting disk cache segment {} of another engine version", file);
+        Files.delete(file);
+        continue;
+      }
+
+      int offset = segmentHeader.length;
+
+      // later records of the same key take over the earlier ones
+      for (Record record; (record = readValidRecord(segment, offset)) != null; ) {
+        index.put(record.key(), new Entry(segment, offset, record));
+        offset += record.length();
+      }
+
+      segment.writePosition = offset;
+      segments.addLast(segment);
+    }
+
+    if (segments.isEmpty()) {
+      segments.addLast(createSegment());
+    }
+  }
+
+  // appends into the newest segment, starting a new one if full, returns whether it was started
+  private boolean append(RenderKey key, ByteBuffer output, boolean rolled) throws IOException {
+
+    byte[] url = key.url().getBytes(StandardCharsets.UTF_8);
+    int payloadLength = output.remaining();
+    int length = RECORD_HEADER_SIZE + url.length + payloadLength;
+
+    if (length > segmentBytes - segmentHeader.length) {
+      return false;
+    }
+
+    Segment segment = segments.getLast();
+
+    if (segment.writePosition + length > segment.buffer.capacity()) {
+      // flushed by the compactor, rather than by the request that filled the segment
+      compactor.execute(segment.buffer::force);
+      segments.addLast(createSegment());
+      return append(key, output, true);
+    }
+
+    int offset = segment.writePosition;
+    MappedByteBuffer buffer = segment.buffer;
+
+    buffer.putInt(offset + Integer.BYTES, payloadLength);
+    buffer.putInt(offset + 2 * Integer.BYTES, url.length);
+    buffer.putInt(offset + 3 * Integer.BYTES, key.size());
+    buffer.put(offset + 4 * Integer.BYTES, (byte) key.variant().ordinal());
+    buffer.put(offset + RECORD_HEADER_SIZE, url);
+    buffer.put(offset + RECORD_HEADER_SIZE + url.length, output, output.position(),
+        payloadLength);
+    buffer.putInt(offset, checksum(buffer, offset, length));
+
+    segment.writePosition += length;
+
+    // only published once complete, readers never see a partial record
+    index.put(key, new Entry(segment, offset, new Record(key, length, payloadLength)));
+
+    return rolled;
+  }
+
+  private Segment createSegment() throws IOException {
+
+    Path file = directory.resolve(SEGMENT_PREFIX + nextSegmentId++ + SEGMENT_SUFFIX);
+    Segment segment = openSegment(file, true);
+    segment.buffer.put(0, segmentHeader);
+    segment.writePosition = segmentHeader.length;
+
+    return segment;
+  }
+
+  // null if the segment was written by another engine version or is not a segment at all
+  private Segment openSegment(Path file, boolean create) throws IOException {
+
+    FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+
+    long existing = channel.size();
+
+    if (!create && existing < segmentHeader.length) {
+      channel.close();
+      return null;
+    }
+
+    // a segment written with a larger size is still read entirely
+    MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, Math.max(existing, segmentBytes));
+
+    if (!create) {
+      byte[] header = new byte[segmentHeader.length];
+      buffer.get(0, header);
+
+      if (!Arrays.equals(header, segmentHeader)) {
+        channel.close();
+        return null;
+      }
+    }
+
+    return new Segment(file, channel, buffer);
+  }
+
+  // null at the end of the segment, i.e., on a zeroed, torn or corrupted record
+  private Record readValidRecord(Segment segment, int offset) {
+
+    MappedByteBuffer buffer = segment.buffer;
+
+    if (offset + RECORD_HEADER_SIZE > buffer.capacity()) {
+      return null;
+    }
+
+    int payloadLength = buffer.getInt(offset + Integer.BYTES);
+    int urlLength = buffer.getInt(offset + 2 * Integer.BYTES);
+    int variant = buffer.get(offset + 4 * Integer.BYTES);
+
+    if (payloadLength < 0 || urlLength <= 0 || variant < 0 || variant >= Variant.values().length
+        || (long) offset + RECORD_HEADER_SIZE + urlLength + payloadLength > buffer.capacity()) {
+      return null;
+    }
+
+    int length = RECORD_HEADER_SIZE + urlLength + payloadLength;
+
+    return buffer.getInt(offset) == checksum(buffer, offset, length)
+        ? readRecord(segment, offset)
+        : null;
+  }
+
+  private static Record readRecord(Segment segment, int offset) {
+
+    MappedByteBuffer buffer = segment.buffer;
+
+    int payloadLength = buffer.getInt(offset + Integer.BYTES);
+    byte[] url = new byte[buffer.getInt(offset + 2 * Integer.BYTES)];
+    int size = buffer.getInt(offset + 3 * Integer.BYTES);
+    Variant variant = Variant.values()[buffer.get(offset + 4 * Integer.BYTES)];
+    buffer.get(offset + RECORD_HEADER_SIZE, url);
+
+    RenderKey key = new RenderKey(new String(url, StandardCharsets.UTF_8), size, variant);
+
+    return new Record(key, RECORD_HEADER_SIZE + url.length + payloadLength, payloadLength);
+  }
+
+  private static int checksum(MappedByteBuffer buffer, int offset, int length) {
+
+    CRC32 crc = new CRC32();
+    crc.update(buffer.slice(offset + Integer.BYTES, length - Integer.BYTES));
+
+    return (int) crc.getValue();
+  }
+
+  // 0 for files other than segments
+  private static int segmentId(Path file) {
+
+    String name = file.getFileName().toString();
+
+    if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+      return 0;
+    }
+
+    try {
+      return Integer.parseInt(
+          name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+    catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static final class Segment {
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    private Segment(Path file, FileChannel channel, MappedByteBuffer buffer) {
+
+      this.file = file;
+      this.channel = channel;
+      this.buffer = buffer;
+    }
+  }
+
+  private static final class Entry {
+
+    private final Segment segment;
+
+    private final int offset;
+
+    private final int payloadOffset;
+
+    private final int payloadLength;
+
+    // set on every read, cleared when copied forward by a compaction
+    private volatile boolean referenced;
+
+    private Entry(Segment segment, int offset, Record record) {
+
+      this.segment = segment;
+      this.offset = offset;
+      this.payloadLength = record.payloadLength();
+      this.payloadOffset = offset + record.length() - record.payloadLength();
+    }
+  }
+
+  private record Record(RenderKey key, int length, int payloadLength) {
+
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.job;
+
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory state of an asynchronous generation job, backed by its directory on disk.
+ */
+public class GenerationJob {
+
+  private final String id;
+
+  private final Path directory;
+
+  private final int total;
+
+  private final AtomicInteger completed = new AtomicInteger();
+
+  private final AtomicInteger failed = new AtomicInteger();
+
+  private volatile State state = State.QUEUED;
+
+  /**
+   * Constructor.
+   *
+   * @param id        Unique job identifier
+   * @param directory Directory holding the job's input and journal
+   * @param total     Number of items of the job
+   */
+  public GenerationJob(String id, Path directory, int total) {
+
+    this.id = id;
+    this.directory = directory;
+    this.total = total;
+  }
+
+  /**
+   * Accounts for the result of one item.
+   *
+   * @param result Result of the item
+   */
+  void record(BatchResult result) {
+
+    completed.incrementAndGet();
+
+    if (!result.isSuccess()) {
+      failed.incrementAndGet();
+    }
+  }
+
+  /**
+   * Restores the counters of a job finished before a restart.
+   *
+   * @param completed Number of items processed, including the failed ones
+   * @param failed    Number of items whose generation failed
+   */
+  void restore(int completed, int failed) {
+
+    this.completed.set(completed);
+    this.failed.set(failed);
+  }
+
+  void setState(State state) {
+
+    this.state = state;
+  }
+
+  /**
+   * @return Unique job identifier
+   */
+  public String getId() {
+
+    return id;
+  }
+
+  /**
+   * @return Directory holding the job's input and journal
+   */
+  public Path getDirectory() {
+
+    return directory;
+  }
+
+  /**
+   * @return Number of items of the job
+   */
+  public int getTotal() {
+
+    return total;
+  }
+
+  /**
+   * @return Number of items already processed, including the failed ones
+   */
+  public int getCompleted() {
+
+    return completed.get();
+  }
+
+  /**
+   * @return Number of items whose generation failed
+   */
+  public int getFailed() {
+
+    return failed.get();
+  }
+
+  /**
+   * @return Current state
+   */
+  public State getState() {
+
+    return state;
+  }
+
+  /**
+   * Lifecycle of a job.
+   */
+  public enum State {
+
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.job;
+
+import edu.training.qrcodeapp.rest.service.batch.BatchGenerator.BatchResultConsumer;
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of the results of a job.
+ * <p>
+ * Every record holds the item index, whether it succeeded, its payload (the QR code or the error
+ * message) and a CRC32 of all of it. On opening, the file is replayed and a torn record at its end,
+ * e.g., left by a crash in the middle of a write, is cut off, so appends continue from the last
+ * complete record.
+ */
+public class JobJournal implements AutoCloseable {
+
+  // index, success flag and payload length
+  private static final int HEADER_SIZE = Integer.BYTES + 1 + Integer.BYTES;
+
+  private final Logger logger = LoggerFactory.getLogger(JobJournal.class);
+
+  private final Path file;
+
+  private final FileChannel channel;
+
+  /**
+   * Opens the journal for appending, creating its file if needed.
+   *
+   * @param file Journal file
+   * @throws IOException in case the file cannot be opened
+   */
+  public JobJournal(Path file) throws IOException {
+
+    this.file = file;
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+  }
+
+  /**
+   * Replays all complete records, cutting off an incomplete or corrupted tail.
+   *
+   * @param consumer Receives every record, in the order they were appended
+   * @throws IOException in case the file cannot be read
+   */
+  public synchronized void replay(BatchResultConsumer consumer) throws IOException {
+
+    long validLength = 0;
+
+    channel.position(0);
+
+    DataInputStream input = new DataInputStream(
+        new BufferedInputStream(Channels.newInputStream(channel)));
+
+    try {
+
+      while (true) {
+
+        int index = input.readInt();
+        boolean success = input.readBoolean();
+        int length = input.readInt();
+
+        if (index < 0 || length < 0 || length > channel.size()) {
+          break;
+        }
+
+        byte[] payload = new byte[length];
+        input.readFully(payload);
+        int crc = input.readInt();
+
+        if (crc != checksum(index, success, payload)) {
+          break;
+        }
+
+        consumer.accept(toResult(index, success, payload));
+        validLength += HEADER_SIZE + length + Integer.BYTES;
+      }
+    }
+    catch (EOFException e) {
+      // end of the journal, possibly in the middle of a record
+    }
+
+    if (validLength < channel.size()) {
+      logger.warn("Truncating journal {} from {} to {} bytes", file, channel.size(), validLength);
+      channel.truncate(validLength);
+    }
+
+    channel.position(validLength);
+  }
+
+  /**
+   * Appends the result of an item.
+   *
+   * @param result Result to be appended
+   * @throws IOException in case the record cannot be written
+   */
+  public synchronized void append(BatchResult result) throws IOException {
+
+    boolean success = result.isSuccess();
+    byte[] payload = success ? result.output() : result.error().getBytes(StandardCharsets.UTF_8);
+
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payload.length + Integer.BYTES);
+    buffer.putInt(result.index());
+    buffer.put((byte) (success ? 1 : 0));
+    buffer.putInt(payload.length);
+    buffer.put(payload);
+    buffer.putInt(checksum(result.index(), success, payload));
+    buffer.flip();
+
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Forces all appended records to the storage device.
+   *
+   * @throws IOException in case of failure
+   */
+  public synchronized void sync() throws IOException {
+
+    channel.force(false);
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+
+    channel.close();
+  }
+
+  private static BatchResult toResult(int index, boolean success, byte[] payload) {
+
+    // url and size are part of the job's input, they are not repeated in the journal
+    return success
+        ? new BatchResult(index, null, 0, payload, null)
+        : new BatchResult(index, null, 0, null, new String(payload, StandardCharsets.UTF_8));
+  }
+
+  private static int checksum(int index, boolean success, byte[] payload) {
+
+    CRC32 crc = new CRC32();
+    crc.update(ByteBuffer.allocate(5).putInt(index).put((byte) (success ? 1 : 0)).array());
+    crc.update(payload);
+
+    return (int) crc.getValue();
+  }
+}
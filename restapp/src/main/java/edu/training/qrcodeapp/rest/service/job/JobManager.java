@@ -0,0 +1,406 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.rest.service.batch.BatchGenerator;
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import edu.training.qrcodeapp.rest.service.batch.NdjsonBatchReader;
+import edu.training.qrcodeapp.rest.service.batch.ZipBatchWriter;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob.State;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs asynchronous generation jobs, too large to be handled within a single HTTP request.
+ * <p>
+ * Every job has its own directory with the submitted items (<code>input.ndjson</code>) and an
+ * append-only {@link JobJournal} of the results (<code>results.journal</code>). Jobs are run by a
+ * bounded pool of workers, each one generating its job's items through {@link BatchGenerator}.
+ * When the application starts, the directories are scanned and unfinished jobs are resumed,
+ * generating only the items not yet in their journal.
+ * <p>
+ * Once a job is completed or failed, its outcome is written next to its journal
+ * (<code>state.json</code>), so that it is loaded as is on later starts rather than replayed.
+ * Finished jobs are deleted along with their results once <code>qrcode.jobs.retention</code> is
+ * over, checked at startup and whenever a job finishes.
+ */
+@Component
+public class JobManager {
+
+  static final String INPUT_FILE = "input.ndjson";
+  static final String JOURNAL_FILE = "results.journal";
+  static final String STATE_FILE = "state.json";
+
+  private final Logger logger = LoggerFactory.getLogger(JobManager.class);
+
+  private final Map<String, GenerationJob> jobs = new ConcurrentHashMap<>();
+
+  @Autowired
+  private BatchGenerator batchGenerator;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  @Qualifier("jobExecutor")
+  private ExecutorService jobExecutor;
+
+  @Value("${qrcode.jobs.directory:${java.io.tmpdir}/qrcode-jobs}")
+  private Path jobsDirectory;
+
+  @Value("${qrcode.jobs.retention:7d}")
+  private Duration retention;
+
+  /**
+   * Persists the given items as a new job and queues it.
+   *
+   * @param items Input items of the job, already validated
+   * @return Queued job
+   * @throws IOException in case the job cannot be persisted
+   */
+  public GenerationJob submit(List<InputData> items) throws IOException {
+
+    String id = UUID.randomUUID().toString();
+    Path directory = Files.createDirectories(jobsDirectory.resolve(id));
+    Path temporaryInput = directory.resolve(INPUT_FILE + ".tmp");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(temporaryInput, StandardCharsets.UTF_8)) {
+      for (InputData item : items) {
+        writer.write(objectMapper.writeValueAsString(item));
+        writer.newLine();
+      }
+    }
+
+    // only complete inputs are visible for resuming
+    Files.move(temporaryInput, directory.resolve(INPUT_FILE), StandardCopyOption.ATOMIC_MOVE);
+
+    GenerationJob job = new GenerationJob(id, directory, items.size());
+    jobs.put(id, job);
+    jobExecutor.execute(() -> run(job));
+
+    logger.info("Job {} submitted with {} items", id, items.size());
+    return job;
+  }
+
+  /**
+   * @param id Job identifier
+   * @return Job, if known
+   */
+  public Optional<GenerationJob> getJob(String id) {
+
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  /**
+   * Writes the results of a completed job as a ZIP archive, see {@link ZipBatchWriter}.
+   *
+   * @param job    Completed job
+   * @param output Target stream
+   * @throws IOException in case the journal cannot be read or the stream written
+   */
+  public void writeResults(GenerationJob job, OutputStream output) throws IOException {
+
+    try (JobJournal journal = new JobJournal(job.getDirectory().resolve(JOURNAL_FILE));
+        ZipBatchWriter writer = new ZipBatchWriter(output)) {
+      journal.replay(writer);
+    }
+  }
+
+  /**
+   * Deletes expired jobs, then loads the jobs found on disk and resumes the unfinished ones.
+   *
+   * @throws IOException in case the jobs directory cannot be read
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void resume() throws IOException {
+
+    Files.createDirectories(jobsDirectory);
+    purgeExpiredJobs();
+
+    try (Stream<Path> directories = Files.list(jobsDirectory)) {
+
+      for (Path directory : directories.filter(Files::isDirectory).toList()) {
+
+        Path input = directory.resolve(INPUT_FILE);
+        String id = directory.getFileName().toString();
+
+        if (!Files.exists(input) || jobs.containsKey(id)) {
+          continue;
+        }
+
+        Optional<GenerationJob> finishedJob = loadFinishedJob(id, directory);
+
+        if (finishedJob.isPresent()) {
+          jobs.put(id, finishedJob.get());
+          continue;
+        }
+
+        int total;
+
+        try (Stream<String> lines = Files.lines(input, StandardCharsets.UTF_8)) {
+          total = (int) lines.count();
+        }
+
+        GenerationJob job = new GenerationJob(id, directory, total);
+        jobs.put(id, job);
+        jobExecutor.execute(() -> run(job));
+
+        logger.info("Job {} loaded from disk", id);
+      }
+    }
+  }
+
+  private void run(GenerationJob job) {
+
+    job.setState(State.RUNNING);
+
+    try (JobJournal journal = new JobJournal(job.getDirectory().resolve(JOURNAL_FILE))) {
+
+      BitSet done = new BitSet(job.getTotal());
+
+      journal.replay(result -> {
+        done.set(result.index());
+        job.record(result);
+      });
+
+      if (job.getCompleted() > 0) {
+        logger.info("Job {} resumed at {} of {} items", job.getId(), job.getCompleted(),
+            job.getTotal());
+      }
+
+      // the n-th pending item is the n-th item not found in the journal
+      int[] pending = pendingIndices(done, job.getTotal());
+
+      try (InputStream input = Files.newInputStream(job.getDirectory().resolve(INPUT_FILE))) {
+
+        Iterator<InputData> items = new PendingItems(
+            new NdjsonBatchReader(input, objectMapper), done);
+
+        batchGenerator.generateUnordered(items, result -> {
+          BatchResult journaled = new BatchResult(pending[result.index()], result.url(),
+              result.size(), result.output(), result.error());
+          journal.append(journaled);
+          job.record(journaled);
+        });
+      }
+
+      journal.sync();
+      finish(job, State.COMPLETED);
+
+      logger.info("Job {} completed, {} items failed", job.getId(), job.getFailed());
+    }
+    catch (InterruptedIOException e) {
+      // most likely shutting down, left unfinished on disk so that it is resumed at next start
+      logger.warn("Job {} interrupted", job.getId());
+      job.setState(State.FAILED);
+    }
+    catch (IOException | RuntimeException e) {
+      logger.error("Job {} failed: {}", job.getId(), e.getMessage());
+      finish(job, State.FAILED);
+    }
+
+    purgeExpiredJobs();
+  }
+
+  // outcome written before the state changes, so that a finished job is always found finished
+  private void finish(GenerationJob job, State state) {
+
+    Path directory = job.getDirectory();
+    Path temporaryState = directory.resolve(STATE_FILE + ".tmp");
+
+    try {
+      objectMapper.writeValue(temporaryState.toFile(),
+          new Outcome(state, job.getTotal(), job.getCompleted(), job.getFailed()));
+      Files.move(temporaryState, directory.resolve(STATE_FILE), StandardCopyOption.ATOMIC_MOVE);
+    }
+    catch (IOException e) {
+      logger.error("Outcome of job {} not persisted: {}", job.getId(), e.getMessage());
+    }
+
+    job.setState(state);
+  }
+
+  private Optional<GenerationJob> loadFinishedJob(String id, Path directory) {
+
+    Path stateFile = directory.resolve(STATE_FILE);
+
+    if (!Files.exists(stateFile)) {
+      return Optional.empty();
+    }
+
+    try {
+      Outcome outcome = objectMapper.readValue(stateFile.toFile(), Outcome.class);
+
+      GenerationJob job = new GenerationJob(id, directory, outcome.total());
+      job.restore(outcome.completed(), outcome.failed());
+      job.setState(outcome.state());
+
+      return Optional.of(job);
+    }
+    catch (IOException e) {
+      logger.warn("Outcome of job {} unreadable, resuming it: {}", id, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Deletes the finished jobs whose retention is over, as well as the directories of jobs whose
+   * submission never completed. A retention of zero keeps all jobs.
+   */
+  synchronized void purgeExpiredJobs() {
+
+    if (retention.isZero() || retention.isNegative()) {
+      return;
+    }
+
+    Instant expiry = Instant.now().minus(retention);
+
+    try (Stream<Path> directories = Files.list(jobsDirectory)) {
+
+      for (Path directory : directories.filter(Files::isDirectory).toList()) {
+
+        Path stateFile = directory.resolve(STATE_FILE);
+        boolean expired = Files.exists(stateFile)
+            ? Files.getLastModifiedTime(stateFile).toInstant().isBefore(expiry)
+            : !Files.exists(directory.resolve(INPUT_FILE))
+                && Files.getLastModifiedTime(directory).toInstant().isBefore(expiry);
+
+        if (expired) {
+          String id = directory.getFileName().toString();
+          jobs.remove(id);
+          deleteDirectory(directory);
+          logger.info("Job {} expired and deleted", id);
+        }
+      }
+    }
+    catch (IOException e) {
+      logger.warn("Expired jobs not deleted: {}", e.getMessage());
+    }
+  }
+
+  private static void deleteDirectory(Path directory) throws IOException {
+
+    List<Path> paths;
+
+    try (Stream<Path> walk = Files.walk(directory)) {
+      // files before the directories holding them
+      paths = walk.sorted(Comparator.reverseOrder()).toList();
+    }
+
+    for (Path path : paths) {
+      Files.deleteIfExists(path);
+    }
+  }
+
+  private static int[] pendingIndices(BitSet done, int total) {
+
+    int[] pending = new int[total - done.cardinality()];
+
+    for (int i = 0, index = done.nextClearBit(0); i < pending.length;
+        i++, index = done.nextClearBit(index + 1)) {
+      pending[i] = index;
+    }
+
+    return pending;
+  }
+
+  /**
+   * Outcome of a finished job, as persisted in its directory.
+   *
+   * @param state     Final state
+   * @param total     Number of items of the job
+   * @param completed Number of items processed, including the failed ones
+   * @param failed    Number of items whose generation failed
+   */
+  record Outcome(State state, int total, int completed, int failed) {
+
+  }
+
+  /**
+   * Iterates over the items of a job that are not done yet.
+   */
+  private static class PendingItems implements Iterator<InputData> {
+
+    private final Iterator<InputData> items;
+
+    private final BitSet done;
+
+    private int index = 0;
+
+    PendingItems(Iterator<InputData> items, BitSet done) {
+
+      this.items = items;
+      this.done = done;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+      while (done.get(index) && items.hasNext()) {
+        items.next();
+        index++;
+      }
+
+      return items.hasNext();
+    }
+
+    @Override
+    public InputData next() {
+
+      hasNext();
+      index++;
+      return items.next();
+    }
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.metrics;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long each stage of the QR code generation takes, how large the output is and how
+ * often generation fails.
+ * <p>
+ * Timers and summaries are tagged by stage, size bucket and outcome. All of them are registered
+ * upfront and looked up by index, so recording costs no more than a clock read and an update of
+ * the meter, without any tag handling on the request path.
+ */
+public class GenerationMetrics {
+
+  /**
+   * Metrics that are not exported anywhere, e.g., for services created outside of Spring.
+   */
+  public static final GenerationMetrics DISABLED = new GenerationMetrics(
+      new CompositeMeterRegistry());
+
+  /**
+   * Size of images that scale to any size, e.g., SVG.
+   */
+  public static final int SCALABLE_SIZE = 0;
+
+  public static final String STAGE_TIMER = "qrcode.stage";
+  public static final String OUTPUT_SUMMARY = "qrcode.output";
+  public static final String ERROR_COUNTER = "qrcode.errors";
+
+  // tag of failures that have no error code, e.g., unexpected encoding errors
+  static final String UNKNOWN_ERROR = "UNKNOWN";
+
+  // width of the size buckets, in pixels
+  private static final int SIZE_BUCKET_WIDTH = 100;
+  private static final int SIZE_BUCKETS =
+      (InputDataValidator.MAX_SIZE - InputDataValidator.MIN_SIZE) / SIZE_BUCKET_WIDTH;
+  // index of the bucket of sizes out of the valid range
+  private static final int INVALID_SIZE_BUCKET = SIZE_BUCKETS;
+  // index of the bucket of scalable images
+  private static final int SCALABLE_SIZE_BUCKET = SIZE_BUCKETS + 1;
+  // index of the bucket of sizes only valid for posters, i.e., streamed images
+  private static final int POSTER_SIZE_BUCKET = SIZE_BUCKETS + 2;
+
+  private final Timer[][][] stageTimers;
+
+  private final DistributionSummary[][] outputSummaries;
+
+  private final Map<ErrorCode, Counter> errorCounters = new EnumMap<>(ErrorCode.class);
+
+  private final Counter unknownErrorCounter;
+
+  /**
+   * Constructor.
+   *
+   * @param meterRegistry Registry the meters are bound to
+   */
+  public GenerationMetrics(MeterRegistry meterRegistry) {
+
+    stageTimers = new Timer[Stage.values().length][POSTER_SIZE_BUCKET + 1][2];
+    outputSummaries = new DistributionSummary[Format.values().length][POSTER_SIZE_BUCKET + 1];
+
+    for (int bucket = 0; bucket <= POSTER_SIZE_BUCKET; bucket++) {
+
+      String sizeTag = sizeTag(bucket);
+
+      for (Stage stage : Stage.values()) {
+        for (int success = 0; success < 2; success++) {
+          stageTimers[stage.ordinal()][bucket][success] = Timer.builder(STAGE_TIMER)
+              .description("Time spent in each stage of the QR code generation")
+              .tag("stage", tag(stage))
+              .tag("size", sizeTag)
+              .tag("outcome", success == 1 ? "success" : "failure")
+              .register(meterRegistry);
+        }
+      }
+
+      for (Format format : Format.values()) {
+        outputSummaries[format.ordinal()][bucket] = DistributionSummary.builder(OUTPUT_SUMMARY)
+            .description("Size of the generated QR codes")
+            .baseUnit("bytes")
+            .tag("format", tag(format))
+            .tag("size", sizeTag)
+            .register(meterRegistry);
+      }
+    }
+
+    for (ErrorCode errorCode : ErrorCode.values()) {
+      errorCounters.put(errorCode, errorCounter(meterRegistry, errorCode.name()));
+    }
+
+    unknownErrorCounter = errorCounter(meterRegistry, UNKNOWN_ERROR);
+  }
+
+  /**
+   * Records the time spent in a stage, from the given start up to now.
+   *
+   * @param stage       Stage of the generation
+   * @param size        Requested size, i.e., height and width values in pixels, or
+   *                    {@link #SCALABLE_SIZE}
+   * @param success     Whether the stage completed successfully
+   * @param startNanos  Start of the stage, as returned by {@link System#nanoTime()}
+   * @return End of the stage, i.e., the start of the next one
+   */
+  public long recordStage(Stage stage, int size, boolean success, long startNanos) {
+
+    long endNanos = System.nanoTime();
+
+    stageTimers[stage.ordinal()][sizeBucket(size)][success ? 1 : 0]
+        .record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+
+    return endNanos;
+  }
+
+  /**
+   * Records the size of a generated output.
+   *
+   * @param format Format of the output
+   * @param size   Requested size, i.e., height and width values in pixels, or
+   *               {@link #SCALABLE_SIZE}
+   * @param bytes  Number of bytes of the output
+   */
+  public void recordOutput(Format format, int size, int bytes) {
+
+    outputSummaries[format.ordinal()][sizeBucket(size)].record(bytes);
+  }
+
+  /**
+   * Counts a failure by its error code.
+   *
+   * @param failure Failure of the generation or of the request
+   */
+  public void recordError(ExceptionOnGeneration failure) {
+
+    recordError(failure.getErrorCode());
+  }
+
+  /**
+   * Counts a failure by its error code.
+   *
+   * @param errorCode Cause of the failure, null if unknown
+   */
+  public void recordError(ErrorCode errorCode) {
+
+    (errorCode == null ? unknownErrorCounter : errorCounters.get(errorCode)).increment();
+  }
+
+  static int sizeBucket(int size) {
+
+    if (size == SCALABLE_SIZE) {
+      return SCALABLE_SIZE_BUCKET;
+    }
+
+    if (size > InputDataValidator.MAX_SIZE && size <= InputDataValidator.MAX_POSTER_SIZE) {
+      return POSTER_SIZE_BUCKET;
+    }
+
+    if (size < InputDataValidator.MIN_SIZE || size > InputDataValidator.MAX_SIZE) {
+      return INVALID_SIZE_BUCKET;
+    }
+
+    // the maximum size falls into the last bucket
+    return Math.min((size - InputDataValidator.MIN_SIZE) / SIZE_BUCKET_WIDTH, SIZE_BUCKETS - 1);
+  }
+
+  static String sizeTag(int bucket) {
+
+    if (bucket == INVALID_SIZE_BUCKET) {
+      return "invalid";
+    }
+
+    if (bucket == SCALABLE_SIZE_BUCKET) {
+      return "scalable";
+    }
+
+    if (bucket == POSTER_SIZE_BUCKET) {
+      return "poster";
+    }
+
+    int lower = InputDataValidator.MIN_SIZE + bucket * SIZE_BUCKET_WIDTH;
+    int upper = bucket == SIZE_BUCKETS - 1
+        ? InputDataValidator.MAX_SIZE
+        : lower + SIZE_BUCKET_WIDTH - 1;
+
+    return lower + "-" + upper;
+  }
+
+  private static String tag(Enum<?> value) {
+
+    return value.name().toLowerCase(Locale.ROOT);
+  }
+
+  private static Counter errorCounter(MeterRegistry meterRegistry, String code) {
+
+    return Counter.builder(ERROR_COUNTER)
+        .description("Failures of the QR code generation, per error code")
+        .tag("code", code)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Stages of the QR code generation.
+   */
+  public enum Stage {
+
+    // input data validation
+    VALIDATION,
+    // URL encoding into modules, scaled to the requested size
+    ENCODING,
+    // image creation out of the modules, e.g., PNG or SVG
+    RASTERIZATION,
+    // response body creation, e.g., JSON
+    SERIALIZATION
+  }
+
+  /**
+   * Formats of the generated output.
+   */
+  public enum Format {
+
+    PNG,
+    SVG,
+    SVG_GZIP,
+    // packed module grid
+    MODULES,
+    JSON
+  }
+}
@@ -24,8 +24,12 @@
 
 package edu.training.qrcodeapp.rest.service.validator;
 
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.model.TemplatedBatch;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -38,6 +42,8 @@ public enum InputDataValidator {
 
   public static final int MIN_SIZE = 100;
   public static final int MAX_SIZE = 500;
+  public static final int MAX_POSTER_SIZE = 8000;
+  public static final String ID_PLACEHOLDER = "{id}";
   private final Logger logger = LoggerFactory.getLogger(InputDataValidator.class);
 
   /**
@@ -71,9 +77,123 @@ public enum InputDataValidator {
 
       logger.error("Provided size is invalid: {}", size);
 
-      String errorDescription = String.format(ErrorCode.INVALID_SIZE.getErrorDescription(),
-          MIN_SIZE, MAX_SIZE);
-      throw new ExceptionOnGeneration(errorDescription);
+      throw new ExceptionOnGeneration(ErrorCode.INVALID_SIZE, MIN_SIZE, MAX_SIZE);
     }
   }
+
+  /**
+   * Validates that the input size is in the valid range of large images, e.g., posters, which
+   * are streamed rather than held in memory.
+   *
+   * @param size both height and width values in pixels
+   * @throws ExceptionOnGeneration size is not in the accepted value range
+   */
+  public void validatePosterSize(int size) throws ExceptionOnGeneration {
+
+    if (size < MIN_SIZE || size > MAX_POSTER_SIZE) {
+
+      logger.error("Provided poster size is invalid: {}", size);
+
+      throw new ExceptionOnGeneration(ErrorCode.INVALID_SIZE, MIN_SIZE, MAX_POSTER_SIZE);
+    }
+  }
+
+  /**
+   * Validates a batch of input items, i.e., its number of items and every single item.
+   *
+   * @param items    Input items of the batch
+   * @param maxItems Upper limit of items in a batch
+   * @throws ExceptionOnGeneration batch is empty, too large or has an invalid item
+   */
+  public void validateBatch(List<InputData> items, int maxItems) throws ExceptionOnGeneration {
+
+    if (items == null || items.isEmpty()) {
+      logger.error("Batch is empty");
+      throw new ExceptionOnGeneration(ErrorCode.EMPTY_BATCH);
+    }
+
+    if (items.size() > maxItems) {
+
+      logger.error("Batch is too large: {}", items.size());
+
+      throw new ExceptionOnGeneration(ErrorCode.BATCH_TOO_LARGE, maxItems);
+    }
+
+    for (int i = 0; i < items.size(); i++) {
+
+      InputData item = items.get(i);
+
+      try {
+        validateUrl(item.getUrl());
+
+        if (item.getSize() != null) {
+          validateSize(item.getSize());
+        }
+
+        OutputProfile.fromValue(item.getProfile());
+      }
+      catch (ExceptionOnGeneration e) {
+        throw new ExceptionOnGeneration(ErrorCode.INVALID_BATCH_ITEM, i + 1, e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Validates a batch of QR codes sharing a URL template, i.e., its template, its IDs and the
+   * size and profile of all its items.
+   *
+   * @param batch    Templated batch
+   * @param maxItems Upper limit of IDs in the batch
+   * @throws ExceptionOnGeneration template has no placeholder, IDs are missing, ambiguous or too
+   *                               many, or size or profile are invalid
+   */
+  public void validateTemplatedBatch(TemplatedBatch batch, int maxItems)
+      throws ExceptionOnGeneration {
+
+    validateUrl(batch.getUrlTemplate());
+
+    if (!batch.getUrlTemplate().contains(ID_PLACEHOLDER)) {
+
+      logger.error("URL template has no placeholder: {}", batch.getUrlTemplate());
+
+      throw new ExceptionOnGeneration(ErrorCode.INVALID_URL_TEMPLATE, ID_PLACEHOLDER);
+    }
+
+    long count = countIds(batch);
+
+    if (count > maxItems) {
+
+      logger.error("Batch is too large: {}", count);
+
+      throw new ExceptionOnGeneration(ErrorCode.BATCH_TOO_LARGE, maxItems);
+    }
+
+    if (batch.getSize() != null) {
+      validateSize(batch.getSize());
+    }
+
+    OutputProfile.fromValue(batch.getProfile());
+  }
+
+  // number of IDs of a templated batch, either of its range or of its non-empty list
+  private long countIds(TemplatedBatch batch) throws ExceptionOnGeneration {
+
+    Long firstId = batch.getFirstId();
+    Long lastId = batch.getLastId();
+    List<Long> ids = batch.getIds();
+    boolean hasList = ids != null && !ids.isEmpty();
+
+    if (hasList && firstId == null && lastId == null && !ids.contains(null)) {
+      return ids.size();
+    }
+
+    if (!hasList && firstId != null && lastId != null && firstId <= lastId) {
+      // a range too wide to be counted overflows, it is as too large as it gets
+      long count = lastId - firstId + 1;
+      return count > 0 ? count : Long.MAX_VALUE;
+    }
+
+    logger.error("IDs of the templated batch are invalid");
+    throw new ExceptionOnGeneration(ErrorCode.INVALID_ID_RANGE);
+  }
 }
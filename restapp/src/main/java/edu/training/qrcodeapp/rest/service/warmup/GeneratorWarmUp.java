@@ -0,0 +1,188 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.model.BytesArray;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.zxing.ZXingBasedGeneratorServiceImpl;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms up the JVM right after startup, so that the first requests are not served by interpreted
+ * or barely compiled code.
+ * <p>
+ * The full generation path, i.e., validation, encoding, rasterization and JSON serialization, is
+ * exercised on a background thread across the configured sizes and URL lengths. A private
+ * instance of {@link ZXingBasedGeneratorServiceImpl} is used for that, so neither the caches nor
+ * the metrics of the application see the warm-up requests, while the JIT compiles the same
+ * encoding and rendering code as for actual requests.
+ * <p>
+ * As a consequence, neither the controllers nor the decorators of the generation service, i.e.,
+ * caches, coalescing and admission control, are warmed up: they are thin compared to encoding and
+ * rendering, and get compiled under the first actual requests. Only the pre-warming of the caches
+ * with the hot keys saved by {@link HotKeyStore}, if enabled, goes through the whole chain of
+ * decorators. Until the warm-up is completed, the application refuses traffic.
+ */
+@Component
+public class GeneratorWarmUp {
+
+  static final String URL_PREFIX = "https://pdfobject.com/pdf/warm-up-";
+
+  private final Logger logger = LoggerFactory.getLogger(GeneratorWarmUp.class);
+
+  private final CountDownLatch completed = new CountDownLatch(1);
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private HotKeyStore hotKeys;
+
+  @Value("${qrcode.warmup.enabled:true}")
+  private boolean enabled;
+
+  @Value("${qrcode.warmup.iterations:2000}")
+  private int iterations;
+
+  @Value("${qrcode.warmup.sizes:100,300,500}")
+  private int[] sizes;
+
+  @Value("${qrcode.warmup.url-lengths:40,120,400}")
+  private int[] urlLengths;
+
+  @Value("${qrcode.warmup.max-duration:30s}")
+  private Duration maxDuration;
+
+  /**
+   * Starts the warm-up, once the application is ready.
+   *
+   * @param event Application ready event, whose context is notified of the readiness changes
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void start(ApplicationReadyEvent event) {
+
+    boolean jitWarmUp = enabled && iterations > 0;
+    boolean preWarm = hotKeys.isEnabled();
+
+    if (!jitWarmUp && !preWarm) {
+      completed.countDown();
+      return;
+    }
+
+    AvailabilityChangeEvent.publish(event.getApplicationContext(),
+        ReadinessState.REFUSING_TRAFFIC);
+
+    Thread.ofPlatform().name("qrcode-warm-up").daemon(true).start(() -> {
+      try {
+        if (jitWarmUp) {
+          run();
+        }
+        if (preWarm) {
+          hotKeys.preWarm();
+        }
+      }
+      finally {
+        // accepting traffic before completion, so that waiting callers see both at once
+        AvailabilityChangeEvent.publish(event.getApplicationContext(),
+            ReadinessState.ACCEPTING_TRAFFIC);
+        completed.countDown();
+      }
+    });
+  }
+
+  /**
+   * @return Whether the warm-up is completed, or disabled
+   */
+  public boolean isCompleted() {
+
+    return completed.getCount() == 0;
+  }
+
+  /**
+   * Waits for the warm-up to be completed, e.g., before measuring anything.
+   *
+   * @param timeout Upper limit of time to wait
+   * @return Whether the warm-up is completed
+   * @throws InterruptedException in case the waiting thread is interrupted
+   */
+  public boolean awaitCompletion(Duration timeout) throws InterruptedException {
+
+    return completed.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  void run() {
+
+    logger.info("Warming up QR Code generation, {} iterations", iterations);
+
+    ZXingBasedGeneratorServiceImpl generatorService = new ZXingBasedGeneratorServiceImpl();
+    long deadline = System.nanoTime() + maxDuration.toNanos();
+    long start = System.nanoTime();
+    int iteration = 0;
+
+    try {
+      for (; iteration < iterations && System.nanoTime() < deadline; iteration++) {
+
+        int size = sizes[iteration % sizes.length];
+        String url = createUrl(iteration, urlLengths[(iteration / sizes.length)
+            % urlLengths.length]);
+
+        BytesArray result = new BytesArray();
+        result.setOutput(generatorService.generateQRCodeBytes(url, size));
+        objectMapper.writeValueAsBytes(result);
+      }
+    }
+    catch (ExceptionOnGeneration | JsonProcessingException e) {
+      logger.error("Warm-up failed: {}", e.getMessage());
+    }
+
+    logger.info("QR Code generation warmed up, {} iterations in {} ms", iteration,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+  }
+
+  static String createUrl(int iteration, int length) {
+
+    // distinct URLs, so that every iteration goes through the encoding
+    StringBuilder url = new StringBuilder(length).append(URL_PREFIX).append(iteration).append('/');
+
+    while (url.length() < length) {
+      url.append('a');
+    }
+
+    return url.toString();
+  }
+}
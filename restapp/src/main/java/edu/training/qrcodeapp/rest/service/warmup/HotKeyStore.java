@@ -0,0 +1,248 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the hottest keys of the render cache, so that a restarted instance generates its working
+ * set before taking traffic, rather than facing a storm of cache misses.
+ * <p>
+ * Keys are ranked by the frequency sketch of {@link CachingGeneratorServiceImpl} and saved
+ * periodically, and on shutdown, as newline-delimited JSON. On startup, {@link GeneratorWarmUp}
+ * has them generated again, in parallel on the render executor, through the very same service as
+ * the requests, which fills the caches on the way. Saving starts once the pre-warming is done, so
+ * an instance stopped in the middle of it does not overwrite the file with a partial working set.
+ */
+@Component
+public class HotKeyStore {
+
+  private final Logger logger = LoggerFactory.getLogger(HotKeyStore.class);
+
+  @Autowired
+  private QRCodeGeneratorService generatorService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  @Qualifier("renderExecutor")
+  private ExecutorService renderExecutor;
+
+  @Value("${qrcode.prewarm.enabled:false}")
+  private boolean enabled;
+
+  @Value("${qrcode.prewarm.file:${java.io.tmpdir}/qrcode-hot-keys.ndjson}")
+  private Path file;
+
+  @Value("${qrcode.prewarm.max-keys:1000}")
+  private int maxKeys;
+
+  @Value("${qrcode.prewarm.save-interval:60s}")
+  private Duration saveInterval;
+
+  @Value("${qrcode.prewarm.max-duration:30s}")
+  private Duration maxDuration;
+
+  private ScheduledExecutorService saver;
+
+  /**
+   * @return Whether hot keys are persisted and pre-warmed, which requires the render cache
+   */
+  public boolean isEnabled() {
+
+    return enabled && generatorService instanceof CachingGeneratorServiceImpl;
+  }
+
+  /**
+   * Generates the saved hot keys again, waiting for their completion up to the configured
+   * duration, and then starts saving them periodically.
+   */
+  public void preWarm() {
+
+    List<RenderKey> keys = load();
+    long start = System.nanoTime();
+    int generated = 0;
+
+    if (!keys.isEmpty()) {
+
+      logger.info("Pre-warming caches with {} hot keys", keys.size());
+
+      List<Callable<byte[]>> generations = keys.stream()
+          .<Callable<byte[]>>map(key -> () -> generate(key))
+          .toList();
+
+      try {
+        // generations not done in time are cancelled
+        for (Future<byte[]> generation : renderExecutor.invokeAll(generations,
+            maxDuration.toNanos(), TimeUnit.NANOSECONDS)) {
+          generated += generation.state() == Future.State.SUCCESS ? 1 : 0;
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+
+      logger.info("Caches pre-warmed, {} of {} hot keys in {} ms", generated, keys.size(),
+          TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    startSaving();
+  }
+
+  /**
+   * Saves the hottest keys of the render cache, replacing the former ones atomically.
+   *
+   * @throws IOException in case the file cannot be written
+   */
+  public synchronized void save() throws IOException {
+
+    List<RenderKey> keys = ((CachingGeneratorServiceImpl) generatorService).getHottestKeys(maxKeys);
+
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temporaryFile = directory.resolve(file.getFileName() + ".tmp");
+
+    try (BufferedWriter writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+      for (RenderKey key : keys) {
+        writer.write(objectMapper.writeValueAsString(key));
+        writer.newLine();
+      }
+    }
+
+    Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+
+    logger.debug("{} hot keys saved", keys.size());
+  }
+
+  /**
+   * Stops saving periodically, saving the hot keys one last time.
+   *
+   * @param event Context closed event
+   */
+  @EventListener(ContextClosedEvent.class)
+  public synchronized void stop(ContextClosedEvent event) {
+
+    if (saver == null) {
+      return;
+    }
+
+    saver.shutdownNow();
+    saver = null;
+    saveQuietly();
+  }
+
+  private synchronized void startSaving() {
+
+    if (saver != null) {
+      return;
+    }
+
+    saver = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("qrcode-hot-keys").daemon(true).factory());
+
+    long interval = saveInterval.toMillis();
+    saver.scheduleWithFixedDelay(this::saveQuietly, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  private void saveQuietly() {
+
+    try {
+      save();
+    }
+    catch (IOException e) {
+      logger.error("Hot keys not saved: {}", e.getMessage());
+    }
+  }
+
+  // nothing to pre-warm on first start, lines that cannot be read are skipped
+  private List<RenderKey> load() {
+
+    if (Files.notExists(file)) {
+      return List.of();
+    }
+
+    List<RenderKey> keys = new ArrayList<>();
+
+    try {
+      for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+        try {
+          keys.add(objectMapper.readValue(line, RenderKey.class));
+        }
+        catch (JsonProcessingException e) {
+          logger.warn("Hot key skipped: {}", e.getOriginalMessage());
+        }
+      }
+    }
+    catch (IOException e) {
+      logger.error("Hot keys not loaded: {}", e.getMessage());
+    }
+
+    return keys.subList(0, Math.min(keys.size(), maxKeys));
+  }
+
+  private byte[] generate(RenderKey key) throws ExceptionOnGeneration {
+
+    return switch (key.variant()) {
+      case PNG_FAST -> generatorService.generateQRCodeBytes(key.url(), key.size(),
+          OutputProfile.FAST);
+      case PNG -> generatorService.generateQRCodeBytes(key.url(), key.size(),
+          OutputProfile.BALANCED);
+      case SVG -> generatorService.generateQRCodeSvg(key.url(), false);
+      case SVG_GZIP -> generatorService.generateQRCodeSvg(key.url(), true);
+      case MODULES -> generatorService.generateQRCodeModules(key.url());
+    };
+  }
+}
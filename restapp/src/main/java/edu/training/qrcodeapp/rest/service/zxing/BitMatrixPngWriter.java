@@ -0,0 +1,733 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import com.google.zxing.common.BitArray;
+import com.google.zxing.common.BitMatrix;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Minimal PNG encoder for QR codes.
+ * <p>
+ * The rows of a {@link BitMatrix}, or of a {@link ModuleGrid} scaled up, are packed as 1-bit
+ * grayscale scanlines (black modules as 0, white as 1) and fed straight into a {@link Deflater},
+ * so neither a {@link java.awt.image.BufferedImage} nor ImageIO are involved. How scanlines are
+ * deflated is given by the {@link OutputProfile}.
+ * <p>
+ * Everything an image takes to be written, i.e., deflaters, scanline, chunk and output buffers,
+ * is held by scratch objects pooled between calls, so that only the resulting array of bytes is
+ * allocated. Images too large to be held in memory, e.g., posters, are written straight into a
+ * stream instead, optionally with the deflate work split into blocks across threads. The pool is
+ * shared by all threads rather than thread-local, as virtual threads are never reused and would
+ * allocate their own scratch for every image.
+ *
+ * @see <a href="https://www.w3.org/TR/png/">PNG Specification</a>
+ */
+public class BitMatrixPngWriter {
+
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+  private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+  private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+  private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+
+  // PNG header values: 1 bit per pixel, grayscale, deflate, adaptive filtering, no interlace
+  private static final int BIT_DEPTH = 1;
+  private static final int COLOR_TYPE_GRAYSCALE = 0;
+  private static final int FILTER_TYPE_NONE = 0;
+  private static final int HEADER_SIZE = 13;
+
+  // size of the deflate output chunks, each one is written as an IDAT chunk
+  private static final int CHUNK_SIZE = 8 * 1024;
+  // in bytes, uncompressed scanlines deflated by each task when deflating in parallel
+  private static final int BLOCK_SIZE = 128 * 1024;
+  // in bytes, the deflate window, i.e., how far back a block may refer to the previous one
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+  // zlib stream header: deflate with a 32K window
+  private static final int ZLIB_METHOD = 0x78;
+  // modulus of the Adler-32 checksum
+  private static final int ADLER_BASE = 65521;
+  // upper limit of idle scratch objects kept in the pool
+  private static final int MAX_POOLED_SCRATCHES = Runtime.getRuntime().availableProcessors() * 2;
+
+  private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Encodes the given matrix as PNG, with the {@link OutputProfile#BALANCED} profile.
+   *
+   * @param bitMatrix QR code matrix, where set bits are black pixels
+   * @return PNG image as array of bytes
+   * @throws IOException in case the image cannot be written
+   */
+  public byte[] toBytes(BitMatrix bitMatrix) throws IOException {
+
+    return toBytes(bitMatrix, OutputProfile.BALANCED);
+  }
+
+  /**
+   * Encodes the given matrix as PNG.
+   *
+   * @param bitMatrix QR code matrix, where set bits are black pixels
+   * @param profile   Profile of the image
+   * @return PNG image as array of bytes
+   * @throws IOException in case the image cannot be written
+   */
+  public byte[] toBytes(BitMatrix bitMatrix, OutputProfile profile) throws IOException {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      write(bitMatrix, profile, scratch, scratch.output);
+      return scratch.output.toByteArray();
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  /**
+   * Encodes the given module grid as PNG of the given size, with the same layout as
+   * {@link ModuleGrid#render(int)}.
+   * <p>
+   * Scanlines are rasterized out of the modules on the fly, one per module row, and fed as many
+   * times as pixels per module to the deflater, so no matrix of pixels is ever built.
+   *
+   * @param moduleGrid Module grid of the QR code
+   * @param size       both height and width values in pixels
+   * @param profile    Profile of the image
+   * @return PNG image as array of bytes
+   * @throws IOException in case the image cannot be written
+   */
+  public byte[] toBytes(ModuleGrid moduleGrid, int size, OutputProfile profile)
+      throws IOException {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      write(moduleGrid, size, profile, scratch, scratch.output);
+      return scratch.output.toByteArray();
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  /**
+   * Encodes the given module grid as PNG of the given size straight into the given stream, see
+   * {@link #toBytes(ModuleGrid, int, OutputProfile)}, for images too large to be held in memory.
+   * Only one scanline and one chunk are held at any time, whatever the size.
+   *
+   * @param moduleGrid Module grid of the QR code
+   * @param size       both height and width values in pixels
+   * @param profile    Profile of the image
+   * @param output     Target stream, which is not closed
+   * @return Number of bytes written
+   * @throws IOException in case the image cannot be written
+   */
+  public long write(ModuleGrid moduleGrid, int size, OutputProfile profile, OutputStream output)
+      throws IOException {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      write(moduleGrid, size, profile, scratch, output);
+      return scratch.written;
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  /**
+   * Encodes the given module grid as PNG of the given size straight into the given stream, with
+   * the deflate work split into blocks of scanlines run in parallel on the given executor.
+   * <p>
+   * Each block is deflated on its own, primed with the scanlines preceding it, and ends on a byte
+   * boundary, so that blocks are written one after the other as a single deflate stream. Blocks
+   * are written in order as soon as they are ready, with at most twice the given parallelism in
+   * flight, so memory is bounded whatever the size. The executor must not be the one of the
+   * calling thread, as the caller waits for the blocks.
+   *
+   * @param moduleGrid  Module grid of the QR code
+   * @param size        both height and width values in pixels
+   * @param profile     Profile of the image
+   * @param output      Target stream, which is not closed
+   * @param executor    Executor the blocks are deflated on
+   * @param parallelism Number of blocks deflated at the same time
+   * @return Number of bytes written
+   * @throws IOException in case the image cannot be written
+   */
+  public long write(ModuleGrid moduleGrid, int size, OutputProfile profile, OutputStream output,
+      ExecutorService executor, int parallelism) throws IOException {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      int outputSize = moduleGrid.getOutputSize(size);
+
+      writeSignature(scratch, output);
+      writeHeader(outputSize, outputSize, scratch, output);
+      writeBlocks(moduleGrid, size, profile, executor, parallelism, scratch, output);
+      writeChunk(IEND, scratch.chunk, 0, scratch, output);
+
+      return scratch.written;
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  /**
+   * Encodes the given matrix as PNG into the given stream.
+   *
+   * @param bitMatrix QR code matrix, where set bits are black pixels
+   * @param profile   Profile of the image
+   * @param output    Target stream, which is not closed
+   * @throws IOException in case the image cannot be written
+   */
+  public void write(BitMatrix bitMatrix, OutputProfile profile, OutputStream output)
+      throws IOException {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      write(bitMatrix, profile, scratch, output);
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  private void write(BitMatrix bitMatrix, OutputProfile profile, Scratch scratch,
+      OutputStream output) throws IOException {
+
+    writeSignature(scratch, output);
+    writeHeader(bitMatrix.getWidth(), bitMatrix.getHeight(), scratch, output);
+    writeData(bitMatrix, scratch.getDeflater(profile), scratch, output);
+    writeChunk(IEND, scratch.chunk, 0, scratch, output);
+  }
+
+  private void write(ModuleGrid moduleGrid, int size, OutputProfile profile, Scratch scratch,
+      OutputStream output) throws IOException {
+
+    int outputSize = moduleGrid.getOutputSize(size);
+
+    writeSignature(scratch, output);
+    writeHeader(outputSize, outputSize, scratch, output);
+    writeData(moduleGrid, size, scratch.getDeflater(profile), scratch, output);
+    writeChunk(IEND, scratch.chunk, 0, scratch, output);
+  }
+
+  private void writeSignature(Scratch scratch, OutputStream output) throws IOException {
+
+    output.write(SIGNATURE);
+    scratch.written += SIGNATURE.length;
+  }
+
+  private void writeHeader(int width, int height, Scratch scratch, OutputStream output)
+      throws IOException {
+
+    byte[] header = scratch.header;
+
+    putInt(header, 0, width);
+    putInt(header, 4, height);
+    header[8] = BIT_DEPTH;
+    header[9] = COLOR_TYPE_GRAYSCALE;
+    header[10] = 0; // compression method: deflate
+    header[11] = 0; // filter method: adaptive
+    header[12] = 0; // interlace method: none
+
+    writeChunk(IHDR, header, HEADER_SIZE, scratch, output);
+  }
+
+  private void writeData(BitMatrix bitMatrix, Deflater deflater, Scratch scratch,
+      OutputStream output) throws IOException {
+
+    int width = bitMatrix.getWidth();
+    int bytesPerRow = (width + 7) / 8;
+
+    // first byte of every scanline is its filter type
+    byte[] scanline = scratch.getScanline(bytesPerRow + 1);
+    int pending = 0;
+
+    for (int y = 0; y < bitMatrix.getHeight(); y++) {
+
+      scratch.row = bitMatrix.getRow(y, scratch.row);
+      scratch.row.toBytes(0, scanline, 1, bytesPerRow);
+      toScanline(scanline, 0, bytesPerRow);
+
+      pending = deflateScanline(deflater, scanline, bytesPerRow + 1, scratch, pending, output);
+    }
+
+    finishData(deflater, scratch, pending, output);
+  }
+
+  private void writeData(ModuleGrid moduleGrid, int size, Deflater deflater, Scratch scratch,
+      OutputStream output) throws IOException {
+
+    int outputSize = moduleGrid.getOutputSize(size);
+    int bytesPerRow = (outputSize + 7) / 8;
+
+    byte[] scanline = scratch.getScanline(bytesPerRow + 1);
+    int pending = 0;
+    int renderedRow = Integer.MIN_VALUE;
+
+    for (int y = 0; y < outputSize; y++) {
+
+      int moduleRow = moduleGrid.getModuleRow(size, y);
+
+      // pixel rows of the same module row are the same, so the scanline is kept as it is
+      if (moduleRow != renderedRow) {
+        renderScanline(moduleGrid, size, moduleRow, scanline, 0);
+        renderedRow = moduleRow;
+      }
+
+      pending = deflateScanline(deflater, scanline, bytesPerRow + 1, scratch, pending, output);
+    }
+
+    finishData(deflater, scratch, pending, output);
+  }
+
+  private static void renderScanline(ModuleGrid moduleGrid, int size, int moduleRow,
+      byte[] scanlines, int offset) {
+
+    moduleGrid.renderRow(size, moduleRow, scanlines, offset + 1);
+    toScanline(scanlines, offset, (moduleGrid.getOutputSize(size) + 7) / 8);
+  }
+
+  private static void toScanline(byte[] scanlines, int offset, int bytesPerRow) {
+
+    scanlines[offset] = FILTER_TYPE_NONE;
+
+    // in PNG grayscale 0 is black, which is the opposite of the matrix
+    for (int i = offset + 1; i <= offset + bytesPerRow; i++) {
+      scanlines[i] = (byte) ~scanlines[i];
+    }
+  }
+
+  private void writeBlocks(ModuleGrid moduleGrid, int size, OutputProfile profile,
+      ExecutorService executor, int parallelism, Scratch scratch, OutputStream output)
+      throws IOException {
+
+    int outputSize = moduleGrid.getOutputSize(size);
+    int blockRows = Math.max(1, BLOCK_SIZE / ((outputSize + 7) / 8 + 1));
+    Deque<Future<DeflatedBlock>> inFlight = new ArrayDeque<>();
+    int maxInFlight = Math.max(1, parallelism) * 2;
+    long adler32 = 1;
+
+    // blocks are raw deflate data, so the zlib header and trailer of the stream are written here
+    byte[] buffer = scratch.intBuffer;
+    int level = profile.getCompressionLevel();
+    int levelFlag = level < 2 ? 0 : level < 6 ? 1 : level == 6 ? 2 : 3;
+    int flags = levelFlag << 6;
+    buffer[0] = (byte) ZLIB_METHOD;
+    buffer[1] = (byte) (flags + 31 - ((ZLIB_METHOD << 8) + flags) % 31);
+    int pending = append(buffer, 2, scratch, 0, output);
+
+    try {
+
+      for (int row = 0; row < outputSize || !inFlight.isEmpty(); ) {
+
+        if (row < outputSize && inFlight.size() < maxInFlight) {
+          int firstRow = row;
+          int lastRow = Math.min(outputSize, row + blockRows);
+          inFlight.add(executor.submit(
+              () -> deflateBlock(moduleGrid, size, profile, firstRow, lastRow)));
+          row = lastRow;
+          continue;
+        }
+
+        DeflatedBlock block = await(inFlight.poll());
+        adler32 = combineAdler32(adler32, block.adler32(), block.inputLength());
+        pending = append(block.data(), block.data().length, scratch, pending, output);
+      }
+    }
+    finally {
+      // only non-empty in case of failure, e.g., client went away
+      inFlight.forEach(future -> future.cancel(true));
+    }
+
+    putInt(buffer, 0, (int) adler32);
+    pending = append(buffer, 4, scratch, pending, output);
+
+    if (pending > 0) {
+      writeChunk(IDAT, scratch.chunk, pending, scratch, output);
+    }
+  }
+
+  private DeflatedBlock deflateBlock(ModuleGrid moduleGrid, int size, OutputProfile profile,
+      int firstRow, int lastRow) {
+
+    Scratch scratch = acquireScratch();
+
+    try {
+      int outputSize = moduleGrid.getOutputSize(size);
+      int scanlineLength = (outputSize + 7) / 8 + 1;
+      Deflater deflater = scratch.getRawDeflater(profile);
+      Adler32 adler32 = scratch.adler32;
+
+      // the scanlines preceding the block are the ones a single deflater would refer back to
+      int dictionaryRows = Math.min(firstRow, Math.max(1, DICTIONARY_SIZE / scanlineLength));
+
+      if (dictionaryRows > 0) {
+
+        byte[] dictionary = scratch.getDictionary(dictionaryRows * scanlineLength);
+
+        for (int i = 0; i < dictionaryRows; i++) {
+          renderScanline(moduleGrid, size,
+              moduleGrid.getModuleRow(size, firstRow - dictionaryRows + i), dictionary,
+              i * scanlineLength);
+        }
+
+        deflater.setDictionary(dictionary, 0, dictionaryRows * scanlineLength);
+      }
+
+      byte[] scanline = scratch.getScanline(scanlineLength);
+      byte[] chunk = scratch.chunk;
+      ByteArrayOutputStream data = scratch.output;
+      int renderedRow = Integer.MIN_VALUE;
+
+      for (int y = firstRow; y < lastRow; y++) {
+
+        int moduleRow = moduleGrid.getModuleRow(size, y);
+
+        if (moduleRow != renderedRow) {
+          renderScanline(moduleGrid, size, moduleRow, scanline, 0);
+          renderedRow = moduleRow;
+        }
+
+        adler32.update(scanline, 0, scanlineLength);
+        deflater.setInput(scanline, 0, scanlineLength);
+
+        while (!deflater.needsInput()) {
+          data.write(chunk, 0, deflater.deflate(chunk));
+        }
+      }
+
+      // the last block ends the stream, the others are flushed to a byte boundary
+      if (lastRow == outputSize) {
+
+        deflater.finish();
+
+        while (!deflater.finished()) {
+          data.write(chunk, 0, deflater.deflate(chunk));
+        }
+      }
+      else {
+
+        int length;
+
+        do {
+          length = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+          data.write(chunk, 0, length);
+        } while (length == chunk.length);
+      }
+
+      return new DeflatedBlock(data.toByteArray(), (int) adler32.getValue(),
+          (long) (lastRow - firstRow) * scanlineLength);
+    }
+    finally {
+      releaseScratch(scratch);
+    }
+  }
+
+  // copies data into the pending IDAT chunk, writing the chunk out whenever it is full
+  private int append(byte[] data, int length, Scratch scratch, int pending, OutputStream output)
+      throws IOException {
+
+    byte[] chunk = scratch.chunk;
+
+    for (int offset = 0; offset < length; ) {
+
+      int copied = Math.min(length - offset, chunk.length - pending);
+      System.arraycopy(data, offset, chunk, pending, copied);
+      offset += copied;
+      pending += copied;
+
+      if (pending == chunk.length) {
+        writeChunk(IDAT, chunk, pending, scratch, output);
+        pending = 0;
+      }
+    }
+
+    return pending;
+  }
+
+  private DeflatedBlock await(Future<DeflatedBlock> future) throws IOException {
+
+    try {
+      return future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Image writing interrupted");
+    }
+    catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Combines the Adler-32 checksums of two consecutive pieces of data, as zlib's
+   * <code>adler32_combine</code>.
+   *
+   * @param adler1  Checksum of the first piece
+   * @param adler2  Checksum of the second piece
+   * @param length2 Length of the second piece
+   * @return Checksum of both pieces together
+   */
+  static long combineAdler32(long adler1, long adler2, long length2) {
+
+    long remainder = length2 % ADLER_BASE;
+    long sum1 = adler1 & 0xFFFF;
+    long sum2 = (remainder * sum1) % ADLER_BASE;
+
+    sum1 += (adler2 & 0xFFFF) + ADLER_BASE - 1;
+    sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + ADLER_BASE - remainder;
+
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum1 >= ADLER_BASE) {
+      sum1 -= ADLER_BASE;
+    }
+    if (sum2 >= ADLER_BASE * 2L) {
+      sum2 -= ADLER_BASE * 2L;
+    }
+    if (sum2 >= ADLER_BASE) {
+      sum2 -= ADLER_BASE;
+    }
+
+    return sum1 | (sum2 << 16);
+  }
+
+  private int deflateScanline(Deflater deflater, byte[] scanline, int length, Scratch scratch,
+      int pending, OutputStream output) throws IOException {
+
+    deflater.setInput(scanline, 0, length);
+
+    while (!deflater.needsInput()) {
+      pending = deflate(deflater, scratch, pending, output);
+    }
+
+    return pending;
+  }
+
+  private void finishData(Deflater deflater, Scratch scratch, int pending, OutputStream output)
+      throws IOException {
+
+    deflater.finish();
+
+    while (!deflater.finished()) {
+      pending = deflate(deflater, scratch, pending, output);
+    }
+
+    if (pending > 0) {
+      writeChunk(IDAT, scratch.chunk, pending, scratch, output);
+    }
+  }
+
+  private int deflate(Deflater deflater, Scratch scratch, int pending, OutputStream output)
+      throws IOException {
+
+    byte[] chunk = scratch.chunk;
+
+    pending += deflater.deflate(chunk, pending, chunk.length - pending);
+
+    if (pending == chunk.length) {
+      writeChunk(IDAT, chunk, pending, scratch, output);
+      return 0;
+    }
+
+    return pending;
+  }
+
+  private void writeChunk(byte[] type, byte[] data, int length, Scratch scratch,
+      OutputStream output) throws IOException {
+
+    byte[] buffer = scratch.intBuffer;
+
+    CRC32 crc = scratch.crc;
+    crc.reset();
+    crc.update(type);
+    crc.update(data, 0, length);
+
+    putInt(buffer, 0, length);
+    output.write(buffer);
+    output.write(type);
+    output.write(data, 0, length);
+    putInt(buffer, 0, (int) crc.getValue());
+    output.write(buffer);
+
+    // length, type and CRC take 4 bytes each
+    scratch.written += 12 + length;
+  }
+
+  private Scratch acquireScratch() {
+
+    Scratch scratch = scratchPool.poll();
+
+    return scratch != null ? scratch : new Scratch();
+  }
+
+  private void releaseScratch(Scratch scratch) {
+
+    // the size check is not atomic, the pool may slightly exceed its limit under contention
+    if (scratchPool.size() < MAX_POOLED_SCRATCHES) {
+      scratch.reset();
+      scratchPool.offer(scratch);
+      return;
+    }
+
+    scratch.end();
+  }
+
+  private static void putInt(byte[] buffer, int offset, int value) {
+
+    buffer[offset] = (byte) (value >>> 24);
+    buffer[offset + 1] = (byte) (value >>> 16);
+    buffer[offset + 2] = (byte) (value >>> 8);
+    buffer[offset + 3] = (byte) value;
+  }
+
+  /**
+   * Buffers and deflaters used to write one image at a time.
+   */
+  private static final class Scratch {
+
+    // compressed QR codes of the largest sizes take a few KB, larger outputs are not kept
+    private static final int OUTPUT_CAPACITY = 8 * 1024;
+    private static final int MAX_RETAINED_OUTPUT = 64 * 1024;
+
+    private final Map<OutputProfile, Deflater> deflaters = new EnumMap<>(OutputProfile.class);
+
+    // with no zlib header nor trailer, for blocks deflated in parallel
+    private final Map<OutputProfile, Deflater> rawDeflaters = new EnumMap<>(OutputProfile.class);
+
+    private final CRC32 crc = new CRC32();
+
+    private final Adler32 adler32 = new Adler32();
+
+    private final byte[] header = new byte[HEADER_SIZE];
+
+    private final byte[] intBuffer = new byte[4];
+
+    private final byte[] chunk = new byte[CHUNK_SIZE];
+
+    private ByteArrayOutputStream output = new ByteArrayOutputStream(OUTPUT_CAPACITY);
+
+    private byte[] scanline = new byte[0];
+
+    private byte[] dictionary = new byte[0];
+
+    // in bytes, how much was written to the target stream
+    private long written;
+
+    private BitArray row;
+
+    Deflater getDeflater(OutputProfile profile) {
+
+      return deflaters.computeIfAbsent(profile, key -> createDeflater(key, false));
+    }
+
+    Deflater getRawDeflater(OutputProfile profile) {
+
+      return rawDeflaters.computeIfAbsent(profile, key -> createDeflater(key, true));
+    }
+
+    byte[] getDictionary(int length) {
+
+      if (dictionary.length < length) {
+        dictionary = new byte[length];
+      }
+
+      return dictionary;
+    }
+
+    byte[] getScanline(int length) {
+
+      if (scanline.length < length) {
+        scanline = new byte[length];
+      }
+
+      return scanline;
+    }
+
+    /**
+     * Makes the scratch ready for the next image.
+     */
+    void reset() {
+
+      deflaters.values().forEach(Deflater::reset);
+      rawDeflaters.values().forEach(Deflater::reset);
+      adler32.reset();
+      written = 0;
+
+      if (output.size() > MAX_RETAINED_OUTPUT) {
+        output = new ByteArrayOutputStream(OUTPUT_CAPACITY);
+      }
+
+      output.reset();
+    }
+
+    void end() {
+
+      deflaters.values().forEach(Deflater::end);
+      rawDeflaters.values().forEach(Deflater::end);
+    }
+
+    private static Deflater createDeflater(OutputProfile profile, boolean raw) {
+
+      Deflater deflater = new Deflater(profile.getCompressionLevel(), raw);
+      deflater.setStrategy(profile.getCompressionStrategy());
+      return deflater;
+    }
+  }
+
+  /**
+   * Scanlines of a block deflated on their own.
+   *
+   * @param data        Raw deflate data of the block
+   * @param adler32     Adler-32 checksum of the scanlines
+   * @param inputLength Number of bytes of the scanlines
+   */
+  private record DeflatedBlock(byte[] data, int adler32, long inputLength) {
+  }
+}
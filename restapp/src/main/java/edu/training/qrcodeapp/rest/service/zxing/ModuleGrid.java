@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.encoder.ByteMatrix;
+import com.google.zxing.qrcode.encoder.QRCode;
+import java.util.Arrays;
+
+/**
+ * Size independent module grid of an encoded QR code, i.e., one bit per module.
+ * <p>
+ * Encoding the symbol (Reed-Solomon error correction and mask selection) depends only on its
+ * content, so a grid can be computed once and rendered at any size afterward.
+ *
+ * @param version QR code version, from 1 to 40
+ * @param modules Square matrix of modules, where set bits are dark modules; it must not be
+ *                modified once the grid is created
+ */
+public record ModuleGrid(int version, BitMatrix modules) {
+
+  // in modules, the white border around the symbol, as in the default of ZXing's QRCodeWriter
+  public static final int QUIET_ZONE = 4;
+
+  // in bytes, version and dimension in front of the packed modules
+  public static final int PACKED_HEADER_SIZE = 2;
+
+  /**
+   * Creates the grid out of ZXing's encoded QR code.
+   *
+   * @param qrCode Encoded QR code
+   * @return Module grid
+   */
+  public static ModuleGrid of(QRCode qrCode) {
+
+    ByteMatrix input = qrCode.getMatrix();
+    BitMatrix modules = new BitMatrix(input.getWidth(), input.getHeight());
+
+    for (int y = 0; y < input.getHeight(); y++) {
+      for (int x = 0; x < input.getWidth(); x++) {
+        if (input.get(x, y) == 1) {
+          modules.set(x, y);
+        }
+      }
+    }
+
+    return new ModuleGrid(qrCode.getVersion().getVersionNumber(), modules);
+  }
+
+  /**
+   * @return Number of modules per side, without quiet zone
+   */
+  public int dimension() {
+
+    return modules.getWidth();
+  }
+
+  /**
+   * Renders the grid as an image of the given size.
+   * <p>
+   * The layout is the same as the one of ZXing's QRCodeWriter: modules are scaled by the largest
+   * integer factor that fits the size together with the quiet zone, and the symbol is centered.
+   *
+   * @param size both height and width values in pixels
+   * @return Matrix of pixels, where set bits are black pixels
+   */
+  public BitMatrix render(int size) {
+
+    int dimension = dimension();
+    int multiple = getMultiple(size);
+    int padding = getPadding(size);
+    int outputSize = getOutputSize(size);
+    BitMatrix output = new BitMatrix(outputSize, outputSize);
+
+    for (int y = 0, outputY = padding; y < dimension; y++, outputY += multiple) {
+      for (int x = 0, outputX = padding; x < dimension; x++, outputX += multiple) {
+        if (modules.get(x, y)) {
+          output.setRegion(outputX, outputY, multiple, multiple);
+        }
+      }
+    }
+
+    return output;
+  }
+
+  /**
+   * Renders one row of modules as a row of pixels of an image of the given size, with the same
+   * layout as {@link #render(int)}.
+   * <p>
+   * All pixel rows of a module row are the same, so callers render each module row once, see
+   * {@link #getModuleRow(int, int)}, and the cost depends on the number of modules rather than on
+   * the number of pixels.
+   *
+   * @param size      both height and width values in pixels
+   * @param moduleRow Index of the module row, or -1 for a row of the quiet zone
+   * @param pixels    Target of the pixels, 8 per byte and most significant bit first, where set
+   *                  bits are black pixels
+   * @param offset    Index in the target of the first byte of the row
+   */
+  public void renderRow(int size, int moduleRow, byte[] pixels, int offset) {
+
+    int rowLength = (getOutputSize(size) + 7) / 8;
+
+    Arrays.fill(pixels, offset, offset + rowLength, (byte) 0);
+
+    if (moduleRow < 0) {
+      return;
+    }
+
+    int multiple = getMultiple(size);
+
+    // runs of dark modules are set at once, as the bits of a run are contiguous
+    for (int x = 0, outputX = getPadding(size); x < dimension(); ) {
+
+      if (!modules.get(x, moduleRow)) {
+        x++;
+        outputX += multiple;
+        continue;
+      }
+
+      int start = outputX;
+
+      while (x < dimension() && modules.get(x, moduleRow)) {
+        x++;
+        outputX += multiple;
+      }
+
+      setBits(pixels, offset, start, outputX);
+    }
+  }
+
+  /**
+   * Packs the grid into a compact binary form, for clients that draw the QR code themselves.
+   * <p>
+   * The first byte is the version and the second one the dimension, i.e., number of modules per
+   * side. Modules follow row by row, one bit each, most significant bit first, where set bits are
+   * dark modules. Rows are not padded, only the last byte is.
+   *
+   * @return Packed grid
+   */
+  public byte[] pack() {
+
+    int dimension = dimension();
+    byte[] packed = new byte[PACKED_HEADER_SIZE + (dimension * dimension + 7) / 8];
+
+    packed[0] = (byte) version;
+    packed[1] = (byte) dimension;
+
+    for (int y = 0, bit = 0; y < dimension; y++) {
+      for (int x = 0; x < dimension; x++, bit++) {
+        if (modules.get(x, y)) {
+          packed[PACKED_HEADER_SIZE + bit / 8] |= (byte) (0x80 >>> (bit % 8));
+        }
+      }
+    }
+
+    return packed;
+  }
+
+  /**
+   * @param size both height and width values in pixels
+   * @return Actual height and width values in pixels, larger than the given size if the grid does
+   * not fit in it with its quiet zone
+   */
+  public int getOutputSize(int size) {
+
+    return Math.max(size, dimension() + QUIET_ZONE * 2);
+  }
+
+  /**
+   * @param size both height and width values in pixels
+   * @return Pixels per module for the given image size
+   */
+  public int getMultiple(int size) {
+
+    int sizeWithQuietZone = dimension() + QUIET_ZONE * 2;
+
+    return Math.max(size, sizeWithQuietZone) / sizeWithQuietZone;
+  }
+
+  /**
+   * @param size both height and width values in pixels
+   * @param y    Index of the row of pixels
+   * @return Index of the module row the row of pixels belongs to, or -1 if it is in the quiet zone
+   */
+  public int getModuleRow(int size, int y) {
+
+    int moduleRow = Math.floorDiv(y - getPadding(size), getMultiple(size));
+
+    return moduleRow < dimension() ? Math.max(moduleRow, -1) : -1;
+  }
+
+  // in pixels, the margin in front of the first module, i.e., quiet zone and centering
+  private int getPadding(int size) {
+
+    return (getOutputSize(size) - dimension() * getMultiple(size)) / 2;
+  }
+
+  // sets the bits from start (inclusive) to end (exclusive) of a row of pixels
+  private static void setBits(byte[] pixels, int offset, int start, int end) {
+
+    int first = start / 8;
+    int last = (end - 1) / 8;
+    int head = 0xFF >>> (start % 8);
+    int tail = 0xFF << (7 - (end - 1) % 8);
+
+    if (first == last) {
+      pixels[offset + first] |= (byte) (head & tail);
+      return;
+    }
+
+    pixels[offset + first] |= (byte) head;
+    Arrays.fill(pixels, offset + first + 1, offset + last, (byte) 0xFF);
+    pixels[offset + last] |= (byte) tail;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import com.google.zxing.common.BitMatrix;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Minimal SVG encoder for QR codes.
+ * <p>
+ * The image is drawn in module units, i.e., its view box is the grid with its quiet zone, so the
+ * very same document is displayed sharply at any size. All dark modules make up a single path:
+ * horizontal runs of dark modules are merged into one rectangle each, row by row.
+ *
+ * @see <a href="https://www.w3.org/TR/SVG2/paths.html">SVG paths</a>
+ */
+public class ModuleGridSvgWriter {
+
+  /**
+   * Encodes the given grid as SVG.
+   *
+   * @param moduleGrid Module grid of the QR code
+   * @return SVG document as UTF-8 bytes
+   */
+  public byte[] toBytes(ModuleGrid moduleGrid) {
+
+    return toSvg(moduleGrid).getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Encodes the given grid as gzip-compressed SVG, e.g., to be served with
+   * <code>Content-Encoding: gzip</code>.
+   *
+   * @param moduleGrid Module grid of the QR code
+   * @return Compressed SVG document
+   */
+  public byte[] toGzipBytes(ModuleGrid moduleGrid) {
+
+    byte[] svg = toBytes(moduleGrid);
+    ByteArrayOutputStream output = new ByteArrayOutputStream(svg.length / 2);
+
+    try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+      gzip.write(svg);
+    }
+    catch (IOException e) {
+      // not expected when writing in memory
+      throw new UncheckedIOException(e);
+    }
+
+    return output.toByteArray();
+  }
+
+  String toSvg(ModuleGrid moduleGrid) {
+
+    BitMatrix modules = moduleGrid.modules();
+    int dimension = moduleGrid.dimension();
+    int viewSize = dimension + ModuleGrid.QUIET_ZONE * 2;
+
+    // runs average a couple of modules, each one taking about 16 characters
+    StringBuilder svg = new StringBuilder(256 + dimension * dimension * 4);
+
+    svg.append("<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ")
+        .append(viewSize).append(' ').append(viewSize)
+        .append("\" shape-rendering=\"crispEdges\">")
+        .append("<rect width=\"100%\" height=\"100%\" fill=\"#fff\"/>")
+        .append("<path fill=\"#000\" d=\"");
+
+    for (int y = 0; y < dimension; y++) {
+
+      int x = 0;
+
+      while (x < dimension) {
+
+        if (!modules.get(x, y)) {
+          x++;
+          continue;
+        }
+
+        int start = x;
+
+        while (x < dimension && modules.get(x, y)) {
+          x++;
+        }
+
+        int run = x - start;
+
+        svg.append('M').append(start + ModuleGrid.QUIET_ZONE)
+            .append(' ').append(y + ModuleGrid.QUIET_ZONE)
+            .append('h').append(run).append("v1h-").append(run).append('z');
+      }
+    }
+
+    return svg.append("\"/></svg>").toString();
+  }
+}
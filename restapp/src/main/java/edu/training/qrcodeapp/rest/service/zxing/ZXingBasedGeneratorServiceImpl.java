@@ -24,25 +24,43 @@
 
 package edu.training.qrcodeapp.rest.service.zxing;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.Writer;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageConfig;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
-import edu.training.qrcodeapp.rest.controller.QRCodeGeneratorController;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.Encoder;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
 import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.QRCodePoster;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics.Format;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics.Stage;
 import edu.training.qrcodeapp.rest.service.validator.InputDataValidator;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
  * "Zebra Crossing" ZXing implementation of {@link QRCodeGeneratorService}.
+ * <p>
+ * Generation is done in two steps: the URL is encoded into a size independent
+ * {@link ModuleGrid}, which is cached per URL, and the grid is then rendered at the requested
+ * size. This way, the same URL requested at different sizes is encoded only once. SVG images and
+ * packed module grids are written straight out of the grid, with no rendering at all. Posters are
+ * rendered and deflated scanline by scanline straight into the target stream, optionally in
+ * parallel blocks on the render executor.
+ * <p>
+ * The time spent in validation, encoding and rasterization is recorded in
+ * {@link GenerationMetrics}, as well as the size of the images and the failures.
  *
  * @see <a href="https://github.com/zxing/zxing?tab=readme-ov-file#get-started-developing">ZXing</a>
  */
@@ -51,44 +69,265 @@ public class ZXingBasedGeneratorServiceImpl implements QRCodeGeneratorService {
 
   private final Logger logger = LoggerFactory.getLogger(ZXingBasedGeneratorServiceImpl.class);
 
-  private final Writer qrCodeWriter = new QRCodeWriter();
+  // upper limit of module grids kept in memory, i.e., of distinct URLs
+  private static final long DEFAULT_MODULE_GRID_CACHE_SIZE = 10_000;
+
+  private final Cache<String, ModuleGrid> moduleGrids = Caffeine.newBuilder()
+      .maximumSize(DEFAULT_MODULE_GRID_CACHE_SIZE)
+      .recordStats()
+      .build();
+
+  private final BitMatrixPngWriter pngWriter = new BitMatrixPngWriter();
+
+  private final ModuleGridSvgWriter svgWriter = new ModuleGridSvgWriter();
+
+  private GenerationMetrics metrics = GenerationMetrics.DISABLED;
+
+  private ExecutorService renderExecutor;
+
+  private int posterParallelism = 1;
 
   @Override
-  public byte[] generateQRCodeBytes(String url, int size) throws ExceptionOnGeneration {
+  public byte[] generateQRCodeBytes(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
 
     logger.debug("Generating QR Code");
 
-    InputDataValidator.INSTANCE.validateUrl(url);
-    InputDataValidator.INSTANCE.validateSize(size);
+    long start = System.nanoTime();
+
+    try {
+      InputDataValidator.INSTANCE.validateUrl(url);
+      InputDataValidator.INSTANCE.validateSize(size);
+    }
+    catch (ExceptionOnGeneration e) {
+      throw recordFailure(Stage.VALIDATION, size, start, e);
+    }
+
+    start = metrics.recordStage(Stage.VALIDATION, size, true, start);
 
     logger.debug("Input validated");
 
+    Stage stage = Stage.ENCODING;
     byte[] result;
 
     try {
-      BitMatrix bitMatrix = encodeInputData(url, size);
-      result = createBytes(bitMatrix);
+      ModuleGrid moduleGrid = encodeModules(url);
+      start = metrics.recordStage(stage, size, true, start);
+
+      stage = Stage.RASTERIZATION;
+      result = createBytes(moduleGrid, size, profile);
+      metrics.recordStage(stage, size, true, start);
     }
     catch (WriterException | IOException e) {
       logger.error("Error while generating the QR Code: {}", e.getMessage());
-      throw new ExceptionOnGeneration(e);
+      throw recordFailure(stage, size, start, new ExceptionOnGeneration(e));
     }
 
+    metrics.recordOutput(Format.PNG, size, result.length);
+
     logger.debug("QR Code generated: {}", result);
     return result;
   }
 
+  @Override
+  public byte[] generateQRCodeSvg(String url, boolean gzipped) throws ExceptionOnGeneration {
+
+    logger.debug("Generating QR Code as SVG");
+
+    return generateOutOfModules(url, gzipped ? Format.SVG_GZIP : Format.SVG,
+        gzipped ? svgWriter::toGzipBytes : svgWriter::toBytes);
+  }
+
+  @Override
+  public byte[] generateQRCodeModules(String url) throws ExceptionOnGeneration {
+
+    logger.debug("Generating QR Code as module grid");
+
+    return generateOutOfModules(url, Format.MODULES, ModuleGrid::pack);
+  }
+
+  @Override
+  public QRCodePoster createQRCodePoster(String url, int size, OutputProfile profile)
+      throws ExceptionOnGeneration {
+
+    logger.debug("Generating QR Code as poster");
+
+    long start = System.nanoTime();
+
+    try {
+      InputDataValidator.INSTANCE.validateUrl(url);
+      InputDataValidator.INSTANCE.validatePosterSize(size);
+    }
+    catch (ExceptionOnGeneration e) {
+      throw recordFailure(Stage.VALIDATION, size, start, e);
+    }
+
+    start = metrics.recordStage(Stage.VALIDATION, size, true, start);
+
+    ModuleGrid moduleGrid;
+
+    try {
+      moduleGrid = encodeModules(url);
+    }
+    catch (WriterException e) {
+      logger.error("Error while generating the QR Code: {}", e.getMessage());
+      throw recordFailure(Stage.ENCODING, size, start, new ExceptionOnGeneration(e));
+    }
+
+    metrics.recordStage(Stage.ENCODING, size, true, start);
+
+    return output -> writePoster(moduleGrid, size, profile, output);
+  }
+
+  /**
+   * Sets the upper limit of module grids kept in memory.
+   *
+   * @param maxEntries maximum number of cached module grids
+   */
+  @Value("${qrcode.cache.module-grid.max-entries:10000}")
+  public void setModuleGridCacheSize(long maxEntries) {
+
+    moduleGrids.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maxEntries));
+  }
+
+  /**
+   * Sets how many blocks of a poster are deflated at the same time on the render executor.
+   *
+   * @param parallelism number of blocks, 1 to deflate on the calling thread, 0 for the number of
+   *                    processors
+   */
+  @Value("${qrcode.poster.deflate-parallelism:1}")
+  public void setPosterParallelism(int parallelism) {
+
+    this.posterParallelism = parallelism > 0
+        ? parallelism
+        : Runtime.getRuntime().availableProcessors();
+  }
+
+  /**
+   * Sets the executor the blocks of posters are deflated on, when in parallel.
+   *
+   * @param renderExecutor Executor for CPU bound rendering done in the background
+   */
+  @Autowired
+  public void setRenderExecutor(@Qualifier("renderExecutor") ExecutorService renderExecutor) {
+
+    this.renderExecutor = renderExecutor;
+  }
+
+  /**
+   * Sets where the time spent in each stage, the image sizes and the failures are recorded.
+   *
+   * @param metrics Metrics of the QR code generation
+   */
+  @Autowired
+  public void setMetrics(GenerationMetrics metrics) {
+
+    this.metrics = metrics;
+  }
+
+  /**
+   * @return Cache of module grids per URL, e.g., for binding it to metrics
+   */
+  public Cache<String, ModuleGrid> getModuleGridCache() {
+
+    return moduleGrids;
+  }
+
   BitMatrix encodeInputData(String url, int size) throws WriterException {
 
-    return qrCodeWriter.encode(url, BarcodeFormat.QR_CODE, size, size);
+    return encodeModules(url).render(size);
+  }
+
+  ModuleGrid encodeModules(String url) throws WriterException {
+
+    ModuleGrid moduleGrid = moduleGrids.getIfPresent(url);
+
+    if (moduleGrid == null) {
+      // same error correction level as the default of ZXing's QRCodeWriter
+      moduleGrid = ModuleGrid.of(Encoder.encode(url, ErrorCorrectionLevel.L));
+      moduleGrids.put(url, moduleGrid);
+    }
+
+    return moduleGrid;
+  }
+
+  byte[] createBytes(BitMatrix bitMatrix, OutputProfile profile) throws IOException {
+
+    return pngWriter.toBytes(bitMatrix, profile);
+  }
+
+  byte[] createBytes(ModuleGrid moduleGrid, int size, OutputProfile profile) throws IOException {
+
+    return pngWriter.toBytes(moduleGrid, size, profile);
   }
 
-  byte[] createBytes(BitMatrix bitMatrix) throws IOException {
+  // outputs that scale to any size, written straight out of the module grid with no rendering
+  private byte[] generateOutOfModules(String url, Format format,
+      Function<ModuleGrid, byte[]> writer) throws ExceptionOnGeneration {
+
+    int size = GenerationMetrics.SCALABLE_SIZE;
+    long start = System.nanoTime();
+
+    try {
+      InputDataValidator.INSTANCE.validateUrl(url);
+    }
+    catch (ExceptionOnGeneration e) {
+      throw recordFailure(Stage.VALIDATION, size, start, e);
+    }
+
+    start = metrics.recordStage(Stage.VALIDATION, size, true, start);
+
+    ModuleGrid moduleGrid;
+
+    try {
+      moduleGrid = encodeModules(url);
+    }
+    catch (WriterException e) {
+      logger.error("Error while generating the QR Code: {}", e.getMessage());
+      throw recordFailure(Stage.ENCODING, size, start, new ExceptionOnGeneration(e));
+    }
+
+    start = metrics.recordStage(Stage.ENCODING, size, true, start);
+
+    byte[] result = writer.apply(moduleGrid);
+
+    metrics.recordStage(Stage.RASTERIZATION, size, true, start);
+    metrics.recordOutput(format, size, result.length);
+
+    return result;
+  }
+
+  private long writePoster(ModuleGrid moduleGrid, int size, OutputProfile profile,
+      OutputStream output) throws IOException {
+
+    long start = System.nanoTime();
+    long written;
+
+    try {
+      written = posterParallelism > 1 && renderExecutor != null
+          ? pngWriter.write(moduleGrid, size, profile, output, renderExecutor, posterParallelism)
+          : pngWriter.write(moduleGrid, size, profile, output);
+    }
+    catch (IOException e) {
+      // most likely the client went away, which is not a failure of the generation itself
+      metrics.recordStage(Stage.RASTERIZATION, size, false, start);
+      throw e;
+    }
+
+    metrics.recordStage(Stage.RASTERIZATION, size, true, start);
+    metrics.recordOutput(Format.PNG, size, (int) written);
+
+    logger.debug("QR Code poster generated: {} bytes", written);
+    return written;
+  }
 
-    ByteArrayOutputStream byteArray = new ByteArrayOutputStream();
+  private ExceptionOnGeneration recordFailure(Stage stage, int size, long start,
+      ExceptionOnGeneration failure) {
 
-    MatrixToImageWriter.writeToStream(bitMatrix, "PNG", byteArray, new MatrixToImageConfig());
+    metrics.recordStage(stage, size, false, start);
+    metrics.recordError(failure);
 
-    return byteArray.toByteArray();
+    return failure;
   }
 }
@@ -24,33 +24,57 @@
 
 package edu.training.qrcodeapp.rest.controller;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import edu.training.qrcodeapp.model.InputData;
 import edu.training.qrcodeapp.model.Status.StatusEnum;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
 import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 /**
  * Basic tests for {@link QRCodeGeneratorController}.
@@ -65,16 +89,25 @@ public class TestQRCodeGeneratorController {
   private static final String BASE_PATH = "/api/v1/qrcode";
   private static final String QRCODE_GENERATION_PATH = BASE_PATH + "/generate";
   private static final String QRCODE_HEALTH_PATH = BASE_PATH + "/health";
+  private static final String QRCODE_BATCH_PATH = BASE_PATH + "/batch";
+  private static final String QRCODE_POSTER_PATH = BASE_PATH + "/poster";
+  private static final String QRCODE_BATCH_RANGE_PATH = QRCODE_BATCH_PATH + "/range";
 
   @MockitoBean
   QRCodeGeneratorService generatorService;
 
+  @MockitoBean
+  GeneratorWarmUp warmUp;
+
   @Captor
   ArgumentCaptor<String> inputUrlArgumentCaptor;
 
   @Autowired
   private MockMvc mockMvc;
 
+  @Value("${qrcode.engine.version}")
+  private String engineVersion;
+
   /**
    * GIVEN that application is up and running
    * WHEN using REST GET <code>qrcode/health</code>
@@ -83,11 +116,30 @@ public class TestQRCodeGeneratorController {
   @Test
   public void testHealthStatus() throws Exception {
 
+    when(warmUp.isCompleted()).thenReturn(true);
+
     mockMvc.perform(get(QRCODE_HEALTH_PATH).contentType(MediaType.APPLICATION_JSON))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.status", is(StatusEnum.READY.getValue().toUpperCase())));
   }
 
+  /**
+   * GIVEN that application is up and running
+   * AND QR code generation is still warming up
+   * WHEN using REST GET <code>qrcode/health</code>
+   * THEN REST response is HTTP 503
+   * AND operation returns "unavailable" status
+   */
+  @Test
+  public void testHealthStatusDuringWarmUp() throws Exception {
+
+    when(warmUp.isCompleted()).thenReturn(false);
+
+    mockMvc.perform(get(QRCODE_HEALTH_PATH).contentType(MediaType.APPLICATION_JSON))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(jsonPath("$.status", is(StatusEnum.UNAVAILABLE.getValue().toUpperCase())));
+  }
+
   /**
    * GIVEN that application is up and running
    * WHEN using REST GET <code>qrcode/generate</code>
@@ -138,6 +190,31 @@ public class TestQRCodeGeneratorController {
     checkInputOnExecution(inputData);
   }
 
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND too many QR codes are being generated
+   * THEN REST response is HTTP 503
+   * AND the delay to retry after is sent in whole seconds, rounded up
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testServiceUnavailableWhenOverloaded() throws Exception {
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+
+    doThrow(new ExceptionOnOverload(ErrorCode.OVERLOADED, Duration.ofMillis(1500)))
+        .when(generatorService).generateQRCodeBytes(inputData.getUrl());
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .content(inputData.toJson()))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+        .andExpect(jsonPath("$.message", is(ErrorCode.OVERLOADED.getErrorDescription())));
+  }
+
   /**
    * GIVEN that application is up and running
    * WHEN using REST GET <code>qrcode/generate</code>
@@ -163,6 +240,534 @@ public class TestQRCodeGeneratorController {
     checkInputOnExecution(inputData);
   }
 
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND PNG image is accepted as response
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns QR code as raw bytes
+   */
+  @Test
+  public void testGenerateQrCodeImage() throws Exception {
+
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.generateQRCodeBytes(anyString())).thenReturn(output);
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.IMAGE_PNG)
+                .content(inputData.toJson()))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andExpect(content().bytes(output));
+
+    checkInputOnExecution(inputData);
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND PNG image is accepted as response
+   * AND input URL is empty
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message as JSON
+   */
+  @Test
+  public void testBadRequestOnImageWhenEmptyInputURL() throws Exception {
+
+    InputData inputData = new InputData();
+    inputData.setUrl("");
+
+    doThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT)).when(generatorService)
+        .generateQRCodeBytes(inputData.getUrl());
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.IMAGE_PNG)
+                .content(inputData.toJson()))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.message", is(ErrorCode.EMPTY_INPUT.getErrorDescription())));
+
+    checkInputOnExecution(inputData);
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND SVG image is accepted as response, as well as gzip encoding
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns the gzipped SVG image as raw bytes
+   */
+  @Test
+  public void testGenerateQrCodeSvg() throws Exception {
+
+    byte[] output = new byte[]{31, -117, 8};
+    when(generatorService.generateQRCodeSvg(anyString(), eq(true))).thenReturn(output);
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(QRCodeGeneratorController.IMAGE_SVG_VALUE)
+                .header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8")
+                .content(inputData.toJson()))
+        .andExpect(status().isCreated())
+        .andExpect(content().contentType(QRCodeGeneratorController.IMAGE_SVG_VALUE))
+        .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+        .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+        .andExpect(content().bytes(output));
+
+    verify(generatorService).generateQRCodeSvg(inputData.getUrl(), true);
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND module grid is accepted as JSON response
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns version, dimension and packed modules base64-encoded
+   */
+  @Test
+  public void testGenerateQrCodeModuleMatrix() throws Exception {
+
+    when(generatorService.generateQRCodeModules(anyString()))
+        .thenReturn(new byte[]{1, 21, -2, 7});
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(QRCodeGeneratorController.APPLICATION_MODULES_JSON_VALUE)
+                .content(inputData.toJson()))
+        .andExpect(status().isCreated())
+        .andExpect(
+            content().contentType(QRCodeGeneratorController.APPLICATION_MODULES_JSON_VALUE))
+        .andExpect(jsonPath("$.version").value(1))
+        .andExpect(jsonPath("$.dimension").value(21))
+        .andExpect(jsonPath("$.modules").value("/gc="));
+
+    verify(generatorService).generateQRCodeModules(inputData.getUrl());
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND input data has an output profile, but no size
+   * THEN REST response is HTTP 201
+   * AND the QR code is generated with that profile at the default size
+   */
+  @Test
+  public void testGenerateQrCodeWithProfile() throws Exception {
+
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt(), any())).thenReturn(output);
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+    inputData.setProfile("FAST");
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.IMAGE_PNG)
+                .content(inputData.toJson()))
+        .andExpect(status().isCreated())
+        .andExpect(content().bytes(output));
+
+    verify(generatorService).generateQRCodeBytes(inputData.getUrl(),
+        QRCodeGeneratorService.DEFAULT_SIZE, OutputProfile.FAST);
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND input data has an unknown output profile
+   * THEN REST response is HTTP 400
+   * AND operation returns the known profiles
+   */
+  @Test
+  public void testBadRequestOnUnknownProfile() throws Exception {
+
+    InputData inputData = new InputData();
+    inputData.setUrl("https://pdfobject.com/pdf/sample.pdf");
+    inputData.setProfile("tiny");
+
+    mockMvc.perform(
+            post(QRCODE_GENERATION_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .content(inputData.toJson()))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is("Profile must be one of: fast, balanced")));
+
+    verify(generatorService, never()).generateQRCodeBytes(anyString(), anyInt(), any());
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/generate</code> with URL and no size
+   * AND input data is valid
+   * THEN REST response is HTTP 200
+   * AND operation returns the PNG image at the default size
+   * AND with its ETag and immutable caching headers
+   */
+  @Test
+  public void testGetQrCodeImage() throws Exception {
+
+    String url = "https://pdfobject.com/pdf/sample.pdf";
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.generateQRCodeBytes(url, QRCodeGeneratorService.DEFAULT_SIZE,
+        OutputProfile.BALANCED)).thenReturn(output);
+
+    mockMvc.perform(get(QRCODE_GENERATION_PATH).param("url", url).accept(MediaType.IMAGE_PNG))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andExpect(header().string(HttpHeaders.ETAG, QRCodeGeneratorController.createETag(
+            engineVersion, url, QRCodeGeneratorService.DEFAULT_SIZE, OutputProfile.BALANCED)))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+            "max-age=31536000, public, immutable"))
+        .andExpect(content().bytes(output));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/poster</code> with URL and a size beyond the one of images
+   * THEN REST response is HTTP 200
+   * AND operation streams the PNG image, with its ETag and immutable caching headers
+   */
+  @Test
+  public void testGetQrCodePoster() throws Exception {
+
+    String url = "https://pdfobject.com/pdf/sample.pdf";
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.createQRCodePoster(url, 4000, OutputProfile.FAST)).thenReturn(target -> {
+      target.write(output);
+      return output.length;
+    });
+
+    MvcResult mvcResult = mockMvc.perform(get(QRCODE_POSTER_PATH).param("url", url)
+            .param("size", "4000").param("profile", "fast").accept(MediaType.IMAGE_PNG))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.IMAGE_PNG))
+        .andExpect(header().string(HttpHeaders.ETAG, QRCodeGeneratorController.createETag(
+            engineVersion, url, 4000, OutputProfile.FAST)))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL,
+            "max-age=31536000, public, immutable"))
+        .andExpect(content().bytes(output));
+
+    verify(generatorService, never()).generateQRCodeModules(anyString());
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/poster</code>
+   * AND the URL cannot be encoded
+   * THEN REST response is HTTP 400, before anything is streamed
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testBadRequestOnPosterEncoding() throws Exception {
+
+    String url = "https://pdfobject.com/pdf/sample.pdf";
+    when(generatorService.createQRCodePoster(url, 4000, OutputProfile.BALANCED))
+        .thenThrow(new ExceptionOnGeneration("Data too big"));
+
+    MvcResult mvcResult = mockMvc.perform(get(QRCODE_POSTER_PATH).param("url", url)
+            .param("size", "4000").accept(MediaType.IMAGE_PNG, MediaType.APPLICATION_JSON))
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+        .andExpect(jsonPath("$.message", is("Data too big")));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/poster</code>
+   * AND the size is beyond the one of posters
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message in the response
+   * AND nothing is streamed
+   */
+  @Test
+  public void testBadRequestOnPosterSize() throws Exception {
+
+    mockMvc.perform(get(QRCODE_POSTER_PATH).param("url", "https://pdfobject.com/pdf/sample.pdf")
+            .param("size", "8001").accept(MediaType.IMAGE_PNG, MediaType.APPLICATION_JSON))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is(String.format(
+            ErrorCode.INVALID_SIZE.getErrorDescription(), 100, 8000))));
+
+    verify(generatorService, never()).createQRCodePoster(anyString(), anyInt(), any());
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/generate</code>
+   * AND the client already holds the image, as given by If-None-Match
+   * THEN REST response is HTTP 304, with ETag and caching headers
+   * AND nothing is generated
+   */
+  @Test
+  public void testGetQrCodeImageNotModified() throws Exception {
+
+    String url = "https://pdfobject.com/pdf/sample.pdf";
+    String eTag = QRCodeGeneratorController.createETag(engineVersion, url, 200,
+        OutputProfile.BALANCED);
+
+    mockMvc.perform(get(QRCODE_GENERATION_PATH).param("url", url).param("size", "200")
+            .accept(MediaType.IMAGE_PNG)
+            .header(HttpHeaders.IF_NONE_MATCH, "\"0123\", W/" + eTag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, eTag))
+        .andExpect(header().exists(HttpHeaders.CACHE_CONTROL))
+        .andExpect(content().bytes(new byte[0]));
+
+    verify(generatorService, never()).generateQRCodeBytes(anyString(), anyInt(), any());
+  }
+
+  /**
+   * GIVEN URL, size and engine version
+   * WHEN computing the ETag of the image
+   * THEN it is the same for the same input
+   * AND changes with any of them, as well as with the output profile
+   */
+  @Test
+  public void testCreateETag() {
+
+    String url = "https://pdfobject.com/pdf/sample.pdf";
+    String eTag = QRCodeGeneratorController.createETag("r1", url, 300, OutputProfile.BALANCED);
+
+    assertEquals(eTag,
+        QRCodeGeneratorController.createETag("r1", url, 300, OutputProfile.BALANCED));
+    assertTrue(eTag.matches("\"[0-9a-f]{32}\""));
+    assertNotEquals(eTag,
+        QRCodeGeneratorController.createETag("r2", url, 300, OutputProfile.BALANCED));
+    assertNotEquals(eTag,
+        QRCodeGeneratorController.createETag("r1", url, 301, OutputProfile.BALANCED));
+    assertNotEquals(eTag,
+        QRCodeGeneratorController.createETag("r1", url + "/", 300, OutputProfile.BALANCED));
+    assertNotEquals(eTag,
+        QRCodeGeneratorController.createETag("r1", url, 300, OutputProfile.FAST));
+
+    assertTrue(QRCodeGeneratorController.matchesETag("*", eTag));
+    assertTrue(QRCodeGeneratorController.matchesETag("W/" + eTag, eTag));
+    assertFalse(QRCodeGeneratorController.matchesETag(null, eTag));
+    assertFalse(QRCodeGeneratorController.matchesETag("\"0123\"", eTag));
+  }
+
+  /**
+   * GIVEN Accept-Encoding header values
+   * WHEN checking whether gzip is accepted
+   * THEN it is, only when listed without a zero quality
+   */
+  @Test
+  public void testAcceptsGzip() {
+
+    assertTrue(QRCodeGeneratorController.acceptsGzip("gzip"));
+    assertTrue(QRCodeGeneratorController.acceptsGzip("br, GZIP;q=0.5"));
+    assertFalse(QRCodeGeneratorController.acceptsGzip(null));
+    assertFalse(QRCodeGeneratorController.acceptsGzip("deflate, br"));
+    assertFalse(QRCodeGeneratorController.acceptsGzip("gzip;q=0, deflate"));
+    assertFalse(QRCodeGeneratorController.acceptsGzip("gzip; q=0.0"));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code>
+   * AND all input items are valid
+   * THEN REST response is HTTP 200
+   * AND operation returns a ZIP archive with one stored PNG entry per item, in input order
+   */
+  @Test
+  public void testGenerateQrCodeBatch() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(
+        new byte[]{34, 56, 102});
+
+    String items = "[{\"url\": \"https://pdfobject.com/pdf/sample.pdf\", \"size\": 200},"
+        + "{\"url\": \"https://pdfobject.com/pdf/other.pdf\"}]";
+
+    MvcResult mvcResult = mockMvc.perform(
+            post(QRCODE_BATCH_PATH).contentType(MediaType.APPLICATION_JSON).content(items))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    byte[] archive = mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .andReturn().getResponse().getContentAsByteArray();
+
+    List<ZipEntry> entries = readEntries(archive);
+
+    assertEquals(2, entries.size());
+    assertEquals("qrcode-00001.png", entries.get(0).getName());
+    assertEquals("qrcode-00002.png", entries.get(1).getName());
+    assertEquals(ZipEntry.STORED, entries.get(0).getMethod());
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code>
+   * AND one input item has an empty URL
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testBadRequestWhenInvalidBatchItem() throws Exception {
+
+    String items = "[{\"url\": \"https://pdfobject.com/pdf/sample.pdf\"}, {\"url\": \" \"}]";
+
+    mockMvc.perform(
+            post(QRCODE_BATCH_PATH).contentType(MediaType.APPLICATION_JSON).content(items))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message",
+            is(String.format(ErrorCode.INVALID_BATCH_ITEM.getErrorDescription(), 2,
+                ErrorCode.EMPTY_INPUT.getErrorDescription()))));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code> with newline-delimited JSON
+   * AND one input item has an empty URL
+   * AND one input item is malformed
+   * THEN REST response is HTTP 200
+   * AND operation returns one result line per item, including the failed ones
+   */
+  @Test
+  public void testGenerateQrCodeStream() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(
+        new byte[]{34, 56, 102});
+    doThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT)).when(generatorService)
+        .generateQRCodeBytes("", QRCodeGeneratorService.DEFAULT_SIZE);
+
+    String items = "{\"url\": \"https://pdfobject.com/pdf/sample.pdf\", \"size\": 200}\n"
+        + "\n{\"url\": \"\"}\n{not json\n";
+
+    MvcResult mvcResult = mockMvc.perform(
+            post(QRCODE_BATCH_PATH).contentType(QRCodeGeneratorController.APPLICATION_NDJSON_VALUE)
+                .accept(QRCodeGeneratorController.APPLICATION_NDJSON_VALUE)
+                .content(items))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String response = mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    List<String> lines = response.lines().sorted().toList();
+
+    assertEquals(3, lines.size());
+    assertTrue(lines.get(0).contains("\"index\":0")
+        && lines.get(0).contains("\"output\":\"Ijhm\""));
+    assertTrue(lines.get(1).contains("\"index\":1")
+        && lines.get(1).contains(ErrorCode.EMPTY_INPUT.getErrorDescription()));
+    assertTrue(lines.get(2).contains("\"index\":2")
+        && lines.get(2).contains(ErrorCode.MALFORMED_BATCH_ITEM.getErrorDescription()));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch/range</code> with a URL template and a range of IDs
+   * THEN REST response is HTTP 200
+   * AND operation returns one result line per ID, in the order of the IDs
+   * AND every URL is the template with the ID in place of the placeholder
+   */
+  @Test
+  public void testGenerateQrCodeRange() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(
+        new byte[]{34, 56, 102});
+
+    MvcResult mvcResult = mockMvc.perform(
+            post(QRCODE_BATCH_RANGE_PATH).contentType(MediaType.APPLICATION_JSON)
+                .accept(QRCodeGeneratorController.APPLICATION_NDJSON_VALUE)
+                .content("{\"urlTemplate\": \"https://example.com/t/{id}\", \"firstId\": 98, "
+                    + "\"lastId\": 101, \"size\": 200}"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String response = mockMvc.perform(asyncDispatch(mvcResult))
+        .andExpect(status().isOk())
+        .andReturn().getResponse().getContentAsString();
+
+    List<String> lines = response.lines().toList();
+
+    assertEquals(4, lines.size());
+
+    for (int i = 0; i < lines.size(); i++) {
+      assertTrue(lines.get(i).contains("\"index\":" + i)
+          && lines.get(i).contains("\"url\":\"https://example.com/t/" + (98 + i) + "\""));
+    }
+
+    verify(generatorService).generateQRCodeBytes("https://example.com/t/101", 200);
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch/range</code>
+   * AND the URL template has no placeholder for the ID
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testBadRequestOnTemplateWithoutPlaceholder() throws Exception {
+
+    mockMvc.perform(
+            post(QRCODE_BATCH_RANGE_PATH).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"urlTemplate\": \"https://example.com/t/\", \"ids\": [1, 2]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message",
+            is(String.format(ErrorCode.INVALID_URL_TEMPLATE.getErrorDescription(), "{id}"))));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/batch/range</code>
+   * AND the batch has both a range and a list of IDs
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testBadRequestOnAmbiguousIds() throws Exception {
+
+    mockMvc.perform(
+            post(QRCODE_BATCH_RANGE_PATH).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"urlTemplate\": \"https://example.com/t/{id}\", \"firstId\": 1, "
+                    + "\"lastId\": 2, \"ids\": [1, 2]}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", is(ErrorCode.INVALID_ID_RANGE.getErrorDescription())));
+  }
+
+  private List<ZipEntry> readEntries(byte[] archive) throws IOException {
+
+    List<ZipEntry> entries = new ArrayList<>();
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+
+      ZipEntry entry;
+
+      while ((entry = zip.getNextEntry()) != null) {
+        entries.add(entry);
+      }
+    }
+
+    return entries;
+  }
+
   private void checkInputOnExecution(InputData inputData) throws ExceptionOnGeneration {
 
     verify(generatorService, atMostOnce()).generateQRCodeBytes(inputUrlArgumentCaptor.capture());
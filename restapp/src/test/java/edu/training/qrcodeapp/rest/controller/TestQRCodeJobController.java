@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import edu.training.qrcodeapp.model.Job.StateEnum;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob;
+import edu.training.qrcodeapp.rest.service.job.JobManager;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Basic tests for {@link QRCodeJobController}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TestQRCodeJobController {
+
+  private static final String JOBS_PATH = "/api/v1/qrcode/jobs";
+
+  @MockitoBean
+  JobManager jobManager;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST POST <code>qrcode/jobs</code>
+   * AND all input items are valid
+   * THEN REST response is HTTP 202
+   * AND operation returns the queued job
+   */
+  @Test
+  public void testSubmitJob() throws Exception {
+
+    when(jobManager.submit(anyList())).thenReturn(new GenerationJob("some-id", Path.of("."), 1));
+
+    mockMvc.perform(post(JOBS_PATH).contentType(MediaType.APPLICATION_JSON)
+            .content("[{\"url\": \"https://pdfobject.com/pdf/sample.pdf\"}]"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id", is("some-id")))
+        .andExpect(jsonPath("$.state", is(StateEnum.QUEUED.name())))
+        .andExpect(jsonPath("$.total", is(1)));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/jobs/{jobId}</code>
+   * AND the job does not exist
+   * THEN REST response is HTTP 404
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testUnknownJob() throws Exception {
+
+    when(jobManager.getJob("unknown")).thenReturn(Optional.empty());
+
+    mockMvc.perform(get(JOBS_PATH + "/unknown"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.message", is(ErrorCode.UNKNOWN_JOB.getErrorDescription())));
+  }
+
+  /**
+   * GIVEN that application is up and running
+   * WHEN using REST GET <code>qrcode/jobs/{jobId}/result</code>
+   * AND the job is not completed yet
+   * THEN REST response is HTTP 409
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testResultOfRunningJob() throws Exception {
+
+    when(jobManager.getJob("some-id")).thenReturn(
+        Optional.of(new GenerationJob("some-id", Path.of("."), 1)));
+
+    mockMvc.perform(get(JOBS_PATH + "/some-id/result"))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.message", is(ErrorCode.JOB_NOT_COMPLETED.getErrorDescription())));
+  }
+}
@@ -0,0 +1,431 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.model.BatchItemResult;
+import edu.training.qrcodeapp.model.Status.StatusEnum;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Basic tests for {@link ReactiveQRCodeGeneratorController}, with the application started as
+ * reactive web application.
+ */
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class TestReactiveQRCodeGeneratorController {
+
+  private static final String BASE_PATH = "/api/v1/qrcode";
+  private static final String QRCODE_GENERATION_PATH = BASE_PATH + "/generate";
+  private static final String QRCODE_HEALTH_PATH = BASE_PATH + "/health";
+  private static final String QRCODE_BATCH_PATH = BASE_PATH + "/batch";
+  private static final String URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  @MockitoBean
+  QRCodeGeneratorService generatorService;
+
+  @MockitoBean
+  GeneratorWarmUp warmUp;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST GET <code>qrcode/health</code>
+   * THEN REST operation returns "ready" status
+   */
+  @Test
+  public void testHealthStatus() {
+
+    when(warmUp.isCompleted()).thenReturn(true);
+
+    webTestClient.get().uri(QRCODE_HEALTH_PATH).exchange()
+        .expectStatus().isOk()
+        .expectBody().jsonPath("$.status").isEqualTo(StatusEnum.READY.getValue().toUpperCase());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns QR code as bytes
+   */
+  @Test
+  public void testGenerateQrCode() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString())).thenReturn(new byte[]{34, 56, 102});
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue("{\"url\": \"" + URL + "\"}")
+        .exchange()
+        .expectStatus().isCreated()
+        .expectBody().jsonPath("$.output").isEqualTo("Ijhm");
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code> accepting PNG images
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns the raw PNG image
+   */
+  @Test
+  public void testGenerateQrCodeImage() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(eq(URL), eq(300)))
+        .thenReturn(new byte[]{34, 56, 102});
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.IMAGE_PNG)
+        .bodyValue("{\"url\": \"" + URL + "\", \"size\": 300}")
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().contentType(MediaType.IMAGE_PNG)
+        .expectBody(byte[].class).isEqualTo(new byte[]{34, 56, 102});
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code> accepting PNG images
+   * AND input data is invalid
+   * THEN REST response is HTTP 400
+   * AND operation returns related error message as JSON
+   */
+  @Test
+  public void testBadRequestOnImageGeneration() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString()))
+        .thenThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT));
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.IMAGE_PNG)
+        .bodyValue("{\"url\": \"\"}")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody().jsonPath("$.message")
+        .isEqualTo(ErrorCode.EMPTY_INPUT.getErrorDescription());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code> accepting PNG images
+   * AND too many large QR codes are being generated
+   * THEN REST response is HTTP 429
+   * AND the delay to retry after is sent, at least 1 second
+   * AND operation returns related error message as JSON
+   */
+  @Test
+  public void testTooManyRequestsWhenPixelBudgetIsExhausted() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt()))
+        .thenThrow(new ExceptionOnOverload(ErrorCode.PIXEL_BUDGET_EXHAUSTED,
+            Duration.ofMillis(5)));
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.IMAGE_PNG)
+        .bodyValue("{\"url\": \"" + URL + "\", \"size\": 500}")
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+        .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "1")
+        .expectBody().jsonPath("$.message")
+        .isEqualTo(ErrorCode.PIXEL_BUDGET_EXHAUSTED.getErrorDescription());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND SVG image is accepted as response, but no gzip encoding
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns the plain SVG image
+   */
+  @Test
+  public void testGenerateQrCodeSvg() throws Exception {
+
+    byte[] output = "<svg/>".getBytes(StandardCharsets.UTF_8);
+    when(generatorService.generateQRCodeSvg(URL, false)).thenReturn(output);
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.parseMediaType(QRCodeGeneratorController.IMAGE_SVG_VALUE))
+        .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+        .bodyValue("{\"url\": \"" + URL + "\", \"size\": 300}")
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().contentType(QRCodeGeneratorController.IMAGE_SVG_VALUE)
+        .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+        .expectBody(byte[].class).isEqualTo(output);
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/generate</code>
+   * AND packed module grid is accepted as response
+   * AND input data is valid
+   * THEN REST response is HTTP 201
+   * AND operation returns the packed grid as raw bytes
+   */
+  @Test
+  public void testGenerateQrCodeModules() throws Exception {
+
+    byte[] output = new byte[]{1, 21, -2, 7};
+    when(generatorService.generateQRCodeModules(URL)).thenReturn(output);
+
+    webTestClient.post().uri(QRCODE_GENERATION_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_MODULES_VALUE))
+        .bodyValue("{\"url\": \"" + URL + "\"}")
+        .exchange()
+        .expectStatus().isCreated()
+        .expectHeader().contentType(QRCodeGeneratorController.APPLICATION_MODULES_VALUE)
+        .expectBody(byte[].class).isEqualTo(output);
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST GET <code>qrcode/generate</code> with an output profile
+   * THEN REST response is HTTP 200 with the PNG image of that profile and its ETag
+   * AND asking again with that ETag in If-None-Match gets HTTP 304 with nothing generated again
+   */
+  @Test
+  public void testGetQrCodeImage() throws Exception {
+
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.generateQRCodeBytes(URL, 400, OutputProfile.FAST)).thenReturn(output);
+
+    String eTag = webTestClient.get()
+        .uri(uriBuilder -> uriBuilder.path(QRCODE_GENERATION_PATH).queryParam("url", URL)
+            .queryParam("size", 400).queryParam("profile", "fast").build())
+        .accept(MediaType.IMAGE_PNG)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().cacheControl(QRCodeGeneratorController.IMMUTABLE)
+        .expectBody(byte[].class).isEqualTo(output)
+        .returnResult().getResponseHeaders().getETag();
+
+    webTestClient.get()
+        .uri(uriBuilder -> uriBuilder.path(QRCODE_GENERATION_PATH).queryParam("url", URL)
+            .queryParam("size", 400).queryParam("profile", "fast").build())
+        .accept(MediaType.IMAGE_PNG)
+        .ifNoneMatch(eTag)
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+        .expectBody().isEmpty();
+
+    verify(generatorService, times(1)).generateQRCodeBytes(anyString(), anyInt(), any());
+    verify(generatorService, never()).generateQRCodeBytes(anyString(), anyInt());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST GET <code>qrcode/poster</code> with URL and a size beyond the one of images
+   * THEN REST response is HTTP 200
+   * AND operation streams the PNG image, with immutable caching headers
+   */
+  @Test
+  public void testGetQrCodePoster() throws Exception {
+
+    byte[] output = new byte[]{34, 56, 102};
+    when(generatorService.createQRCodePoster(URL, 6000, OutputProfile.BALANCED))
+        .thenReturn(target -> {
+          target.write(output);
+          return output.length;
+        });
+
+    webTestClient.get()
+        .uri(uriBuilder -> uriBuilder.path(BASE_PATH + "/poster").queryParam("url", URL)
+            .queryParam("size", 6000).build())
+        .accept(MediaType.IMAGE_PNG)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.IMAGE_PNG)
+        .expectHeader().cacheControl(QRCodeGeneratorController.IMMUTABLE)
+        .expectBody(byte[].class).isEqualTo(output);
+
+    verify(generatorService, never()).generateQRCodeModules(anyString());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code> with JSON items
+   * AND all input items are valid
+   * THEN REST response is HTTP 200
+   * AND operation returns a ZIP archive with one PNG entry per item, in input order
+   */
+  @Test
+  public void testGenerateQrCodeBatch() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt()))
+        .thenReturn(new byte[]{34, 56, 102});
+
+    byte[] archive = webTestClient.post().uri(QRCODE_BATCH_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .bodyValue("[{\"url\": \"" + URL + "\"}, {\"url\": \"" + URL + "\", \"size\": 200}]")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(byte[].class).returnResult().getResponseBody();
+
+    assertNotNull(archive);
+    assertEquals(List.of("qrcode-00001.png", "qrcode-00002.png"), readEntryNames(archive));
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code> with JSON items
+   * AND one of the input items is invalid
+   * THEN REST response is HTTP 400
+   * AND nothing is generated
+   */
+  @Test
+  public void testBadRequestOnInvalidBatchItem() {
+
+    webTestClient.post().uri(QRCODE_BATCH_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_ZIP_VALUE))
+        .bodyValue("[{\"url\": \"" + URL + "\"}, {\"url\": \"\"}]")
+        .exchange()
+        .expectStatus().isBadRequest()
+        .expectBody().jsonPath("$.message").isEqualTo(
+            String.format(ErrorCode.INVALID_BATCH_ITEM.getErrorDescription(), 2,
+                ErrorCode.EMPTY_INPUT.getErrorDescription()));
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/batch</code> with newline-delimited JSON items
+   * AND one of the lines is malformed
+   * THEN REST response is HTTP 200
+   * AND operation streams one result line per item
+   * AND the malformed line is reported as failed item
+   */
+  @Test
+  public void testGenerateQrCodeStream() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt()))
+        .thenReturn(new byte[]{34, 56, 102});
+
+    MediaType ndjson = MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_NDJSON_VALUE);
+
+    List<BatchItemResult> results = new ArrayList<>(webTestClient.post().uri(QRCODE_BATCH_PATH)
+        .contentType(ndjson)
+        .accept(ndjson)
+        .bodyValue("{\"url\": \"" + URL + "\"}\n\nnot json\n{\"url\": \"" + URL + "\"}\n")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(BatchItemResult.class).returnResult().getResponseBody());
+
+    results.sort(Comparator.comparing(BatchItemResult::getIndex));
+
+    assertEquals(3, results.size());
+    assertEquals("Ijhm", Base64.getEncoder().encodeToString(results.get(0).getOutput()));
+    assertEquals(ErrorCode.MALFORMED_BATCH_ITEM.getErrorDescription(), results.get(1).getError());
+    assertEquals(2, results.get(2).getIndex());
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/batch/range</code> with a URL template and a list of IDs
+   * THEN REST response is HTTP 200
+   * AND operation streams one result line per ID, in the order of the list
+   */
+  @Test
+  public void testGenerateQrCodeRange() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt()))
+        .thenReturn(new byte[]{34, 56, 102});
+
+    List<BatchItemResult> results = webTestClient.post().uri(QRCODE_BATCH_PATH + "/range")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.parseMediaType(QRCodeGeneratorController.APPLICATION_NDJSON_VALUE))
+        .bodyValue("{\"urlTemplate\": \"https://example.com/t/{id}\", \"ids\": [42, 7, 1000]}")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBodyList(BatchItemResult.class).returnResult().getResponseBody();
+
+    assertEquals(List.of("https://example.com/t/42", "https://example.com/t/7",
+        "https://example.com/t/1000"), results.stream().map(BatchItemResult::getUrl).toList());
+    assertEquals(List.of(0, 1, 2), results.stream().map(BatchItemResult::getIndex).toList());
+  }
+
+  private List<String> readEntryNames(byte[] archive) throws IOException {
+
+    List<String> names = new ArrayList<>();
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+
+      ZipEntry entry;
+
+      while ((entry = zip.getNextEntry()) != null) {
+        names.add(entry.getName());
+      }
+    }
+
+    return names;
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.model.Job.StateEnum;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob;
+import edu.training.qrcodeapp.rest.service.job.JobManager;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Basic tests for {@link ReactiveQRCodeJobController}, with the application started as reactive
+ * web application.
+ */
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+public class TestReactiveQRCodeJobController {
+
+  private static final String JOBS_PATH = "/api/v1/qrcode/jobs";
+
+  @MockitoBean
+  JobManager jobManager;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST POST <code>qrcode/jobs</code>
+   * AND all input items are valid
+   * THEN REST response is HTTP 202
+   * AND operation returns the queued job
+   */
+  @Test
+  public void testSubmitJob() throws Exception {
+
+    when(jobManager.submit(anyList())).thenReturn(new GenerationJob("some-id", Path.of("."), 1));
+
+    webTestClient.post().uri(JOBS_PATH)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("[{\"url\": \"https://pdfobject.com/pdf/sample.pdf\"}]")
+        .exchange()
+        .expectStatus().isAccepted()
+        .expectBody()
+        .jsonPath("$.id").isEqualTo("some-id")
+        .jsonPath("$.state").isEqualTo(StateEnum.QUEUED.name())
+        .jsonPath("$.total").isEqualTo(1);
+  }
+
+  /**
+   * GIVEN that reactive application is up and running
+   * WHEN using REST GET <code>qrcode/jobs/{jobId}/result</code>
+   * AND the job is not completed yet
+   * THEN REST response is HTTP 409
+   * AND operation returns related error message in the response
+   */
+  @Test
+  public void testConflictWhenJobNotCompleted() {
+
+    when(jobManager.getJob("some-id"))
+        .thenReturn(Optional.of(new GenerationJob("some-id", Path.of("."), 1)));
+
+    webTestClient.get().uri(JOBS_PATH + "/some-id/result").exchange()
+        .expectStatus().isEqualTo(409)
+        .expectBody().jsonPath("$.message")
+        .isEqualTo(ErrorCode.JOB_NOT_COMPLETED.getErrorDescription());
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.admission.RenderQueueAdmission;
+import edu.training.qrcodeapp.rest.service.warmup.GeneratorWarmUp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Tests of the admission control of {@link ReactiveQRCodeGeneratorController}, with the
+ * application started as reactive web application on a single render thread.
+ */
+@SpringBootTest(properties = {"spring.main.web-application-type=reactive",
+    "qrcode.render.threads=1", "qrcode.admission.initial-limit=2",
+    "qrcode.admission.min-limit=1", "qrcode.admission.max-limit=2"})
+@AutoConfigureWebTestClient
+public class TestReactiveRenderQueueAdmission {
+
+  private static final String QRCODE_GENERATION_PATH = "/api/v1/qrcode/generate";
+  private static final String URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  @MockitoBean
+  QRCodeGeneratorService generatorService;
+
+  @MockitoBean
+  GeneratorWarmUp warmUp;
+
+  @Autowired
+  private RenderQueueAdmission renderQueueAdmission;
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  private final ExecutorService clients = Executors.newCachedThreadPool();
+
+  @AfterEach
+  public void tearDown() {
+
+    clients.shutdownNow();
+  }
+
+  /**
+   * GIVEN that reactive application is up and running on a single render thread
+   * AND as many renders admitted as the limit, one in progress and the other one waiting for the
+   * render thread
+   * WHEN using REST GET <code>qrcode/generate</code> once more
+   * THEN REST response is HTTP 503 right away, with a Retry-After header
+   * AND the admitted renders complete with HTTP 200 once the render thread is free
+   */
+  @Test
+  public void testQueuedRendersAreShed() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt(), any())).thenAnswer(
+        invocation -> {
+          assertTrue(release.await(10, TimeUnit.SECONDS));
+          return new byte[]{1};
+        });
+
+    List<Future<EntityExchangeResult<byte[]>>> admitted = new ArrayList<>();
+
+    for (int i = 0; i < 2; i++) {
+      admitted.add(clients.submit(this::getImage));
+    }
+
+    for (int i = 0; i < 100 && renderQueueAdmission.getInFlight() < 2; i++) {
+      Thread.sleep(50);
+    }
+
+    EntityExchangeResult<byte[]> rejected = getImage();
+
+    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatus());
+    assertNotNull(rejected.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+    release.countDown();
+
+    for (Future<EntityExchangeResult<byte[]>> result : admitted) {
+      assertEquals(HttpStatus.OK, result.get(10, TimeUnit.SECONDS).getStatus());
+    }
+  }
+
+  private EntityExchangeResult<byte[]> getImage() {
+
+    return webTestClient.get()
+        .uri(builder -> builder.path(QRCODE_GENERATION_PATH).queryParam("url", URL).build())
+        .exchange().expectBody().returnResult();
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimit}.
+ */
+public class TestAdaptiveConcurrencyLimit {
+
+  private static final double LATENCY = 1_000_000;
+
+  /**
+   * GIVEN adaptive concurrency limit
+   * WHEN its limit is in use and latencies are steady
+   * THEN the limit grows, up to its upper bound
+   */
+  @Test
+  public void testLimitGrowsWhileLatencyIsSteady() {
+
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 50);
+
+    for (int i = 0; i < 200; i++) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+
+    assertEquals(50, limit.getLimit());
+  }
+
+  /**
+   * GIVEN adaptive concurrency limit, with steady latencies
+   * WHEN latencies rise well above the usual ones
+   * THEN the limit is lowered sharply
+   */
+  @Test
+  public void testLimitDropsWhenLatencyRises() {
+
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 50);
+
+    for (int i = 0; i < 500; i++) {
+      limit.onSample(LATENCY, limit.getLimit());
+    }
+
+    int steadyLimit = limit.getLimit();
+
+    for (int i = 0; i < 20; i++) {
+      limit.onSample(LATENCY * 10, limit.getLimit());
+    }
+
+    assertTrue(limit.getLimit() < steadyLimit / 2);
+  }
+
+  /**
+   * GIVEN adaptive concurrency limit
+   * WHEN less than half of its limit is used
+   * THEN the limit is left as is, whatever the latencies
+   */
+  @Test
+  public void testLimitUnchangedWhileUnused() {
+
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 1, 50);
+
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(LATENCY * (1 + i % 10), 2);
+    }
+
+    assertEquals(20, limit.getLimit());
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link LoadSheddingGeneratorServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestLoadSheddingGeneratorServiceImpl {
+
+  private static final String INPUT_URL = "some URL to a file";
+
+  @Mock
+  QRCodeGeneratorService delegate;
+
+  MeterRegistry meterRegistry;
+
+  ExecutorService executor = Executors.newCachedThreadPool();
+
+  @BeforeEach
+  public void setUp() {
+
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  public void tearDown() {
+
+    executor.shutdownNow();
+  }
+
+  /**
+   * GIVEN load shedding service with a limit of 2 generations in flight
+   * WHEN a third generation is requested while 2 are in flight
+   * THEN it is rejected right away as overloaded, with a delay to retry after
+   * AND the rejection is counted by its error code
+   * AND the generations in flight complete
+   */
+  @Test
+  public void testRejectionBeyondLimit() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED)).thenAnswer(
+        invocation -> {
+          release.await();
+          return new byte[]{1};
+        });
+
+    LoadSheddingGeneratorServiceImpl generatorService = createGeneratorService(2, 16_000_000);
+
+    Future<byte[]> first = executor.submit(
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 200));
+    Future<byte[]> second = executor.submit(
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 200));
+    awaitInFlight(generatorService, 2);
+
+    ExceptionOnOverload rejection = assertThrows(ExceptionOnOverload.class,
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 200));
+
+    assertEquals(ErrorCode.OVERLOADED, rejection.getErrorCode());
+    assertTrue(rejection.getRetryAfter().compareTo(Duration.ZERO) > 0);
+    assertEquals(1, meterRegistry.get(GenerationMetrics.ERROR_COUNTER)
+        .tag("code", ErrorCode.OVERLOADED.name())
+        .counter().count());
+
+    release.countDown();
+
+    assertArrayEquals(new byte[]{1}, first.get(10, TimeUnit.SECONDS));
+    assertArrayEquals(new byte[]{1}, second.get(10, TimeUnit.SECONDS));
+    assertEquals(0, generatorService.getInFlight());
+  }
+
+  /**
+   * GIVEN load shedding service with a budget of 500x500 pixels
+   * WHEN a 500 px image is being generated
+   * THEN any other PNG image is rejected as exceeding the pixel budget
+   * AND an SVG image, with no pixels at all, is still admitted
+   * AND a PNG image larger than the budget is admitted once nothing else is in flight
+   */
+  @Test
+  public void testPixelBudget() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.generateQRCodeBytes(eq(INPUT_URL), anyInt(), eq(OutputProfile.BALANCED)))
+        .thenAnswer(invocation -> {
+          release.await();
+          return new byte[]{1};
+        });
+    when(delegate.generateQRCodeSvg(INPUT_URL, false)).thenReturn(new byte[]{2});
+
+    LoadSheddingGeneratorServiceImpl generatorService = createGeneratorService(8, 500 * 500);
+
+    Future<byte[]> large = executor.submit(
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 500));
+    awaitInFlight(generatorService, 1);
+
+    assertEquals(500 * 500, generatorService.getPixelsInFlight());
+
+    ExceptionOnOverload rejection = assertThrows(ExceptionOnOverload.class,
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 100));
+
+    assertEquals(ErrorCode.PIXEL_BUDGET_EXHAUSTED, rejection.getErrorCode());
+    assertArrayEquals(new byte[]{2}, generatorService.generateQRCodeSvg(INPUT_URL, false));
+
+    release.countDown();
+    large.get(10, TimeUnit.SECONDS);
+
+    LoadSheddingGeneratorServiceImpl smallBudget = createGeneratorService(8, 100 * 100);
+
+    assertArrayEquals(new byte[]{1}, smallBudget.generateQRCodeBytes(INPUT_URL, 500));
+  }
+
+  /**
+   * GIVEN load shedding service
+   * WHEN the generation fails
+   * THEN the failure is passed on
+   * AND the generation no longer counts as in flight
+   */
+  @Test
+  public void testFailureReleasesAdmission() throws ExceptionOnGeneration {
+
+    when(delegate.generateQRCodeBytes(INPUT_URL, 300, OutputProfile.FAST))
+        .thenThrow(new ExceptionOnGeneration(ErrorCode.INVALID_SIZE));
+
+    LoadSheddingGeneratorServiceImpl generatorService = createGeneratorService(1, 16_000_000);
+
+    for (int i = 0; i < 3; i++) {
+      ExceptionOnGeneration failure = assertThrows(ExceptionOnGeneration.class,
+          () -> generatorService.generateQRCodeBytes(INPUT_URL, 300, OutputProfile.FAST));
+      assertEquals(ErrorCode.INVALID_SIZE, failure.getErrorCode());
+    }
+
+    assertEquals(0, generatorService.getInFlight());
+    assertEquals(0, generatorService.getPixelsInFlight());
+  }
+
+  private LoadSheddingGeneratorServiceImpl createGeneratorService(int limit, long maxPixels) {
+
+    return new LoadSheddingGeneratorServiceImpl(delegate,
+        new AdaptiveConcurrencyLimit(limit, limit, limit), maxPixels,
+        new GenerationMetrics(meterRegistry));
+  }
+
+  private static void awaitInFlight(LoadSheddingGeneratorServiceImpl generatorService, int count)
+      throws InterruptedException {
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    while (generatorService.getInFlight() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+}
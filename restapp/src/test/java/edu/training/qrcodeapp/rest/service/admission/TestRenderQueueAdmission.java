@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.admission.RenderQueueAdmission.Permit;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link RenderQueueAdmission}.
+ */
+public class TestRenderQueueAdmission {
+
+  /**
+   * GIVEN admission limited to two renders
+   * WHEN two renders are admitted and not released yet
+   * THEN a third one is rejected as overloaded
+   * AND admitted again once one of them is released, whether it completed or not
+   */
+  @Test
+  public void testRejectionBeyondLimit() throws Exception {
+
+    RenderQueueAdmission admission = new RenderQueueAdmission(
+        new AdaptiveConcurrencyLimit(2, 1, 2), new GenerationMetrics(new SimpleMeterRegistry()));
+
+    Permit first = admission.admit();
+    Permit second = admission.admit();
+
+    ExceptionOnOverload e = assertThrows(ExceptionOnOverload.class, admission::admit);
+
+    assertEquals(ErrorCode.OVERLOADED.getErrorDescription(), e.getMessage());
+    assertTrue(e.getRetryAfter().isPositive());
+    assertEquals(2, admission.getInFlight());
+
+    first.release(false);
+    admission.admit().release(true);
+    second.release(true);
+
+    assertEquals(0, admission.getInFlight());
+  }
+}
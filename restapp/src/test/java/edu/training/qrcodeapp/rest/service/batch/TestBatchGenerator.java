@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.batch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnOverload;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link BatchGenerator}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestBatchGenerator {
+
+  private static final String INPUT_URL = "some URL to a file ";
+
+  @Mock
+  QRCodeGeneratorService generatorService;
+
+  @Mock
+  GenerationMetrics metrics;
+
+  @Spy
+  ExecutorService renderExecutor = Executors.newFixedThreadPool(4);
+
+  @InjectMocks
+  BatchGenerator batchGenerator;
+
+  @AfterEach
+  public void shutdown() {
+
+    renderExecutor.shutdownNow();
+  }
+
+  /**
+   * GIVEN batch of valid input items
+   * WHEN generating QR codes for them
+   * THEN one result per item is delivered
+   * AND results follow the input order
+   */
+  @Test
+  public void testResultsFollowInputOrder() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenAnswer(invocation -> {
+      String url = invocation.getArgument(0);
+      // make later items of the window finish earlier
+      Thread.sleep(20 - Integer.parseInt(url.substring(INPUT_URL.length())) % 20);
+      return url.getBytes(StandardCharsets.UTF_8);
+    });
+
+    List<InputData> items = createItems(20);
+    List<BatchResult> results = new ArrayList<>();
+
+    batchGenerator.generate(items.iterator(), results::add);
+
+    assertEquals(items.size(), results.size());
+
+    for (int i = 0; i < items.size(); i++) {
+      assertEquals(i, results.get(i).index());
+      assertTrue(results.get(i).isSuccess());
+      assertArrayEquals(items.get(i).getUrl().getBytes(StandardCharsets.UTF_8),
+          results.get(i).output());
+    }
+  }
+
+  /**
+   * GIVEN batch of valid input items
+   * AND one malformed item
+   * WHEN generating QR codes for them in completion order
+   * THEN one result per item is delivered
+   * AND the malformed item is reported as such
+   * AND counted as a failure
+   */
+  @Test
+  public void testUnorderedResultsCoverAllItems() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(new byte[]{1});
+
+    List<InputData> items = createItems(50);
+    items.set(7, null);
+
+    List<BatchResult> results = new ArrayList<>();
+
+    batchGenerator.generateUnordered(items.iterator(), results::add);
+
+    results.sort(Comparator.comparingInt(BatchResult::index));
+
+    assertEquals(items.size(), results.size());
+    assertEquals(ErrorCode.MALFORMED_BATCH_ITEM.getErrorDescription(), results.get(7).error());
+    assertEquals(items.size() - 1, results.stream().filter(BatchResult::isSuccess).count());
+    verify(metrics).recordError(ErrorCode.MALFORMED_BATCH_ITEM);
+  }
+
+  /**
+   * GIVEN batch of input items
+   * AND items without size
+   * AND one item failing on generation
+   * WHEN generating QR codes for them
+   * THEN default size is used
+   * AND the failed item is delivered with its error message
+   */
+  @Test
+  public void testFailedItemIsReported() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(new byte[]{1});
+    doThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT)).when(generatorService)
+        .generateQRCodeBytes("", QRCodeGeneratorService.DEFAULT_SIZE);
+
+    List<InputData> items = createItems(3);
+    items.get(1).setUrl("");
+    items.forEach(item -> item.setSize(null));
+
+    List<BatchResult> results = new ArrayList<>();
+
+    batchGenerator.generate(items.iterator(), results::add);
+
+    assertTrue(results.get(0).isSuccess());
+    assertFalse(results.get(1).isSuccess());
+    assertNull(results.get(1).output());
+    assertEquals(ErrorCode.EMPTY_INPUT.getErrorDescription(), results.get(1).error());
+    assertEquals(QRCodeGeneratorService.DEFAULT_SIZE, results.get(1).size());
+    assertTrue(results.get(2).isSuccess());
+  }
+
+  /**
+   * GIVEN batch of input items
+   * WHEN the consumer of results fails
+   * THEN generation stops
+   * AND no more items than the window are generated after the failure
+   */
+  @Test
+  public void testGenerationStopsWhenConsumerFails() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(new byte[]{1});
+
+    List<InputData> items = createItems(1000);
+
+    assertThrows(IOException.class, () -> batchGenerator.generate(items.iterator(), result -> {
+      throw new IOException("client went away");
+    }));
+
+    verify(generatorService, atMost(batchGenerator.getWindow() + 1))
+        .generateQRCodeBytes(anyString(), anyInt());
+  }
+
+  /**
+   * GIVEN batch of input items
+   * WHEN the generation of one item is rejected by admission control, then succeeds
+   * THEN the item is submitted again after the suggested delay
+   * AND delivered as generated
+   * WHEN the generation of another item is rejected over and over
+   * THEN it is eventually delivered with the error message
+   */
+  @Test
+  public void testOverloadedItemIsRetried() throws Exception {
+
+    ExceptionOnOverload rejection = new ExceptionOnOverload(ErrorCode.OVERLOADED,
+        Duration.ofMillis(1));
+    when(generatorService.generateQRCodeBytes(INPUT_URL + 0, 200))
+        .thenThrow(rejection, rejection)
+        .thenReturn(new byte[]{1});
+    when(generatorService.generateQRCodeBytes(INPUT_URL + 1, 200)).thenThrow(rejection);
+
+    for (boolean unordered : new boolean[]{false, true}) {
+
+      List<BatchResult> results = new ArrayList<>();
+
+      if (unordered) {
+        batchGenerator.generateUnordered(createItems(2).iterator(), results::add);
+        results.sort(Comparator.comparingInt(BatchResult::index));
+      }
+      else {
+        batchGenerator.generate(createItems(2).iterator(), results::add);
+      }
+
+      assertTrue(results.get(0).isSuccess());
+      assertArrayEquals(new byte[]{1}, results.get(0).output());
+      assertFalse(results.get(1).isSuccess());
+      assertEquals(ErrorCode.OVERLOADED.getErrorDescription(), results.get(1).error());
+      assertEquals(200, results.get(1).size());
+    }
+
+    verify(generatorService, times(4)).generateQRCodeBytes(INPUT_URL + 0, 200);
+    verify(generatorService, times(BatchGenerator.MAX_ATTEMPTS_ON_OVERLOAD * 2))
+        .generateQRCodeBytes(INPUT_URL + 1, 200);
+  }
+
+  /**
+   * GIVEN input item
+   * WHEN generating its QR code on its own
+   * AND the generation is rejected by admission control
+   * THEN the rejection is left to the caller, rather than waited for on the render thread
+   */
+  @Test
+  public void testSingleItemIsNotRetried() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(INPUT_URL + 0, 200)).thenThrow(
+        new ExceptionOnOverload(ErrorCode.OVERLOADED, Duration.ofSeconds(10)));
+
+    InputData item = createItems(1).getFirst();
+
+    assertThrows(ExceptionOnOverload.class, () -> batchGenerator.generate(0, item));
+    verify(generatorService, times(1)).generateQRCodeBytes(INPUT_URL + 0, 200);
+  }
+
+  private List<InputData> createItems(int count) {
+
+    return new ArrayList<>(IntStream.range(0, count).mapToObj(i -> {
+      InputData item = new InputData();
+      item.setUrl(INPUT_URL + i);
+      item.setSize(200);
+      return item;
+    }).toList());
+  }
+}
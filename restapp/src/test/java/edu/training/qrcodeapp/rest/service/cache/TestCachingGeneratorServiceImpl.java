@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Variant;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link CachingGeneratorServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestCachingGeneratorServiceImpl {
+
+  private static final String INPUT_URL = "some URL to a file";
+
+  @Mock
+  QRCodeGeneratorService delegate;
+
+  /**
+   * GIVEN caching service
+   * WHEN generating the same QR code twice
+   * THEN the delegate generates it only once
+   * AND hit and miss are counted
+   */
+  @Test
+  public void testSecondRequestIsServedFromCache() throws ExceptionOnGeneration {
+
+    byte[] output = new byte[]{1, 2, 3};
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED)).thenReturn(output);
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    assertArrayEquals(output, generatorService.generateQRCodeBytes(INPUT_URL, 200));
+    assertArrayEquals(output, generatorService.generateQRCodeBytes(INPUT_URL, 200));
+
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED);
+
+    CacheStats stats = generatorService.getStats();
+    assertEquals(1, stats.hitCount());
+    assertEquals(1, stats.missCount());
+  }
+
+  /**
+   * GIVEN caching service
+   * WHEN generating the same URL with different sizes
+   * THEN each size is generated by the delegate
+   */
+  @Test
+  public void testSizeIsPartOfTheKey() throws ExceptionOnGeneration {
+
+    when(delegate.generateQRCodeBytes(anyString(), anyInt(), any())).thenReturn(new byte[]{1});
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    generatorService.generateQRCodeBytes(INPUT_URL, 200);
+    generatorService.generateQRCodeBytes(INPUT_URL, 300);
+
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED);
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 300, OutputProfile.BALANCED);
+  }
+
+  /**
+   * GIVEN caching service
+   * WHEN generating the same SVG image several times, plain and gzipped
+   * THEN each variant is generated by the delegate only once
+   */
+  @Test
+  public void testSvgVariantsAreCachedOnce() throws ExceptionOnGeneration {
+
+    when(delegate.generateQRCodeSvg(INPUT_URL, false)).thenReturn(new byte[]{1});
+    when(delegate.generateQRCodeSvg(INPUT_URL, true)).thenReturn(new byte[]{2});
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(new byte[]{1}, generatorService.generateQRCodeSvg(INPUT_URL, false));
+      assertArrayEquals(new byte[]{2}, generatorService.generateQRCodeSvg(INPUT_URL, true));
+    }
+
+    verify(delegate, times(1)).generateQRCodeSvg(INPUT_URL, false);
+    verify(delegate, times(1)).generateQRCodeSvg(INPUT_URL, true);
+  }
+
+  /**
+   * GIVEN caching service
+   * WHEN generating the same PNG image with different output profiles
+   * THEN each profile is generated by the delegate and cached on its own
+   */
+  @Test
+  public void testProfilesAreCachedApart() throws ExceptionOnGeneration {
+
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST))
+        .thenReturn(new byte[]{1});
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED))
+        .thenReturn(new byte[]{2});
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(new byte[]{1},
+          generatorService.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST));
+      assertArrayEquals(new byte[]{2},
+          generatorService.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED));
+    }
+
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST);
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED);
+  }
+
+  /**
+   * GIVEN caching service
+   * WHEN generating the same module grid several times
+   * THEN it is generated by the delegate only once
+   */
+  @Test
+  public void testModulesAreCachedOnce() throws ExceptionOnGeneration {
+
+    when(delegate.generateQRCodeModules(INPUT_URL)).thenReturn(new byte[]{1, 21});
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    for (int i = 0; i < 3; i++) {
+      assertArrayEquals(new byte[]{1, 21}, generatorService.generateQRCodeModules(INPUT_URL));
+    }
+
+    verify(delegate, times(1)).generateQRCodeModules(INPUT_URL);
+  }
+
+  /**
+   * GIVEN caching service
+   * WHEN generation fails
+   * THEN the original exception is thrown
+   * AND nothing is cached
+   */
+  @Test
+  public void testFailureIsNotCached() throws ExceptionOnGeneration {
+
+    doThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT)).when(delegate)
+        .generateQRCodeBytes("", 200, OutputProfile.BALANCED);
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1024 * 1024);
+
+    assertThrows(ExceptionOnGeneration.class, () -> generatorService.generateQRCodeBytes("", 200));
+    assertThrows(ExceptionOnGeneration.class, () -> generatorService.generateQRCodeBytes("", 200));
+
+    verify(delegate, times(2)).generateQRCodeBytes("", 200, OutputProfile.BALANCED);
+    assertEquals(0, generatorService.getCache().estimatedSize());
+  }
+
+  /**
+   * GIVEN caching service with room for a few entries only
+   * WHEN generating many different QR codes
+   * THEN the total weight of the cache stays within its capacity
+   * AND evictions are counted
+   */
+  @Test
+  public void testCapacityIsBoundedByBytes() throws ExceptionOnGeneration {
+
+    byte[] output = new byte[1000];
+    when(delegate.generateQRCodeBytes(anyString(), anyInt(), any())).thenReturn(output);
+
+    long maxBytes = 5L * CachingGeneratorServiceImpl.weigh(
+        new RenderKey(INPUT_URL + 10, 200, Variant.PNG), output);
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, maxBytes);
+
+    for (int i = 10; i < 60; i++) {
+      generatorService.generateQRCodeBytes(INPUT_URL + i, 200);
+    }
+
+    generatorService.getCache().cleanUp();
+
+    long weight = generatorService.getCache().policy().eviction().orElseThrow()
+        .weightedSize().orElseThrow();
+
+    assertTrue(weight <= maxBytes);
+    assertTrue(generatorService.getStats().evictionCount() > 0);
+  }
+}
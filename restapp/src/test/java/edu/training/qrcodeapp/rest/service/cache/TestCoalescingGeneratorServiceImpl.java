@@ -0,0 +1,197 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link CoalescingGeneratorServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestCoalescingGeneratorServiceImpl {
+
+  private static final String INPUT_URL = "some URL to a file";
+
+  private static final int REQUESTS = 8;
+
+  @Mock
+  QRCodeGeneratorService delegate;
+
+  ExecutorService executor = Executors.newCachedThreadPool();
+
+  @AfterEach
+  public void tearDown() {
+
+    executor.shutdownNow();
+  }
+
+  /**
+   * GIVEN coalescing service
+   * WHEN requesting the same QR code concurrently
+   * THEN the delegate generates it only once
+   * AND every request gets it
+   * AND all requests but the first one are counted as coalesced
+   */
+  @Test
+  public void testConcurrentRequestsShareOneGeneration() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+    byte[] output = new byte[]{1, 2, 3};
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED)).thenAnswer(
+        invocation -> {
+          release.await();
+          return output;
+        });
+
+    CoalescingGeneratorServiceImpl generatorService = new CoalescingGeneratorServiceImpl(delegate);
+
+    List<Future<byte[]>> results = submit(
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 200));
+    awaitCoalesced(generatorService, REQUESTS - 1);
+    release.countDown();
+
+    for (Future<byte[]> result : results) {
+      assertSame(output, result.get(10, TimeUnit.SECONDS));
+    }
+
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.BALANCED);
+    assertEquals(REQUESTS - 1, generatorService.getCoalescedCount());
+    assertEquals(0, generatorService.getInFlightCount());
+  }
+
+  /**
+   * GIVEN coalescing service
+   * WHEN the generation of concurrent identical requests fails
+   * THEN every request gets the failure
+   * AND the next request generates it again
+   */
+  @Test
+  public void testFailureIsSharedButNotKept() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.generateQRCodeSvg(INPUT_URL, false)).thenAnswer(invocation -> {
+      release.await();
+      throw new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT);
+    }).thenReturn(new byte[]{1});
+
+    CoalescingGeneratorServiceImpl generatorService = new CoalescingGeneratorServiceImpl(delegate);
+
+    List<Future<byte[]>> results =
+        submit(() -> generatorService.generateQRCodeSvg(INPUT_URL, false));
+    awaitCoalesced(generatorService, REQUESTS - 1);
+    release.countDown();
+
+    for (Future<byte[]> result : results) {
+      ExecutionException failure = assertThrows(ExecutionException.class,
+          () -> result.get(10, TimeUnit.SECONDS));
+      assertEquals(ErrorCode.EMPTY_INPUT,
+          ((ExceptionOnGeneration) failure.getCause()).getErrorCode());
+    }
+
+    assertArrayEquals(new byte[]{1}, generatorService.generateQRCodeSvg(INPUT_URL, false));
+    verify(delegate, times(2)).generateQRCodeSvg(INPUT_URL, false);
+  }
+
+  /**
+   * GIVEN coalescing service
+   * WHEN a request waiting for the generation of another one is interrupted
+   * THEN it stops waiting with a failure
+   * AND the generation goes on for the other one
+   */
+  @Test
+  public void testInterruptedWaiterLeavesGenerationAlone() throws Exception {
+
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.generateQRCodeModules(INPUT_URL)).thenAnswer(invocation -> {
+      release.await();
+      return new byte[]{1, 21};
+    });
+
+    CoalescingGeneratorServiceImpl generatorService = new CoalescingGeneratorServiceImpl(delegate);
+
+    Future<byte[]> leader =
+        executor.submit(() -> generatorService.generateQRCodeModules(INPUT_URL));
+    while (generatorService.getInFlightCount() == 0) {
+      Thread.sleep(1);
+    }
+
+    Future<byte[]> waiter =
+        executor.submit(() -> generatorService.generateQRCodeModules(INPUT_URL));
+    awaitCoalesced(generatorService, 1);
+    waiter.cancel(true);
+    release.countDown();
+
+    assertTrue(waiter.isCancelled());
+    assertArrayEquals(new byte[]{1, 21}, leader.get(10, TimeUnit.SECONDS));
+    verify(delegate, times(1)).generateQRCodeModules(INPUT_URL);
+  }
+
+  private List<Future<byte[]>> submit(Callable<byte[]> request) {
+
+    List<Future<byte[]>> results = new ArrayList<>();
+
+    for (int i = 0; i < REQUESTS; i++) {
+      results.add(executor.submit(request));
+    }
+
+    return results;
+  }
+
+  private static void awaitCoalesced(CoalescingGeneratorServiceImpl generatorService, long count)
+      throws InterruptedException {
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+    while (generatorService.getCoalescedCount() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Unit tests for {@link DiskCachingGeneratorServiceImpl}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestDiskCachingGeneratorServiceImpl {
+
+  private static final String INPUT_URL = "some URL to a file";
+
+  @Mock
+  QRCodeGeneratorService delegate;
+
+  @TempDir
+  Path directory;
+
+  /**
+   * GIVEN disk caching service
+   * WHEN generating the same QR codes before and after a restart
+   * THEN the delegate generates them only once
+   */
+  @Test
+  public void testQRCodesSurviveRestart() throws ExceptionOnGeneration, IOException {
+
+    when(delegate.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST))
+        .thenReturn(new byte[]{1, 2});
+    when(delegate.generateQRCodeModules(INPUT_URL)).thenReturn(new byte[]{1, 21});
+
+    for (int restart = 0; restart < 2; restart++) {
+      try (DiskRenderStore store = new DiskRenderStore(directory, "r1", 1 << 20, 1 << 16)) {
+
+        DiskCachingGeneratorServiceImpl generatorService =
+            new DiskCachingGeneratorServiceImpl(delegate, store);
+
+        assertArrayEquals(new byte[]{1, 2},
+            generatorService.generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST));
+        assertArrayEquals(new byte[]{1, 21}, generatorService.generateQRCodeModules(INPUT_URL));
+      }
+    }
+
+    verify(delegate, times(1)).generateQRCodeBytes(INPUT_URL, 200, OutputProfile.FAST);
+    verify(delegate, times(1)).generateQRCodeModules(INPUT_URL);
+  }
+
+  /**
+   * GIVEN disk caching service
+   * WHEN generation fails
+   * THEN the original exception is thrown
+   * AND nothing is stored
+   */
+  @Test
+  public void testFailureIsNotStored() throws ExceptionOnGeneration, IOException {
+
+    doThrow(new ExceptionOnGeneration(ErrorCode.EMPTY_INPUT)).when(delegate)
+        .generateQRCodeSvg("", false);
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, "r1", 1 << 20, 1 << 16)) {
+
+      DiskCachingGeneratorServiceImpl generatorService =
+          new DiskCachingGeneratorServiceImpl(delegate, store);
+
+      assertThrows(ExceptionOnGeneration.class,
+          () -> generatorService.generateQRCodeSvg("", false));
+      assertEquals(0, store.size());
+    }
+  }
+}
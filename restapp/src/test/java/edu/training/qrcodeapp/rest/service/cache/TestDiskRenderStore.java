@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.RenderKey;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl.Variant;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link DiskRenderStore}.
+ */
+public class TestDiskRenderStore {
+
+  private static final String ENGINE_VERSION = "zxing-test-r1";
+
+  private static final String INPUT_URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  @TempDir
+  Path directory;
+
+  /**
+   * GIVEN disk store with a few QR codes
+   * WHEN opening it again
+   * THEN all QR codes are read back, as read-only views
+   */
+  @Test
+  public void testEntriesSurviveReopening() throws IOException {
+
+    RenderKey png = new RenderKey(INPUT_URL, 300, Variant.PNG);
+    RenderKey svg = new RenderKey(INPUT_URL, 0, Variant.SVG_GZIP);
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      store.put(png, new byte[]{1, 2, 3});
+      store.put(svg, new byte[]{4, 5});
+    }
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      assertEquals(2, store.size());
+      assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3}), store.get(png));
+      assertEquals(ByteBuffer.wrap(new byte[]{4, 5}), store.get(svg));
+      assertTrue(store.get(png).isReadOnly());
+      assertNull(store.get(new RenderKey(INPUT_URL, 400, Variant.PNG)));
+    }
+  }
+
+  /**
+   * GIVEN disk store whose last record got corrupted
+   * WHEN opening it again
+   * THEN the records before it are read back
+   * AND new records are appended in place of the corrupted one
+   */
+  @Test
+  public void testCorruptedTailIsOverwritten() throws IOException {
+
+    RenderKey first = new RenderKey(INPUT_URL, 100, Variant.PNG);
+    RenderKey second = new RenderKey(INPUT_URL, 200, Variant.PNG);
+    byte[] payload = new byte[64];
+    Arrays.fill(payload, (byte) 7);
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      store.put(first, new byte[]{1});
+      store.put(second, payload);
+    }
+
+    Path segment = listSegments().getFirst();
+
+    try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+      byte[] content = Files.readAllBytes(segment);
+      int offset = indexOf(content, payload);
+      channel.write(ByteBuffer.wrap(new byte[]{8}), offset + 10);
+    }
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      assertEquals(1, store.size());
+      assertEquals(ByteBuffer.wrap(new byte[]{1}), store.get(first));
+      assertNull(store.get(second));
+
+      store.put(second, new byte[]{2});
+    }
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      assertEquals(2, store.size());
+      assertEquals(ByteBuffer.wrap(new byte[]{2}), store.get(second));
+    }
+  }
+
+  /**
+   * GIVEN disk store written by an engine version
+   * WHEN opening it with another engine version
+   * THEN nothing is read back
+   * AND the segments of the former version are deleted
+   */
+  @Test
+  public void testOtherEngineVersionIsDropped() throws IOException {
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      store.put(new RenderKey(INPUT_URL, 300, Variant.PNG), new byte[]{1});
+    }
+
+    Path segment = listSegments().getFirst();
+
+    try (DiskRenderStore store =
+        new DiskRenderStore(directory, "zxing-test-r2", 1 << 20, 1 << 16)) {
+      assertEquals(0, store.size());
+      assertTrue(Files.notExists(segment));
+    }
+  }
+
+  /**
+   * GIVEN disk store with room for two segments
+   * WHEN appending more QR codes than they hold, one of the first ones being read meanwhile
+   * THEN the oldest segments are compacted away
+   * AND the QR code read is kept while the other first ones are dropped
+   */
+  @Test
+  public void testCompactionKeepsHotEntries() throws IOException {
+
+    int segmentBytes = 4096;
+    byte[] payload = new byte[1000];
+
+    try (DiskRenderStore store =
+        new DiskRenderStore(directory, ENGINE_VERSION, 2L * segmentBytes, segmentBytes)) {
+
+      RenderKey hot = new RenderKey(INPUT_URL, 100, Variant.PNG);
+      RenderKey cold = new RenderKey(INPUT_URL, 101, Variant.PNG);
+      store.put(hot, payload);
+      store.put(cold, payload);
+      assertNotNull(store.get(hot));
+
+      for (int size = 102; size < 109; size++) {
+        store.put(new RenderKey(INPUT_URL, size, Variant.PNG), payload);
+      }
+
+      store.compact();
+
+      assertTrue(listSegments().size() <= 2);
+      assertTrue(store.getUsedBytes() <= 2L * segmentBytes);
+      assertEquals(ByteBuffer.wrap(payload), store.get(hot));
+      assertNull(store.get(cold));
+    }
+  }
+
+  /**
+   * GIVEN open disk store
+   * WHEN opening another one on the same directory
+   * THEN it fails
+   */
+  @Test
+  public void testDirectoryIsLocked() throws IOException {
+
+    try (DiskRenderStore store = new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16)) {
+      assertThrows(IOException.class,
+          () -> new DiskRenderStore(directory, ENGINE_VERSION, 1 << 20, 1 << 16));
+    }
+  }
+
+  private List<Path> listSegments() throws IOException {
+
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.getFileName().toString()
+          .endsWith(DiskRenderStore.SEGMENT_SUFFIX)).sorted().toList();
+    }
+  }
+
+  private static int indexOf(byte[] content, byte[] part) {
+
+    for (int i = 0; i <= content.length - part.length; i++) {
+      if (Arrays.equals(content, i, i + part.length, part, 0, part.length)) {
+        return i;
+      }
+    }
+
+    return -1;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.job;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit tests for {@link JobJournal}.
+ */
+public class TestJobJournal {
+
+  @TempDir
+  Path directory;
+
+  /**
+   * GIVEN journal with appended results
+   * WHEN reopening and replaying it
+   * THEN all results are replayed in append order
+   */
+  @Test
+  public void testReplayAfterReopening() throws IOException {
+
+    Path file = directory.resolve("results.journal");
+
+    try (JobJournal journal = new JobJournal(file)) {
+      journal.append(new BatchResult(3, "url", 200, new byte[]{1, 2, 3}, null));
+      journal.append(new BatchResult(1, "url", 200, null, "some error"));
+    }
+
+    List<BatchResult> results = replay(file);
+
+    assertEquals(2, results.size());
+    assertEquals(3, results.get(0).index());
+    assertArrayEquals(new byte[]{1, 2, 3}, results.get(0).output());
+    assertEquals(1, results.get(1).index());
+    assertFalse(results.get(1).isSuccess());
+    assertEquals("some error", results.get(1).error());
+  }
+
+  /**
+   * GIVEN journal whose last record was only partially written
+   * WHEN replaying it
+   * THEN only complete records are replayed
+   * AND new records are appended right after them
+   */
+  @Test
+  public void testTornRecordIsCutOff() throws IOException {
+
+    Path file = directory.resolve("results.journal");
+
+    try (JobJournal journal = new JobJournal(file)) {
+      journal.append(new BatchResult(0, "url", 200, new byte[]{1, 2, 3}, null));
+    }
+
+    long validLength = Files.size(file);
+    Files.write(file, new byte[]{0, 0, 0, 1, 1, 0, 0}, StandardOpenOption.APPEND);
+
+    try (JobJournal journal = new JobJournal(file)) {
+      journal.replay(result -> {
+      });
+      assertEquals(validLength, Files.size(file));
+      journal.append(new BatchResult(1, "url", 200, new byte[]{4}, null));
+    }
+
+    List<BatchResult> results = replay(file);
+
+    assertEquals(2, results.size());
+    assertEquals(1, results.get(1).index());
+    assertTrue(results.get(1).isSuccess());
+  }
+
+  private List<BatchResult> replay(Path file) throws IOException {
+
+    List<BatchResult> results = new ArrayList<>();
+
+    try (JobJournal journal = new JobJournal(file)) {
+      journal.replay(results::add);
+    }
+
+    return results;
+  }
+}
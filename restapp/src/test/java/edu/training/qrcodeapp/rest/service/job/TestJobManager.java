@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.job;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import edu.training.qrcodeapp.model.InputData;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.batch.BatchResult;
+import edu.training.qrcodeapp.rest.service.job.GenerationJob.State;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.ZipInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+/**
+ * Tests for {@link JobManager}, with the application context loaded and jobs persisted to a
+ * temporary directory.
+ */
+@SpringBootTest(properties = "qrcode.jobs.directory=${java.io.tmpdir}/qrcode-jobs-test")
+public class TestJobManager {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  @MockitoBean
+  QRCodeGeneratorService generatorService;
+
+  @Autowired
+  private JobManager jobManager;
+
+  /**
+   * GIVEN batch of input items
+   * WHEN submitting a job for them
+   * THEN the job completes
+   * AND its results hold one entry per item
+   */
+  @Test
+  public void testJobCompletes() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(new byte[]{1});
+
+    GenerationJob job = jobManager.submit(createItems(25));
+
+    await().atMost(TIMEOUT).until(() -> job.getState() == State.COMPLETED);
+
+    assertEquals(25, job.getCompleted());
+    assertEquals(0, job.getFailed());
+    assertTrue(Files.exists(job.getDirectory().resolve(JobManager.STATE_FILE)));
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    jobManager.writeResults(job, output);
+
+    assertEquals(25, countEntries(output.toByteArray()));
+  }
+
+  /**
+   * GIVEN job on disk whose journal holds part of its results, as left by a restart
+   * WHEN resuming jobs
+   * THEN the job completes
+   * AND only the items missing in the journal are generated
+   */
+  @Test
+  public void testUnfinishedJobIsResumed() throws Exception {
+
+    when(generatorService.generateQRCodeBytes(anyString(), anyInt())).thenReturn(new byte[]{1});
+
+    Path directory = createJobDirectory(10);
+    String id = directory.getFileName().toString();
+
+    try (JobJournal journal = new JobJournal(directory.resolve(JobManager.JOURNAL_FILE))) {
+      journal.append(new BatchResult(0, null, 0, new byte[]{1}, null));
+      journal.append(new BatchResult(4, null, 0, new byte[]{1}, null));
+    }
+
+    jobManager.resume();
+
+    GenerationJob job = jobManager.getJob(id).orElseThrow();
+
+    await().atMost(TIMEOUT).until(() -> job.getState() == State.COMPLETED);
+
+    assertEquals(10, job.getCompleted());
+    verify(generatorService, never()).generateQRCodeBytes(eq("https://some.url/0"), anyInt());
+    verify(generatorService, never()).generateQRCodeBytes(eq("https://some.url/4"), anyInt());
+    verify(generatorService).generateQRCodeBytes("https://some.url/9", 200);
+  }
+
+  /**
+   * GIVEN job on disk whose outcome is persisted, as left by a restart
+   * WHEN resuming jobs
+   * THEN the job is loaded as completed, with its counters
+   * AND nothing is generated again
+   */
+  @Test
+  public void testFinishedJobIsNotReplayed() throws Exception {
+
+    Path directory = createJobDirectory(3);
+    Files.writeString(directory.resolve(JobManager.STATE_FILE),
+        "{\"state\":\"COMPLETED\",\"total\":3,\"completed\":3,\"failed\":1}");
+
+    jobManager.resume();
+
+    GenerationJob job = jobManager.getJob(directory.getFileName().toString()).orElseThrow();
+
+    assertEquals(State.COMPLETED, job.getState());
+    assertEquals(3, job.getTotal());
+    assertEquals(3, job.getCompleted());
+    assertEquals(1, job.getFailed());
+    verify(generatorService, never()).generateQRCodeBytes(anyString(), anyInt());
+  }
+
+  /**
+   * GIVEN job on disk finished longer ago than the retention
+   * WHEN resuming jobs
+   * THEN the job is deleted along with its directory
+   */
+  @Test
+  public void testExpiredJobIsDeleted() throws Exception {
+
+    Path directory = createJobDirectory(3);
+    Path stateFile = Files.writeString(directory.resolve(JobManager.STATE_FILE),
+        "{\"state\":\"FAILED\",\"total\":3,\"completed\":0,\"failed\":0}");
+    Files.setLastModifiedTime(stateFile,
+        FileTime.from(Instant.now().minus(Duration.ofDays(30))));
+
+    jobManager.resume();
+
+    assertFalse(Files.exists(directory));
+    assertTrue(jobManager.getJob(directory.getFileName().toString()).isEmpty());
+  }
+
+  private Path createJobDirectory(int items) throws IOException {
+
+    Path directory = Files.createDirectories(Path.of(System.getProperty("java.io.tmpdir"),
+        "qrcode-jobs-test", UUID.randomUUID().toString()));
+
+    List<String> lines = IntStream.range(0, items)
+        .mapToObj(i -> "{\"url\":\"https://some.url/" + i + "\",\"size\":200}").toList();
+    Files.write(directory.resolve(JobManager.INPUT_FILE), lines, StandardCharsets.UTF_8);
+
+    return directory;
+  }
+
+  private List<InputData> createItems(int count) {
+
+    return IntStream.range(0, count).mapToObj(i -> {
+      InputData item = new InputData();
+      item.setUrl("https://some.url/" + i);
+      return item;
+    }).toList();
+  }
+
+  private int countEntries(byte[] archive) throws IOException {
+
+    int entries = 0;
+
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      while (zip.getNextEntry() != null) {
+        entries++;
+      }
+    }
+
+    return entries;
+  }
+}
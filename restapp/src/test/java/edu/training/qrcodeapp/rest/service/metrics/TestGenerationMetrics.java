@@ -0,0 +1,173 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration.ErrorCode;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.metrics.GenerationMetrics.Stage;
+import edu.training.qrcodeapp.rest.service.zxing.ZXingBasedGeneratorServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for {@link GenerationMetrics}.
+ */
+public class TestGenerationMetrics {
+
+  private static final String INPUT_URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  MeterRegistry meterRegistry;
+
+  ZXingBasedGeneratorServiceImpl generatorService;
+
+  @BeforeEach
+  public void setUp() {
+
+    meterRegistry = new SimpleMeterRegistry();
+
+    generatorService = new ZXingBasedGeneratorServiceImpl();
+    generatorService.setMetrics(new GenerationMetrics(meterRegistry));
+  }
+
+  /**
+   * GIVEN sizes in and out of the valid range
+   * WHEN bucketing them
+   * THEN every valid size falls into a bucket of 100 pixels, the maximum one included
+   * AND sizes only valid for posters fall into a bucket of their own
+   * AND invalid sizes fall into a bucket of their own
+   */
+  @ParameterizedTest
+  @CsvSource({"100,100-199", "199,100-199", "300,300-399", "499,400-500", "500,400-500",
+      "501,poster", "8000,poster", "99,invalid", "8001,invalid"})
+  public void testSizeBuckets(int size, String expectedTag) {
+
+    assertEquals(expectedTag, GenerationMetrics.sizeTag(GenerationMetrics.sizeBucket(size)));
+  }
+
+  /**
+   * GIVEN QR code generation service with metrics
+   * WHEN generating a QR code successfully
+   * THEN the time spent in validation, encoding and rasterization is recorded once each
+   * AND the size of the image is recorded
+   */
+  @Test
+  public void testStagesOfSuccessfulGeneration() throws ExceptionOnGeneration {
+
+    byte[] result = generatorService.generateQRCodeBytes(INPUT_URL, 250);
+
+    for (Stage stage : new Stage[]{Stage.VALIDATION, Stage.ENCODING, Stage.RASTERIZATION}) {
+      assertEquals(1, meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+          .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+          .tag("size", "200-299")
+          .tag("outcome", "success")
+          .timer().count());
+    }
+
+    assertEquals(result.length, meterRegistry.get(GenerationMetrics.OUTPUT_SUMMARY)
+        .tag("format", "png")
+        .tag("size", "200-299")
+        .summary().totalAmount());
+  }
+
+  /**
+   * GIVEN QR code generation service with metrics
+   * WHEN generating a poster successfully
+   * THEN the time spent in rasterization is recorded in the poster bucket
+   * AND the number of bytes streamed is recorded
+   */
+  @Test
+  public void testStagesOfPosterGeneration() throws ExceptionOnGeneration, IOException {
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    generatorService.createQRCodePoster(INPUT_URL, 2000, OutputProfile.FAST).writeTo(output);
+
+    assertEquals(1, meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+        .tag("stage", "rasterization")
+        .tag("size", "poster")
+        .tag("outcome", "success")
+        .timer().count());
+
+    assertEquals(output.size(), meterRegistry.get(GenerationMetrics.OUTPUT_SUMMARY)
+        .tag("format", "png")
+        .tag("size", "poster")
+        .summary().totalAmount());
+  }
+
+  /**
+   * GIVEN QR code generation service with metrics
+   * WHEN generating a QR code with an invalid size
+   * THEN a failed validation is recorded
+   * AND the failure is counted by its error code
+   */
+  @Test
+  public void testFailedValidation() {
+
+    assertThrows(ExceptionOnGeneration.class,
+        () -> generatorService.generateQRCodeBytes(INPUT_URL, 10000));
+
+    assertEquals(1, meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+        .tag("stage", "validation")
+        .tag("size", "invalid")
+        .tag("outcome", "failure")
+        .timer().count());
+
+    assertEquals(1, meterRegistry.get(GenerationMetrics.ERROR_COUNTER)
+        .tag("code", ErrorCode.INVALID_SIZE.name())
+        .counter().count());
+    assertEquals(0, meterRegistry.get(GenerationMetrics.STAGE_TIMER)
+        .tag("stage", "encoding")
+        .timers().stream().mapToLong(Timer::count).sum());
+  }
+
+  /**
+   * GIVEN metrics of the QR code generation
+   * WHEN counting a failure without error code
+   * THEN it is counted as unknown
+   */
+  @Test
+  public void testUnknownError() {
+
+    GenerationMetrics metrics = new GenerationMetrics(meterRegistry);
+
+    metrics.recordError(new ExceptionOnGeneration("some crazy error"));
+
+    assertEquals(1, meterRegistry.get(GenerationMetrics.ERROR_COUNTER)
+        .tag("code", GenerationMetrics.UNKNOWN_ERROR)
+        .counter().count());
+  }
+}
@@ -0,0 +1,168 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link GeneratorWarmUp}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestGeneratorWarmUp {
+
+  @Spy
+  ObjectMapper objectMapper = new ObjectMapper();
+
+  @Mock
+  HotKeyStore hotKeys;
+
+  @Mock
+  ApplicationReadyEvent readyEvent;
+
+  @Mock
+  ConfigurableApplicationContext applicationContext;
+
+  @InjectMocks
+  GeneratorWarmUp warmUp;
+
+  @BeforeEach
+  public void setUp() {
+
+    ReflectionTestUtils.setField(warmUp, "enabled", true);
+    ReflectionTestUtils.setField(warmUp, "iterations", 30);
+    ReflectionTestUtils.setField(warmUp, "sizes", new int[]{100, 500});
+    ReflectionTestUtils.setField(warmUp, "urlLengths", new int[]{40, 400});
+    ReflectionTestUtils.setField(warmUp, "maxDuration", Duration.ofSeconds(30));
+  }
+
+  /**
+   * GIVEN enabled warm-up
+   * WHEN the application is ready
+   * THEN the warm-up is not completed right away
+   * AND the application refuses traffic until it is completed
+   */
+  @Test
+  public void testTrafficRefusedUntilCompleted() throws InterruptedException {
+
+    when(readyEvent.getApplicationContext()).thenReturn(applicationContext);
+
+    assertFalse(warmUp.isCompleted());
+
+    warmUp.start(readyEvent);
+
+    assertTrue(warmUp.awaitCompletion(Duration.ofSeconds(30)));
+    assertTrue(warmUp.isCompleted());
+
+    ArgumentCaptor<ApplicationEvent> events = ArgumentCaptor.forClass(ApplicationEvent.class);
+    verify(applicationContext, times(2)).publishEvent(events.capture());
+
+    List<Object> states = events.getAllValues().stream()
+        .map(event -> ((AvailabilityChangeEvent<?>) event).getState())
+        .map(Object.class::cast)
+        .toList();
+
+    assertEquals(List.of(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC),
+        states);
+  }
+
+  /**
+   * GIVEN disabled warm-up
+   * WHEN the application is ready
+   * THEN the warm-up is completed right away
+   * AND the readiness is left untouched
+   */
+  @Test
+  public void testDisabled() {
+
+    ReflectionTestUtils.setField(warmUp, "enabled", false);
+
+    warmUp.start(readyEvent);
+
+    assertTrue(warmUp.isCompleted());
+    verify(readyEvent, never()).getApplicationContext();
+  }
+
+  /**
+   * GIVEN disabled warm-up but enabled pre-warming of hot keys
+   * WHEN the application is ready
+   * THEN the caches are pre-warmed
+   * AND the application refuses traffic until it is completed
+   */
+  @Test
+  public void testPreWarmWithoutWarmUp() throws InterruptedException {
+
+    ReflectionTestUtils.setField(warmUp, "enabled", false);
+    when(hotKeys.isEnabled()).thenReturn(true);
+    when(readyEvent.getApplicationContext()).thenReturn(applicationContext);
+
+    warmUp.start(readyEvent);
+
+    assertTrue(warmUp.awaitCompletion(Duration.ofSeconds(30)));
+    verify(hotKeys, times(1)).preWarm();
+    verify(applicationContext, times(2)).publishEvent(any(ApplicationEvent.class));
+  }
+
+  /**
+   * GIVEN iterations of the warm-up
+   * WHEN creating their URLs
+   * THEN URLs have the requested length
+   * AND differ from one iteration to the other
+   */
+  @Test
+  public void testUrlsOfIterations() {
+
+    String url = GeneratorWarmUp.createUrl(1, 120);
+
+    assertEquals(120, url.length());
+    assertTrue(url.startsWith(GeneratorWarmUp.URL_PREFIX));
+    assertNotEquals(url, GeneratorWarmUp.createUrl(2, 120));
+  }
+}
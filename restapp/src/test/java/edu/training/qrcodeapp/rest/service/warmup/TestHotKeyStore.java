@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import edu.training.qrcodeapp.rest.service.QRCodeGeneratorService;
+import edu.training.qrcodeapp.rest.service.cache.CachingGeneratorServiceImpl;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Unit tests for {@link HotKeyStore}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class TestHotKeyStore {
+
+  private static final String INPUT_URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  @Mock
+  QRCodeGeneratorService delegate;
+
+  @TempDir
+  Path directory;
+
+  ExecutorService renderExecutor;
+
+  @BeforeEach
+  public void setUp() {
+
+    renderExecutor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+
+    renderExecutor.shutdownNow();
+  }
+
+  /**
+   * GIVEN hot keys saved out of the render cache
+   * WHEN pre-warming the render cache of another instance
+   * THEN the saved keys are generated again
+   * AND then served out of that render cache
+   */
+  @Test
+  public void testSavedKeysArePreWarmed() throws ExceptionOnGeneration, IOException {
+
+    when(delegate.generateQRCodeBytes(anyString(), anyInt(), any())).thenReturn(new byte[]{1});
+    when(delegate.generateQRCodeSvg(INPUT_URL, true)).thenReturn(new byte[]{2});
+
+    CachingGeneratorServiceImpl generatorService =
+        new CachingGeneratorServiceImpl(delegate, 1 << 20);
+    generatorService.generateQRCodeBytes(INPUT_URL, 300, OutputProfile.FAST);
+    generatorService.generateQRCodeSvg(INPUT_URL, true);
+
+    createHotKeyStore(generatorService).save();
+
+    CachingGeneratorServiceImpl restartedService =
+        new CachingGeneratorServiceImpl(delegate, 1 << 20);
+    HotKeyStore restartedStore = createHotKeyStore(restartedService);
+
+    assertTrue(restartedStore.isEnabled());
+    restartedStore.preWarm();
+    restartedStore.stop(null);
+
+    verify(delegate, times(2)).generateQRCodeBytes(INPUT_URL, 300, OutputProfile.FAST);
+    verify(delegate, times(2)).generateQRCodeSvg(INPUT_URL, true);
+
+    restartedService.generateQRCodeBytes(INPUT_URL, 300, OutputProfile.FAST);
+    restartedService.generateQRCodeSvg(INPUT_URL, true);
+
+    assertEquals(2, restartedService.getStats().hitCount());
+  }
+
+  /**
+   * GIVEN no hot keys saved yet
+   * WHEN pre-warming the render cache
+   * THEN nothing is generated
+   */
+  @Test
+  public void testNothingToPreWarm() throws ExceptionOnGeneration {
+
+    HotKeyStore hotKeyStore = createHotKeyStore(new CachingGeneratorServiceImpl(delegate, 1 << 20));
+
+    hotKeyStore.preWarm();
+    hotKeyStore.stop(null);
+
+    verify(delegate, never()).generateQRCodeBytes(anyString(), anyInt(), any());
+    assertTrue(Files.exists(directory.resolve("hot-keys.ndjson")));
+  }
+
+  /**
+   * GIVEN generation service without render cache
+   * WHEN checking whether hot keys are persisted
+   * THEN they are not, as there is nothing to rank them by
+   */
+  @Test
+  public void testDisabledWithoutRenderCache() {
+
+    assertFalse(createHotKeyStore(delegate).isEnabled());
+  }
+
+  private HotKeyStore createHotKeyStore(QRCodeGeneratorService generatorService) {
+
+    HotKeyStore hotKeyStore = new HotKeyStore();
+
+    ReflectionTestUtils.setField(hotKeyStore, "generatorService", generatorService);
+    ReflectionTestUtils.setField(hotKeyStore, "objectMapper", new ObjectMapper());
+    ReflectionTestUtils.setField(hotKeyStore, "renderExecutor", renderExecutor);
+    ReflectionTestUtils.setField(hotKeyStore, "enabled", true);
+    ReflectionTestUtils.setField(hotKeyStore, "file", directory.resolve("hot-keys.ndjson"));
+    ReflectionTestUtils.setField(hotKeyStore, "maxKeys", 100);
+    ReflectionTestUtils.setField(hotKeyStore, "saveInterval", Duration.ofMinutes(1));
+    ReflectionTestUtils.setField(hotKeyStore, "maxDuration", Duration.ofSeconds(30));
+
+    return hotKeyStore;
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.Encoder;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Unit tests for {@link BitMatrixPngWriter}.
+ */
+public class TestBitMatrixPngWriter {
+
+  private static final String INPUT_URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  private final BitMatrixPngWriter pngWriter = new BitMatrixPngWriter();
+
+  /**
+   * GIVEN QR code matrix of a given size
+   * WHEN encoding it as PNG with any output profile
+   * THEN the PNG image is decodable
+   * AND every pixel matches the corresponding matrix bit
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {100, 203, 300, 500})
+  public void testImageMatchesMatrix(int size) throws WriterException, IOException {
+
+    BitMatrix bitMatrix = new QRCodeWriter().encode(INPUT_URL, BarcodeFormat.QR_CODE, size, size);
+
+    for (OutputProfile profile : OutputProfile.values()) {
+
+      BufferedImage image = ImageIO.read(
+          new ByteArrayInputStream(pngWriter.toBytes(bitMatrix, profile)));
+
+      assertNotNull(image);
+      assertEquals(size, image.getWidth());
+      assertEquals(size, image.getHeight());
+
+      for (int y = 0; y < size; y++) {
+        for (int x = 0; x < size; x++) {
+          int expected = bitMatrix.get(x, y) ? 0xFF000000 : 0xFFFFFFFF;
+          assertEquals(expected, image.getRGB(x, y),
+              "Pixel mismatch at " + x + "," + y + " with profile " + profile);
+        }
+      }
+    }
+  }
+
+  /**
+   * GIVEN QR code matrix of a long URL
+   * WHEN encoding it as PNG with each output profile
+   * THEN images of the balanced profile are smaller than the ones of the fast profile
+   */
+  @Test
+  public void testBalancedProfileIsSmaller() throws WriterException, IOException {
+
+    BitMatrix bitMatrix = new QRCodeWriter().encode(INPUT_URL + "?utm_source=newsletter"
+        + "&utm_medium=email&utm_campaign=spring-release&utm_content=footer-link",
+        BarcodeFormat.QR_CODE, 300, 300);
+
+    int fast = pngWriter.toBytes(bitMatrix, OutputProfile.FAST).length;
+    int balanced = pngWriter.toBytes(bitMatrix, OutputProfile.BALANCED).length;
+
+    assertTrue(fast > balanced, fast + " <= " + balanced);
+  }
+
+  /**
+   * GIVEN the same QR code matrix
+   * WHEN encoding it as PNG several times with the same writer
+   * THEN the output is always the same, i.e., reused deflaters hold no state
+   */
+  @Test
+  public void testOutputIsStable() throws WriterException, IOException {
+
+    BitMatrix bitMatrix = new QRCodeWriter().encode(INPUT_URL, BarcodeFormat.QR_CODE, 300, 300);
+
+    byte[] first = pngWriter.toBytes(bitMatrix);
+
+    for (int i = 0; i < 5; i++) {
+      assertArrayEquals(first, pngWriter.toBytes(bitMatrix));
+    }
+  }
+
+  /**
+   * GIVEN module grid of a QR code
+   * WHEN encoding it as PNG with sizes alternating between calls, including ones smaller than the
+   * grid and ones that are not a multiple of a byte
+   * THEN every image is the same as the one of the rendered matrix, i.e., scanlines rasterized out
+   * of modules match the pixels and pooled buffers of another size do not leak into it
+   */
+  @Test
+  public void testModuleGridOutputMatchesMatrix() throws WriterException, IOException {
+
+    ModuleGrid moduleGrid = ModuleGrid.of(Encoder.encode(INPUT_URL, ErrorCorrectionLevel.L));
+
+    for (int size : new int[] {500, 100, 10, 203, 300, 37, 100, 1001, 500}) {
+      assertArrayEquals(pngWriter.toBytes(moduleGrid.render(size), OutputProfile.BALANCED),
+          pngWriter.toBytes(moduleGrid, size, OutputProfile.BALANCED));
+    }
+  }
+
+  /**
+   * GIVEN module grid of a QR code
+   * WHEN streaming it as PNG of a poster size, with the deflate work done either on the calling
+   * thread or in parallel blocks
+   * THEN the PNG image is decodable, including its checksums
+   * AND every pixel matches the rendered matrix
+   * AND the number of bytes written is reported
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3})
+  public void testPosterMatchesMatrix(int parallelism) throws WriterException, IOException {
+
+    ModuleGrid moduleGrid = ModuleGrid.of(Encoder.encode(INPUT_URL, ErrorCorrectionLevel.L));
+    int size = 2003;
+    BitMatrix bitMatrix = moduleGrid.render(size);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    long written;
+
+    try {
+      written = parallelism > 1
+          ? pngWriter.write(moduleGrid, size, OutputProfile.BALANCED, output, executor, parallelism)
+          : pngWriter.write(moduleGrid, size, OutputProfile.BALANCED, output);
+    }
+    finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(output.size(), written);
+
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(output.toByteArray()));
+
+    assertNotNull(image);
+    assertEquals(size, image.getWidth());
+
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        int expected = bitMatrix.get(x, y) ? 0xFF000000 : 0xFFFFFFFF;
+        assertEquals(expected, image.getRGB(x, y), "Pixel mismatch at " + x + "," + y);
+      }
+    }
+  }
+
+  /**
+   * GIVEN Adler-32 checksums of two consecutive pieces of data
+   * WHEN combining them
+   * THEN the result is the checksum of both pieces together
+   */
+  @Test
+  public void testCombineAdler32() {
+
+    byte[] data = (INPUT_URL + INPUT_URL.repeat(50)).getBytes(StandardCharsets.US_ASCII);
+    Adler32 whole = new Adler32();
+    Adler32 first = new Adler32();
+    Adler32 second = new Adler32();
+
+    whole.update(data);
+    first.update(data, 0, 7);
+    second.update(data, 7, data.length - 7);
+
+    assertEquals(whole.getValue(), BitMatrixPngWriter.combineAdler32(
+        BitMatrixPngWriter.combineAdler32(1, first.getValue(), 7), second.getValue(),
+        data.length - 7));
+  }
+}
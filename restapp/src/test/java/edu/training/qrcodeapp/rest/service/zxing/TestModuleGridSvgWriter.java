@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.rest.service.zxing;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.Encoder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ModuleGridSvgWriter}.
+ */
+public class TestModuleGridSvgWriter {
+
+  private static final String INPUT_URL = "https://pdfobject.com/pdf/sample.pdf";
+
+  // rectangles of the path, i.e., position and width of every run of dark modules
+  private static final Pattern RUN = Pattern.compile("M(\\d+) (\\d+)h(\\d+)v1h-(\\d+)z");
+
+  private final ModuleGridSvgWriter svgWriter = new ModuleGridSvgWriter();
+
+  /**
+   * GIVEN module grid with adjacent dark modules
+   * WHEN writing it as SVG
+   * THEN the view box covers the grid and its quiet zone
+   * AND adjacent dark modules of a row are merged into a single rectangle
+   */
+  @Test
+  public void testRunsAreMerged() {
+
+    BitMatrix modules = new BitMatrix(3, 3);
+    modules.setRegion(0, 0, 2, 1);
+    modules.set(0, 2);
+    modules.set(2, 2);
+
+    String svg = svgWriter.toSvg(new ModuleGrid(1, modules));
+
+    assertTrue(svg.contains("viewBox=\"0 0 11 11\""));
+    assertTrue(svg.contains("d=\"M4 4h2v1h-2zM4 6h1v1h-1zM6 6h1v1h-1z\""));
+  }
+
+  /**
+   * GIVEN module grid of an encoded URL
+   * WHEN writing it as SVG
+   * THEN the rectangles of the path cover exactly the dark modules
+   */
+  @Test
+  public void testPathCoversDarkModules() throws WriterException {
+
+    ModuleGrid moduleGrid = ModuleGrid.of(Encoder.encode(INPUT_URL, ErrorCorrectionLevel.L));
+    int dimension = moduleGrid.dimension();
+
+    BitMatrix drawn = new BitMatrix(dimension, dimension);
+    Matcher matcher = RUN.matcher(svgWriter.toSvg(moduleGrid));
+
+    while (matcher.find()) {
+      drawn.setRegion(Integer.parseInt(matcher.group(1)) - ModuleGrid.QUIET_ZONE,
+          Integer.parseInt(matcher.group(2)) - ModuleGrid.QUIET_ZONE,
+          Integer.parseInt(matcher.group(3)), 1);
+    }
+
+    assertEquals(moduleGrid.modules(), drawn);
+  }
+
+  /**
+   * GIVEN module grid of an encoded URL
+   * WHEN writing it as gzipped SVG
+   * THEN it decompresses into the plain SVG
+   * AND it is smaller than the plain one
+   */
+  @Test
+  public void testGzippedSvg() throws WriterException, IOException {
+
+    ModuleGrid moduleGrid = ModuleGrid.of(Encoder.encode(INPUT_URL, ErrorCorrectionLevel.L));
+
+    byte[] svg = svgWriter.toBytes(moduleGrid);
+    byte[] gzipped = svgWriter.toGzipBytes(moduleGrid);
+
+    try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      assertArrayEquals(svg, input.readAllBytes());
+    }
+
+    assertTrue(gzipped.length < svg.length);
+    assertTrue(new String(svg, StandardCharsets.UTF_8).startsWith("<svg "));
+  }
+}
@@ -27,16 +27,24 @@ package edu.training.qrcodeapp.rest.service.zxing;
 import static edu.training.qrcodeapp.rest.service.QRCodeGeneratorService.DEFAULT_SIZE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import com.google.zxing.BarcodeFormat;
 import com.google.zxing.WriterException;
 import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
 import edu.training.qrcodeapp.rest.exception.ExceptionOnGeneration;
+import edu.training.qrcodeapp.rest.service.OutputProfile;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -61,8 +69,7 @@ public class TestZXingBasedQRCodeGeneratorServiceImpl {
     String errorMessage = "some crazy error when encoding";
     String inputData = "some URL to a file";
 
-    doThrow(new WriterException(errorMessage)).when(generatorService)
-        .encodeInputData(inputData, DEFAULT_SIZE);
+    doThrow(new WriterException(errorMessage)).when(generatorService).encodeModules(inputData);
 
     Exception expectedException = assertThrows(ExceptionOnGeneration.class,
         () -> generatorService.generateQRCodeBytes(inputData));
@@ -82,14 +89,101 @@ public class TestZXingBasedQRCodeGeneratorServiceImpl {
     String errorMessage = "some crazy IO error";
     String inputData = "some URL to a file";
 
-    BitMatrix bitMatrix = mock(BitMatrix.class);
+    ModuleGrid moduleGrid = new ModuleGrid(1, new BitMatrix(21));
 
-    doReturn(bitMatrix).when(generatorService).encodeInputData(inputData, DEFAULT_SIZE);
-    doThrow(new IOException(errorMessage)).when(generatorService).createBytes(bitMatrix);
+    doReturn(moduleGrid).when(generatorService).encodeModules(inputData);
+    doThrow(new IOException(errorMessage)).when(generatorService)
+        .createBytes(moduleGrid, DEFAULT_SIZE, OutputProfile.BALANCED);
 
     Exception expectedException = assertThrows(ExceptionOnGeneration.class,
         () -> generatorService.generateQRCodeBytes(inputData));
 
     assertEquals(errorMessage, expectedException.getMessage());
   }
+
+  /**
+   * GIVEN QR code generation service
+   * AND valid input URL
+   * WHEN encoding it with a given size
+   * THEN the result is the same as the one of ZXing's QRCodeWriter
+   */
+  @ParameterizedTest
+  @ValueSource(ints = {100, 150, 203, 300, 450, 500})
+  public void testEncodingMatchesQRCodeWriter(int size) throws WriterException {
+
+    String inputData = "https://pdfobject.com/pdf/sample.pdf";
+
+    BitMatrix expected = new QRCodeWriter().encode(inputData, BarcodeFormat.QR_CODE, size, size);
+
+    assertEquals(expected, generatorService.encodeInputData(inputData, size));
+  }
+
+  /**
+   * GIVEN QR code generation service
+   * AND valid input URL
+   * WHEN generating QR codes with different sizes for it
+   * THEN the URL is encoded into modules only once
+   */
+  @Test
+  public void testModuleGridIsReusedAcrossSizes() throws Exception {
+
+    String inputData = "https://pdfobject.com/pdf/sample.pdf";
+
+    generatorService.generateQRCodeBytes(inputData, 150);
+    generatorService.generateQRCodeBytes(inputData, 300);
+    generatorService.generateQRCodeBytes(inputData, 450);
+
+    verify(generatorService, times(3)).encodeModules(inputData);
+    assertEquals(1, generatorService.getModuleGridCache().stats().missCount());
+    assertEquals(2, generatorService.getModuleGridCache().stats().hitCount());
+  }
+
+  /**
+   * GIVEN QR code generation service
+   * AND valid input URL already generated as PNG image
+   * WHEN generating it as SVG image
+   * THEN the module grid of the URL is reused
+   * AND the SVG image is drawn in modules, whatever the size of the PNG image
+   */
+  @Test
+  public void testSvgReusesModuleGrid() throws Exception {
+
+    String inputData = "https://pdfobject.com/pdf/sample.pdf";
+
+    generatorService.generateQRCodeBytes(inputData, 300);
+    String svg = new String(generatorService.generateQRCodeSvg(inputData, false),
+        StandardCharsets.UTF_8);
+
+    int viewSize = generatorService.encodeModules(inputData).dimension()
+        + ModuleGrid.QUIET_ZONE * 2;
+
+    assertEquals(1, generatorService.getModuleGridCache().stats().missCount());
+    assertTrue(svg.contains("viewBox=\"0 0 " + viewSize + " " + viewSize + "\""));
+  }
+
+  /**
+   * GIVEN valid URL
+   * WHEN generating the module grid
+   * THEN version and dimension lead the result
+   * AND every module of the encoded grid follows as one bit, row by row
+   */
+  @Test
+  public void testModulesArePackedFromGrid() throws Exception {
+
+    String inputData = "https://pdfobject.com/pdf/sample.pdf";
+
+    byte[] packed = generatorService.generateQRCodeModules(inputData);
+    ModuleGrid moduleGrid = generatorService.encodeModules(inputData);
+    int dimension = moduleGrid.dimension();
+
+    assertEquals(moduleGrid.version(), packed[0]);
+    assertEquals(dimension, packed[1]);
+    assertEquals(ModuleGrid.PACKED_HEADER_SIZE + (dimension * dimension + 7) / 8, packed.length);
+
+    for (int bit = 0; bit < dimension * dimension; bit++) {
+
+      boolean dark = (packed[ModuleGrid.PACKED_HEADER_SIZE + bit / 8] & (0x80 >>> (bit % 8))) != 0;
+      assertEquals(moduleGrid.modules().get(bit % dimension, bit / dimension), dark);
+    }
+  }
 }
@@ -24,16 +24,18 @@
 
 package edu.training.qrcodeapp.web.client.rest;
 
-import edu.training.qrcodeapp.model.BytesArray;
 import edu.training.qrcodeapp.model.InputData;
 import edu.training.qrcodeapp.model.Status;
 import edu.training.qrcodeapp.model.Status.StatusEnum;
 import edu.training.qrcodeapp.web.client.QRCodeClient;
 import edu.training.qrcodeapp.web.config.AppConfig;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
@@ -54,7 +56,7 @@ public class QRCodeRestClient implements QRCodeClient {
   @Autowired
   private AppConfig appConfig;
   @Autowired
-  private RestTemplateBuilder restTemplateBuilder;
+  private RestTemplate backendRestTemplate;
 
   @Override
   public boolean isReady() {
@@ -65,8 +67,7 @@ public class QRCodeRestClient implements QRCodeClient {
 
     try {
 
-      RestTemplate restTemplate = restTemplateBuilder.build();
-      status = restTemplate.getForEntity(resolveFullAddress(HEALTH), Status.class)
+      status = backendRestTemplate.getForEntity(resolveFullAddress(HEALTH), Status.class)
           .getBody();
     }
     catch (RestClientException e) {
@@ -88,8 +89,6 @@ public class QRCodeRestClient implements QRCodeClient {
 
     logger.debug("Getting QR code for the given input: {}", url);
 
-    RestTemplate restTemplate = restTemplateBuilder.build();
-
     InputData inputData = new InputData();
     inputData.setUrl(url);
 
@@ -98,9 +97,14 @@ public class QRCodeRestClient implements QRCodeClient {
       inputData.setSize(size);
     }
 
-    ResponseEntity<BytesArray> response = restTemplate.postForEntity(
+    // raw PNG image instead of its base64 representation in JSON
+    HttpHeaders headers = new HttpHeaders();
+    headers.setAccept(List.of(MediaType.IMAGE_PNG));
+    headers.setContentType(MediaType.APPLICATION_JSON);
+
+    ResponseEntity<byte[]> response = backendRestTemplate.postForEntity(
         resolveFullAddress(GENERATE),
-        inputData, BytesArray.class);
+        new HttpEntity<>(inputData, headers), byte[].class);
 
     if (response.getBody() == null) {
 
@@ -108,8 +112,8 @@ public class QRCodeRestClient implements QRCodeClient {
       return new byte[0];
     }
 
-    logger.debug("QR code retrieved: {}", response.getBody().getOutput());
-    return response.getBody().getOutput();
+    logger.debug("QR code retrieved: {} bytes", response.getBody().length);
+    return response.getBody();
   }
 
   private String resolveFullAddress(String operation) {
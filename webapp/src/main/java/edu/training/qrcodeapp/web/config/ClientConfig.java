@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2025 Cristiano Silva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package edu.training.qrcodeapp.web.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Outbound HTTP client used to reach the Backend service.
+ * <p>
+ * A single {@link RestTemplate} backed by the JDK {@link HttpClient} is shared by all requests,
+ * so connections to the Backend are pooled and reused. When virtual threads are enabled
+ * (<code>spring.threads.virtual.enabled</code>), the HTTP client runs its internal work on them
+ * as well, like Tomcat does for the incoming requests.
+ */
+@Configuration
+public class ClientConfig {
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreadsEnabled;
+
+  @Value("${backend.connect-timeout:5s}")
+  private Duration connectTimeout;
+
+  @Value("${backend.read-timeout:30s}")
+  private Duration readTimeout;
+
+  /**
+   * @param restTemplateBuilder Builder configured by Spring Boot
+   * @return REST client of the Backend service
+   */
+  @Bean
+  public RestTemplate backendRestTemplate(RestTemplateBuilder restTemplateBuilder) {
+
+    HttpClient.Builder httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(connectTimeout);
+
+    if (virtualThreadsEnabled) {
+      httpClient.executor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(
+        httpClient.build());
+    requestFactory.setReadTimeout(readTimeout);
+
+    return restTemplateBuilder.requestFactory(() -> requestFactory).build();
+  }
+}